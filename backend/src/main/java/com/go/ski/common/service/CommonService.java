@@ -4,11 +4,8 @@ import java.util.List;
 
 import org.springframework.stereotype.Service;
 
-import com.go.ski.team.core.model.SkiResort;
-import com.go.ski.team.core.repository.SkiResortRepository;
 import com.go.ski.team.support.dto.ResortListDTO;
 import com.go.ski.user.core.model.Certificate;
-import com.go.ski.user.core.repository.CertificateRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -16,15 +13,14 @@ import lombok.RequiredArgsConstructor;
 @Service
 public class CommonService {
 
-	private final CertificateRepository certificateRepository;
-	private final SkiResortRepository skiResortRepository;
+	private final ReferenceDataCache referenceDataCache;
 
 	public List<ResortListDTO> getResortList() {
 
-		return skiResortRepository.findResortList();
+		return referenceDataCache.getResortList();
 	}
 	public List<Certificate> getCertificateLsit() {
 
-		return certificateRepository.findAll();
+		return referenceDataCache.getCertificates();
 	}
 }
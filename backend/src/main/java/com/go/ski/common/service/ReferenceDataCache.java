@@ -0,0 +1,176 @@
+package com.go.ski.common.service;
+
+import com.go.ski.payment.core.model.Charge;
+import com.go.ski.payment.core.repository.ChargeRepository;
+import com.go.ski.review.core.model.TagReview;
+import com.go.ski.review.core.repository.TagReviewRepository;
+import com.go.ski.team.core.model.SkiResort;
+import com.go.ski.team.core.repository.SkiResortRepository;
+import com.go.ski.team.support.dto.ResortListDTO;
+import com.go.ski.user.core.model.Certificate;
+import com.go.ski.user.core.repository.CertificateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// 거의 바뀌지 않는 기준 데이터(수수료, 리뷰 태그, 자격증, 스키장)를 서버 메모리에 통째로 들고 있는다
+// 조회는 불변 스냅샷에서 바로 읽으므로 DB를 타지 않는다
+// 스냅샷은 시작할 때 만들고 주기적으로, 또는 refresh()로 통째로 바꾼다
+// 스냅샷에 없는 id가 들어오면 DB에서 찾아보고, 있으면 새 데이터가 생긴 것이므로 스냅샷을 다시 만든다
+// 캐시별 적중/미스 수는 goski.cache.gets 지표로 남긴다
+@Slf4j
+@Component
+public class ReferenceDataCache {
+    private final ChargeRepository chargeRepository;
+    private final TagReviewRepository tagReviewRepository;
+    private final CertificateRepository certificateRepository;
+    private final SkiResortRepository skiResortRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataCache(ChargeRepository chargeRepository, TagReviewRepository tagReviewRepository,
+                              CertificateRepository certificateRepository, SkiResortRepository skiResortRepository,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.chargeRepository = chargeRepository;
+        this.tagReviewRepository = tagReviewRepository;
+        this.certificateRepository = certificateRepository;
+        this.skiResortRepository = skiResortRepository;
+        this.transactionManager = transactionManager;
+        for (String name : List.of("charge", "tagReview", "certificate", "skiResort", "resortList")) {
+            stats.put(name, new Stats(cacheGets(meterRegistry, name, "hit"), cacheGets(meterRegistry, name, "miss")));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    // 기준 데이터를 바꾼 뒤 부르는 갱신 훅. 다른 서버는 다음 주기에 반영된다
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public synchronized void refresh() {
+        // 호출한 쪽 영속성 컨텍스트에 섞이지 않게 따로 읽는다
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+        Snapshot loaded = transaction.execute(status -> new Snapshot(
+                byId(chargeRepository.findAll(), Charge::getChargeId),
+                byId(tagReviewRepository.findAll(), TagReview::getTagReviewId),
+                byId(certificateRepository.findAll(), Certificate::getCertificateId),
+                byId(skiResortRepository.findAll(), SkiResort::getResortId),
+                List.copyOf(skiResortRepository.findResortList())));
+        snapshot = loaded;
+        log.info("기준 데이터 캐시 갱신 - 수수료 {}, 리뷰 태그 {}, 자격증 {}, 스키장 {}",
+                loaded.charges().size(), loaded.tagReviews().size(), loaded.certificates().size(), loaded.skiResorts().size());
+    }
+
+    public Optional<Charge> getCharge(Integer chargeId) {
+        return get("charge", Snapshot::charges, chargeId, () -> chargeRepository.findById(chargeId));
+    }
+
+    public List<TagReview> getTagReviews() {
+        return List.copyOf(all("tagReview", Snapshot::tagReviews));
+    }
+
+    // 없는 id는 건너뛴다 (findAllById와 같다)
+    public List<TagReview> getTagReviews(Collection<Integer> tagReviewIds) {
+        List<TagReview> tagReviews = new ArrayList<>();
+        for (Integer tagReviewId : new LinkedHashSet<>(tagReviewIds)) {
+            get("tagReview", Snapshot::tagReviews, tagReviewId, () -> tagReviewRepository.findById(tagReviewId))
+                    .ifPresent(tagReviews::add);
+        }
+        return tagReviews;
+    }
+
+    public List<Certificate> getCertificates() {
+        return List.copyOf(all("certificate", Snapshot::certificates));
+    }
+
+    public Optional<Certificate> getCertificate(Integer certificateId) {
+        return get("certificate", Snapshot::certificates, certificateId, () -> certificateRepository.findById(certificateId));
+    }
+
+    public Optional<SkiResort> getSkiResort(Integer resortId) {
+        return get("skiResort", Snapshot::skiResorts, resortId, () -> skiResortRepository.findById(resortId));
+    }
+
+    public List<ResortListDTO> getResortList() {
+        Snapshot current = current();
+        stats.get("resortList").hit();
+        return current.resortList();
+    }
+
+    private <T> Optional<T> get(String name, Function<Snapshot, Map<Integer, T>> table, Integer id,
+                                Supplier<Optional<T>> loader) {
+        if (id == null) return Optional.empty();
+        T value = table.apply(current()).get(id);
+        if (value != null) {
+            stats.get(name).hit();
+            return Optional.of(value);
+        }
+        stats.get(name).miss();
+        Optional<T> loaded = loader.get();
+        if (loaded.isPresent()) {
+            log.info("기준 데이터 캐시에 없는 {} - id: {}, 캐시를 다시 만든다", name, id);
+            refresh();
+        }
+        return loaded;
+    }
+
+    private <T> Collection<T> all(String name, Function<Snapshot, Map<Integer, T>> table) {
+        Collection<T> values = table.apply(current()).values();
+        stats.get(name).hit();
+        return values;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // 시작 전에 들어온 요청
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static Counter cacheGets(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("goski.cache.gets")
+                .tag("cache", "reference." + name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static <T> Map<Integer, T> byId(List<T> values, Function<T, Integer> id) {
+        return Collections.unmodifiableMap(values.stream()
+                .collect(Collectors.toMap(id, Function.identity(), (a, b) -> a, LinkedHashMap::new)));
+    }
+
+    private record Snapshot(Map<Integer, Charge> charges, Map<Integer, TagReview> tagReviews,
+                            Map<Integer, Certificate> certificates, Map<Integer, SkiResort> skiResorts,
+                            List<ResortListDTO> resortList) {
+    }
+
+    private record Stats(Counter hits, Counter misses) {
+        void hit() {
+            hits.increment();
+        }
+
+        void miss() {
+            misses.increment();
+        }
+    }
+}
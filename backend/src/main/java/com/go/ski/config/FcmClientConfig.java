@@ -0,0 +1,41 @@
+package com.go.ski.config;
+
+import com.go.ski.notification.support.config.PushDispatchConfig;
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class FcmClientConfig {
+
+    // 푸시마다 RestTemplate과 연결을 새로 만들지 않고 FCM 커넥션을 풀로 재사용한다
+    // HTTP/2를 먼저 협상해서 여러 받는 사람에게 보내는 요청을 한 커넥션의 스트림으로 동시에 보낸다
+    @Bean
+    public WebClient fcmWebClient(WebClient.Builder webClientBuilder, PushDispatchConfig pushDispatchConfig) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("fcm")
+                .maxConnections(pushDispatchConfig.maxConnections())
+                .maxIdleTime(Duration.ofMillis(pushDispatchConfig.maxIdleMillis()))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pushDispatchConfig.connectTimeoutMillis())
+                .responseTimeout(Duration.ofMillis(pushDispatchConfig.readTimeoutMillis()));
+
+        return webClientBuilder
+                .baseUrl(pushDispatchConfig.host())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.go.ski.config;
+
+import com.go.ski.payment.support.config.KakaoPayConfig;
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class KakaoPayClientConfig {
+
+    // keep-alive 커넥션을 풀로 재사용해서 요청마다 TCP, TLS 연결을 새로 맺지 않는다
+    @Bean
+    public WebClient kakaoPayWebClient(WebClient.Builder webClientBuilder, KakaoPayConfig kakaoPayConfig) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("kakao-pay")
+                .maxConnections(kakaoPayConfig.maxConnections())
+                .maxIdleTime(Duration.ofMillis(kakaoPayConfig.maxIdleMillis()))
+                .pendingAcquireTimeout(Duration.ofMillis(kakaoPayConfig.pendingAcquireTimeoutMillis()))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) kakaoPayConfig.connectTimeoutMillis())
+                .responseTimeout(Duration.ofMillis(kakaoPayConfig.readTimeoutMillis()));
+
+        return webClientBuilder
+                .baseUrl(kakaoPayConfig.host())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.go.ski.config;
+
+import com.go.ski.lesson.support.config.LessonSearchConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class LessonSearchExecutorConfig {
+
+    // 팀별 배정 검사 전용 스레드 풀 (DB 커넥션을 다 쓰지 않도록 크기를 제한)
+    // 대기열도 제한하고, 가득 차면 작업을 거절한다. 거절된 팀은 호출 쪽에서 결과에서 빼므로 요청 스레드가 기한을 넘겨 묶이지 않는다
+    @Bean
+    public ThreadPoolTaskExecutor lessonSearchExecutor(LessonSearchConfig lessonSearchConfig) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(lessonSearchConfig.poolSize());
+        executor.setMaxPoolSize(lessonSearchConfig.poolSize());
+        executor.setQueueCapacity(lessonSearchConfig.queueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("lesson-search-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
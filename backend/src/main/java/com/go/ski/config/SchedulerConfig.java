@@ -9,4 +9,5 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableTransactionManagement
 public class SchedulerConfig {
     // 이곳에 스케줄러 설정 코드를 추가할 수 있습니다.
+    // 스레드 풀 크기는 application.yml의 spring.task.scheduling.pool.size
 }
\ No newline at end of file
@@ -50,18 +50,22 @@ public class LessonController {
     }
 
     @GetMapping("/list/user")
-    public ResponseEntity<ApiResponse<?>> getUserLessonList(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse<?>> getUserLessonList(HttpServletRequest request,
+                                                            @RequestParam(required = false) Integer cursor,
+                                                            @RequestParam(defaultValue = "20") int size) {
         log.info("강습 내역 리스트 조회(수강생)");
         User user = (User) request.getAttribute("user");
-        List<UserLessonResponseDTO> userLessonResponseDTOs = lessonService.getUserLessonList(user);
+        List<UserLessonResponseDTO> userLessonResponseDTOs = lessonService.getUserLessonList(user, cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(userLessonResponseDTOs));
     }
 
     @GetMapping("/list/instructor")
-    public ResponseEntity<ApiResponse<?>> getInstructorLessonList(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse<?>> getInstructorLessonList(HttpServletRequest request,
+                                                                  @RequestParam(required = false) Integer cursor,
+                                                                  @RequestParam(defaultValue = "20") int size) {
         log.info("강습 내역 리스트 조회(강사)");
         User user = (User) request.getAttribute("user");
-        List<InstructorLessonResponseDTO> instructorLessonResponseDTOs = lessonService.getInstructorLessonList(user);
+        List<InstructorLessonResponseDTO> instructorLessonResponseDTOs = lessonService.getInstructorLessonList(user, cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(instructorLessonResponseDTOs));
     }
 
@@ -0,0 +1,148 @@
+package com.go.ski.lesson.core.service;
+
+import com.go.ski.lesson.support.assignment.AssignmentProblem;
+import com.go.ski.lesson.support.assignment.LessonAssignmentEngine;
+import com.go.ski.lesson.support.assignment.TeamDayAvailability;
+import com.go.ski.lesson.support.config.LessonSearchConfig;
+import com.go.ski.payment.core.model.LessonInfo;
+import com.go.ski.payment.core.repository.LessonInfoRepository;
+import com.go.ski.team.core.model.Team;
+import com.go.ski.team.core.model.TeamInstructor;
+import com.go.ski.team.core.repository.TeamInstructorRepository;
+import com.go.ski.user.core.model.Instructor;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// (resortId, lessonDate) 단위로 팀별 배정 상태를 메모리에 들고 있는 인덱스
+// 예약이 바뀐 팀-날짜만 커밋 후에 비우고, 다음 조회 때 그 팀만 다시 읽어온다
+// 비울 팀-날짜는 Redis 채널로 알려서 다른 서버도 자기 인덱스에서 지운다
+// Redis 메시지를 놓친 경우를 위해 항목은 ttl이 지나면 다시 읽는다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LessonAvailabilityIndex implements MessageListener {
+    private static final String INVALIDATE_CHANNEL = "lessonAvailability:invalidate";
+
+    private final LessonInfoRepository lessonInfoRepository;
+    private final TeamInstructorRepository teamInstructorRepository;
+    private final LessonAssignmentEngine lessonAssignmentEngine;
+    private final LessonSearchConfig lessonSearchConfig;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final Map<ResortDay, Map<Integer, TeamDayAvailability>> index = new ConcurrentHashMap<>();
+    // 읽는 도중에 예약이 바뀐 상태를 저장하지 않기 위한 세대 번호
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    public TeamDayAvailability get(Team team, LocalDate lessonDate) {
+        Map<Integer, TeamDayAvailability> teams = index.computeIfAbsent(
+                new ResortDay(team.getSkiResort().getResortId(), lessonDate), key -> new ConcurrentHashMap<>());
+
+        TeamDayAvailability availability = teams.get(team.getTeamId());
+        long now = System.currentTimeMillis();
+        if (availability != null && now - availability.getLoadedAt() < lessonSearchConfig.availabilityTtlMillis()) {
+            return availability;
+        }
+
+        long loadedGeneration = generation.get();
+        availability = load(team, lessonDate, now);
+        if (generation.get() == loadedGeneration) {
+            teams.put(team.getTeamId(), availability);
+        }
+        return availability;
+    }
+
+    // 예약이 바뀐 팀-날짜를 모든 서버에서 비운다. 트랜잭션 안이면 커밋된 뒤에 비운다
+    public void invalidate(Integer teamId, LocalDate lessonDate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishInvalidation(teamId, lessonDate);
+                }
+            });
+        } else {
+            publishInvalidation(teamId, lessonDate);
+        }
+    }
+
+    // 다른 서버(와 자신)가 보낸 무효화 - "teamId:lessonDate"
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            evict(Integer.valueOf(body.substring(0, separator)), LocalDate.parse(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("배정 인덱스 무효화 메시지 형식 오류 - {}", body);
+        }
+    }
+
+    private void publishInvalidation(Integer teamId, LocalDate lessonDate) {
+        evict(teamId, lessonDate);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, teamId + ":" + lessonDate);
+        } catch (RuntimeException e) {
+            // 다른 서버는 ttl이 지나면 반영된다
+            log.warn("배정 인덱스 무효화 전파 실패 - teamId: {}, lessonDate: {}", teamId, lessonDate, e);
+        }
+    }
+
+    private void evict(Integer teamId, LocalDate lessonDate) {
+        generation.incrementAndGet();
+        index.forEach((resortDay, teams) -> {
+            if (resortDay.lessonDate().equals(lessonDate)) teams.remove(teamId);
+        });
+    }
+
+    // 매일 자정에 지난 날짜 정리
+    @Scheduled(cron = "0 0 0 * * ?")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        index.keySet().removeIf(resortDay -> resortDay.lessonDate().isBefore(today));
+    }
+
+    private TeamDayAvailability load(Team team, LocalDate lessonDate, long now) {
+        // 강습 일자, 팀으로 이미 예약된 강습 리스트
+        List<LessonInfo> lessonInfos = lessonInfoRepository.findByLessonDateAndLessonTeamAndLessonStatus(lessonDate, team, 0);
+        // 해당 팀에 소속된 강사 리스트
+        List<TeamInstructor> teamInstructors = teamInstructorRepository.findByTeamAndIsInviteAccepted(team, true);
+
+        AssignmentProblem problem = new AssignmentProblem(teamInstructors.size(), lessonInfos.size() + 1);
+        for (TeamInstructor teamInstructor : teamInstructors) {
+            Instructor instructor = teamInstructor.getInstructor();
+            problem.addInstructor(instructor.getInstructorId(), instructor.getIsInstructAvailable());
+        }
+        for (LessonInfo lessonInfo : lessonInfos) {
+            Instructor instructor = lessonInfo.getLesson() != null ? lessonInfo.getLesson().getInstructor() : null;
+            problem.addLesson(lessonInfo.getLessonType(), lessonInfo.getStartTime(), lessonInfo.getDuration(),
+                    instructor != null ? instructor.getInstructorId() : null);
+        }
+        return new TeamDayAvailability(lessonAssignmentEngine.prepare(problem), now);
+    }
+
+    private record ResortDay(Integer resortId, LocalDate lessonDate) {
+    }
+}
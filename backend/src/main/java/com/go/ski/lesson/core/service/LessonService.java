@@ -1,8 +1,12 @@
 package com.go.ski.lesson.core.service;
 
+import com.go.ski.lesson.support.assignment.LessonAssignmentEngine;
+import com.go.ski.lesson.support.assignment.TeamDayAvailability;
+import com.go.ski.lesson.support.config.LessonSearchConfig;
 import com.go.ski.lesson.support.dto.*;
+import com.go.ski.lesson.support.pricing.PriceQuote;
+import com.go.ski.lesson.support.pricing.TeamPriceTable;
 import com.go.ski.lesson.support.vo.CertificateInfoVO;
-import com.go.ski.lesson.support.vo.LessonScheduleVO;
 import com.go.ski.lesson.support.vo.ReserveInfoVO;
 import com.go.ski.payment.core.model.Lesson;
 import com.go.ski.payment.core.model.LessonInfo;
@@ -23,122 +27,171 @@ import com.go.ski.user.core.repository.InstructorCertRepository;
 import com.go.ski.user.core.repository.InstructorRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LessonService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TeamRepository teamRepository;
     private final LessonInfoRepository lessonInfoRepository;
-    private final TeamInstructorRepository teamInstructorRepository;
     private final TeamImageRepository teamImageRepository;
-    private final OneToNOptionRepository oneToNOptionRepository;
-    private final LevelOptionRepository levelOptionRepository;
     private final ReviewRepository reviewRepository;
-    private final PermissionRepository permissionRepository;
     private final InstructorRepository instructorRepository;
     private final InstructorCertRepository instructorCertRepository;
     private final LessonRepository lessonRepository;
     private final StudentInfoRepository studentInfoRepository;
     private final LessonPaymentInfoRepository lessonPaymentInfoRepository;
+    private final LessonAvailabilityIndex lessonAvailabilityIndex;
+    private final TeamPricingEngine teamPricingEngine;
+    private final LessonSearchConfig lessonSearchConfig;
+    private final ThreadPoolTaskExecutor lessonSearchExecutor;
+    private final PlatformTransactionManager transactionManager;
 
     public List<ReserveNoviceResponseDTO> getTeamsForNovice(ReserveInfoVO reserveInfoVO) {
         log.info("resortId로 해당 리조트에 속한 team 리스트 가져오기");
         List<Team> teams = teamRepository.findBySkiResort(SkiResort.builder().resortId(reserveInfoVO.getResortId()).build());
-        List<ReserveNoviceResponseDTO> reserveNoviceResponseDTOs = new ArrayList<>();
 
-        for (Team team : teams) {
+        return new ArrayList<>(evaluateTeams(teams, team -> {
             ReserveNoviceResponseDTO reserveNoviceResponseDTO = assignLessonsToTeam(team, reserveInfoVO);
             if (reserveNoviceResponseDTO != null) {
                 // 팀 가격 설정
                 if (reserveInfoVO.getStudentCount() > 0) {
-                    Optional<OneToNOption> oneToNOption = oneToNOptionRepository.findById(team.getTeamId());
-                    int oneToNOptionFee = getOneToNOption(oneToNOption, reserveInfoVO.getStudentCount());
-                    int teamCost = oneToNOptionFee + team.getTeamCost();
-
-                    reserveNoviceResponseDTO.setCost((teamCost + oneToNOptionFee) * reserveInfoVO.getDuration());
-                    reserveNoviceResponseDTO.setBasicFee(teamCost);
-                    reserveNoviceResponseDTO.setPeopleOptionFee(oneToNOptionFee);
+                    PriceQuote quote = teamPricingEngine.get(team)
+                            .quoteTeam(reserveInfoVO.getStudentCount(), reserveInfoVO.getDuration());
+                    reserveNoviceResponseDTO.setCost(quote.cost());
+                    reserveNoviceResponseDTO.setBasicFee(quote.basicFee());
+                    reserveNoviceResponseDTO.setPeopleOptionFee(quote.peopleOptionFee());
                 }
                 // 별점 설정
                 List<ReviewResponseDTO> reviews = reviewRepository.findByLessonTeam(team).stream().map(ReviewResponseDTO::new).toList();
                 setReviewRating(reviews, reserveNoviceResponseDTO);
                 // lessonType 설정
                 reserveNoviceResponseDTO.setLessonType(reserveInfoVO.getLessonType());
-
-                reserveNoviceResponseDTOs.add(reserveNoviceResponseDTO);
             } else {
-                log.info("해당 팀에 가능한 강사 없음: {}", team);
+                log.info("해당 팀에 가능한 강사 없음: {}", team.getTeamId());
             }
-        }
-
-        return reserveNoviceResponseDTOs;
+            return reserveNoviceResponseDTO;
+        }).values());
     }
 
     public Map<Integer, ReserveNoviceTeamRequestDTO> getInstructorsForAdvanced(ReserveInfoVO reserveInfoVO) {
         log.info("resortId로 해당 리조트에 속한 team 리스트 가져오기");
         List<Team> teams = teamRepository.findBySkiResort(SkiResort.builder().resortId(reserveInfoVO.getResortId()).build());
-        Map<Integer, ReserveNoviceTeamRequestDTO> teamInstructorMap = new HashMap<>();
 
-        for (Team team : teams) {
+        return evaluateTeams(teams, team -> {
             ReserveNoviceResponseDTO reserveNoviceResponseDTO = assignLessonsToTeam(team, reserveInfoVO);
-            if (reserveNoviceResponseDTO != null) {
-                ReserveNoviceTeamRequestDTO reserveNoviceTeamRequestDTO = new ReserveNoviceTeamRequestDTO(reserveInfoVO);
-                reserveNoviceTeamRequestDTO.setInstructorsList(reserveNoviceResponseDTO.getInstructors());
-                teamInstructorMap.put(reserveNoviceResponseDTO.getTeamId(), reserveNoviceTeamRequestDTO);
-            } else {
-                log.info("해당 팀에 가능한 강사 없음: {}", team);
+            if (reserveNoviceResponseDTO == null) {
+                log.info("해당 팀에 가능한 강사 없음: {}", team.getTeamId());
+                return null;
+            }
+            ReserveNoviceTeamRequestDTO reserveNoviceTeamRequestDTO = new ReserveNoviceTeamRequestDTO(reserveInfoVO);
+            reserveNoviceTeamRequestDTO.setInstructorsList(reserveNoviceResponseDTO.getInstructors());
+            return reserveNoviceTeamRequestDTO;
+        });
+    }
+
+    // 팀별 검사를 전용 스레드 풀에서 병렬로 실행하고, 기한 안에 끝난 팀의 결과만 teamId 순서대로 모은다
+    private <T> Map<Integer, T> evaluateTeams(List<Team> teams, Function<Team, T> evaluator) {
+        Map<Integer, T> results = new LinkedHashMap<>();
+        if (!lessonSearchConfig.parallel() || teams.size() <= 1) {
+            for (Team team : teams) {
+                T result = evaluator.apply(team);
+                if (result != null) results.put(team.getTeamId(), result);
+            }
+            return results;
+        }
+
+        // 요청 스레드의 영속성 컨텍스트(OSIV)에 붙은 엔티티는 다른 스레드와 나눠 쓰지 않는다
+        // 작업 스레드에는 teamId만 넘기고, 자기 읽기 전용 트랜잭션(새 세션)에서 팀을 다시 읽어 검사한다
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lessonSearchConfig.deadlineMillis());
+        Map<Integer, Future<T>> futures = new LinkedHashMap<>();
+        List<Integer> rejected = new ArrayList<>();
+        for (Team team : teams) {
+            Integer teamId = team.getTeamId();
+            try {
+                futures.put(teamId, lessonSearchExecutor.submit(() -> searchTransaction().execute(status ->
+                        teamRepository.findById(teamId).map(evaluator).orElse(null))));
+            } catch (TaskRejectedException e) {
+                // 풀과 대기열이 가득 차면 요청 스레드에서 돌리지 않고 결과에서 뺀다
+                rejected.add(teamId);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            log.warn("검색 풀이 가득 차 결과에서 제외된 팀: {}", rejected);
+        }
+
+        // 기한을 넘긴 작업은 기다리지 않고 결과에서만 뺀다
+        // 작업을 인터럽트하면 JDBC 커넥션이 깨질 수 있으므로 취소하지 않고, 트랜잭션 타임아웃(쿼리 타임아웃)으로 끝나게 둔다
+        for (Map.Entry<Integer, Future<T>> entry : futures.entrySet()) {
+            Integer teamId = entry.getKey();
+            try {
+                T result = entry.getValue().get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                if (result != null) results.put(teamId, result);
+            } catch (TimeoutException e) {
+                log.warn("제한 시간 초과로 결과에서 제외된 팀: {}", teamId);
+            } catch (ExecutionException e) {
+                log.error("팀 배정 검사 실패: {}", teamId, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             }
         }
+        return results;
+    }
 
-        return teamInstructorMap;
+    // 읽기 전용, 기한(초 단위 올림)이 지나면 쿼리가 타임아웃된다
+    private TransactionTemplate searchTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setTimeout((int) Math.max(TimeUnit.MILLISECONDS.toSeconds(lessonSearchConfig.deadlineMillis() + 999), 1));
+        return transactionTemplate;
     }
 
     public List<ReserveAdvancedResponseDTO> getInstructorsInTeam(int teamId, ReserveNoviceTeamRequestDTO reserveNoviceTeamRequestDTO) {
         List<ReserveAdvancedResponseDTO> reserveAdvancedResponseDTOs = new ArrayList<>();
-        List<Integer> instructors = reserveNoviceTeamRequestDTO.getInstructorsList();
-        Map<Integer, Integer> instructorPositionMap = new HashMap<>();
-        for (int instructorId : instructors) {
-            Integer teamInstructorId = teamInstructorRepository.findTeamInstructorIdByInstructorIdAndTeamId(instructorId, teamId);
-            Permission permission = permissionRepository.findById(teamInstructorId).orElseThrow();
-            int tmpPosition = permission.getPosition();
-            // instructorId와 tmpPosition을 맵에 저장
-            instructorPositionMap.put(instructorId, tmpPosition);
-        }
-
-        List<Integer> sortedInstructorsByPosition = instructorPositionMap.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
+        Team team = teamRepository.findById(teamId).orElse(null);
+        if (team == null) return reserveAdvancedResponseDTOs;
+
+        // 순서와 지정 요금은 팀 가격표에서 읽는다. 팀에 없는 강사는 제외
+        TeamPriceTable priceTable = teamPricingEngine.get(team);
+        List<Integer> sortedInstructorsByPosition = reserveNoviceTeamRequestDTO.getInstructorsList().stream()
+                .filter(priceTable::hasInstructor)
+                .distinct()
+                .sorted(Comparator.comparing(priceTable::position, Comparator.nullsLast(Comparator.naturalOrder())))
                 .toList();
 
         for (int instructorId : sortedInstructorsByPosition) {
             try {
                 Instructor instructor = instructorRepository.findById(instructorId).orElseThrow();
-                Team team = teamRepository.findById(teamId).orElseThrow();
-                TeamInstructor teamInstructor = teamInstructorRepository.findByTeamAndInstructor(team, instructor).orElseThrow();
-                Permission permission = permissionRepository.findById(teamInstructor.getTeamInstructorId()).orElseThrow();
                 List<CertificateInfoVO> certificateInfoVOs = instructorCertRepository.findByInstructor(instructor)
                         .stream().map(CertificateInfoVO::new).collect(Collectors.toList());
 
-                ReserveAdvancedResponseDTO reserveAdvancedResponseDTO = new ReserveAdvancedResponseDTO(instructor, team, permission, certificateInfoVOs);
+                ReserveAdvancedResponseDTO reserveAdvancedResponseDTO = new ReserveAdvancedResponseDTO(instructor, team,
+                        priceTable.position(instructorId), certificateInfoVOs);
                 // 가격 설정
                 if (reserveNoviceTeamRequestDTO.getStudentCount() > 0) {
-                    Optional<OneToNOption> optionalOneToNOption = oneToNOptionRepository.findById(teamId);
-                    int teamCost = calculateTeamCost(team.getTeamCost(), optionalOneToNOption, reserveNoviceTeamRequestDTO.getStudentCount());
-                    Optional<LevelOption> optionalLevelOption = levelOptionRepository.findById(teamId);
-                    int levelCost = calculateLevelCost(optionalLevelOption, reserveNoviceTeamRequestDTO.getLevel());
-                    Optional<OneToNOption> oneToNOption = oneToNOptionRepository.findById(team.getTeamId());
-                    int oneToNOptionFee = getOneToNOption(oneToNOption, reserveNoviceTeamRequestDTO.getStudentCount());
-
-                    reserveAdvancedResponseDTO.setCost((teamCost + oneToNOptionFee + levelCost) * reserveNoviceTeamRequestDTO.getDuration() + permission.getDesignatedCost());
-                    reserveAdvancedResponseDTO.setBasicFee(teamCost);
-                    reserveAdvancedResponseDTO.setPeopleOptionFee(oneToNOptionFee);
-                    reserveAdvancedResponseDTO.setDesignatedFee(permission.getDesignatedCost());
-                    reserveAdvancedResponseDTO.setLevelOptionFee(levelCost);
+                    PriceQuote quote = priceTable.quoteInstructor(instructorId, reserveNoviceTeamRequestDTO.getStudentCount(),
+                            reserveNoviceTeamRequestDTO.getLevel(), reserveNoviceTeamRequestDTO.getDuration());
+                    reserveAdvancedResponseDTO.setCost(quote.cost());
+                    reserveAdvancedResponseDTO.setBasicFee(quote.basicFee());
+                    reserveAdvancedResponseDTO.setPeopleOptionFee(quote.peopleOptionFee());
+                    reserveAdvancedResponseDTO.setDesignatedFee(quote.designatedFee());
+                    reserveAdvancedResponseDTO.setLevelOptionFee(quote.levelOptionFee());
                 }
                 // 별점 설정
                 List<ReviewResponseDTO> reviews = reviewRepository.findByLessonInstructor(instructor).stream().map(ReviewResponseDTO::new).toList();
@@ -153,24 +206,30 @@ public class LessonService {
         return reserveAdvancedResponseDTOs;
     }
 
-    public List<UserLessonResponseDTO> getUserLessonList(User user) {
-        List<UserLessonResponseDTO> userLessonResponseDTOs = new ArrayList<>();
-        for (Lesson lesson : lessonRepository.findByUser(user)) {
-            try {
-                LessonInfo lessonInfo = lessonInfoRepository.findById(lesson.getLessonId()).orElseThrow();
-                Boolean hasReview = Boolean.TRUE;
-                if (reviewRepository.findByLesson(lesson).isEmpty()) hasReview = Boolean.FALSE;
-                userLessonResponseDTOs.add(new UserLessonResponseDTO(lesson, lessonInfo, hasReview));
-            } catch (NoSuchElementException ignored) {
-            }
-        }
-        return userLessonResponseDTOs;
+    // lessonId 기준 커서 페이지. 다음 페이지는 마지막 lessonId를 cursor로 넘긴다
+    public List<UserLessonResponseDTO> getUserLessonList(User user, Integer cursor, int size) {
+        return lessonRepository.findUserLessons(user.getUserId(), cursor, pageSize(size));
     }
 
-    public List<InstructorLessonResponseDTO> getInstructorLessonList(User user) {
+    public List<InstructorLessonResponseDTO> getInstructorLessonList(User user, Integer cursor, int size) {
         Instructor instructor = instructorRepository.findById(user.getUserId()).orElseThrow();
-        List<Lesson> lessons = lessonRepository.findByInstructor(instructor);
-        return getInstructorLessonResponseDTOs(lessons);
+        List<InstructorLessonResponseDTO> instructorLessonResponseDTOs = lessonRepository.findInstructorLessons(
+                instructor.getInstructorId(), cursor, pageSize(size));
+
+        // 페이지의 학생 정보는 강습 id로 한 번에 조회
+        List<Integer> lessonIds = instructorLessonResponseDTOs.stream().map(InstructorLessonResponseDTO::getLessonId).toList();
+        Map<Integer, List<StudentInfoResponseDTO>> studentInfoMap = new HashMap<>();
+        if (!lessonIds.isEmpty()) {
+            for (StudentInfo studentInfo : studentInfoRepository.findByLessonInfoLessonIdIn(lessonIds)) {
+                studentInfoMap.computeIfAbsent(studentInfo.getLessonInfo().getLessonId(), key -> new ArrayList<>())
+                        .add(new StudentInfoResponseDTO(studentInfo));
+            }
+        }
+        for (InstructorLessonResponseDTO instructorLessonResponseDTO : instructorLessonResponseDTOs) {
+            instructorLessonResponseDTO.setStudentInfoResponseDTOs(
+                    studentInfoMap.getOrDefault(instructorLessonResponseDTO.getLessonId(), List.of()));
+        }
+        return instructorLessonResponseDTOs;
     }
 
     public boolean isNotTeamBoss(User user, int teamId) {
@@ -207,107 +266,21 @@ public class LessonService {
 
     // 특정 팀에 예약을 배정할 수 있는 지 판단하는 메서드
     public ReserveNoviceResponseDTO assignLessonsToTeam(Team team, ReserveInfoVO reserveInfoVO) {
-        // 강습 일자, 팀으로 이미 예약된 강습 리스트
-        List<LessonInfo> lessonInfos = lessonInfoRepository.findByLessonDateAndLessonTeamAndLessonStatus(reserveInfoVO.getLessonDate(), team, 0);
-        // 해당 팀에 소속된 강사 리스트
-        List<TeamInstructor> teamInstructors = teamInstructorRepository.findByTeamAndIsInviteAccepted(team, true);
+        // 팀의 하루 배정 상태는 인덱스에서 가져오고, 새로운 강습을 끼워넣을 수 있는 강사만 확인한다
+        TeamDayAvailability availability = lessonAvailabilityIndex.get(team, reserveInfoVO.getLessonDate());
+        int startTime = Integer.parseInt(reserveInfoVO.getStartTime());
+        int duration = reserveInfoVO.getDuration();
+        int skill = LessonAssignmentEngine.skillMask(reserveInfoVO.getLessonType());
+        long lessonTime = LessonAssignmentEngine.timeMask(startTime, duration);
+        int end = LessonAssignmentEngine.endKey(startTime, duration);
 
-        List<Integer> instructors = new ArrayList<>();
-        for (TeamInstructor teamInstructor : teamInstructors) {
-            Instructor instructor = teamInstructor.getInstructor();
-            if (assignLessonsToInstructor(instructor, reserveInfoVO, lessonInfos, teamInstructors))
-                instructors.add(instructor.getInstructorId());
-        }
+        List<Integer> instructors = availability.findAvailableInstructors(skill, lessonTime, duration, end);
 
         return !instructors.isEmpty() ? new ReserveNoviceResponseDTO(team, instructors, getTeamImage(team)) : null;
     }
 
-    // 특정 강사에게 예약을 배정할 수 있는 지 판단하는 메서드
-    private boolean assignLessonsToInstructor(Instructor instructor, ReserveInfoVO reserveInfoVO,
-                                              List<LessonInfo> lessonInfos, List<TeamInstructor> teamInstructors) {
-        // 팀에 소속된 강사들 스케줄 맵 만들기
-        Map<Integer, LessonScheduleVO> lessonInfoMap = new HashMap<>();
-        for (TeamInstructor teamInstructor : teamInstructors) {
-            Instructor getInstructor = teamInstructor.getInstructor();
-            lessonInfoMap.put(getInstructor.getInstructorId(), new LessonScheduleVO(getInstructor));
-        }
-        // 리스트에 새로운 강습 추가하기
-        LessonInfo newLessonInfo = new LessonInfo(instructor, reserveInfoVO);
-        lessonInfos.add(newLessonInfo);
-
-        try {
-            for (LessonInfo lessonInfo : lessonInfos) {
-                if (lessonInfo.getLesson() != null && lessonInfo.getLesson().getInstructor() != null) {
-                    if (!assignInstructorLessons(lessonInfo.getLesson().getInstructor(), lessonInfo, lessonInfoMap))
-                        return false;
-                }
-            }
-            return assignTeamLessons(lessonInfos, lessonInfoMap);
-        } finally {
-            // 마지막에 추가했던 강습을 제거해야함
-            lessonInfos.remove(newLessonInfo);
-        }
-    }
-
-    // 강사 지정수업 배정하기
-    private boolean assignInstructorLessons(Instructor instructor, LessonInfo lessonInfo, Map<Integer, LessonScheduleVO> lessonInfoMap) {
-        LessonScheduleVO lessonScheduleVO = lessonInfoMap.get(instructor.getInstructorId());
-        if (lessonScheduleVO == null) return false; // 이 팀에 존재하지 않는 강사
-
-        return canAssignLesson(lessonScheduleVO, lessonInfo);
-    }
-
-    // 팀 수업 배정하기
-    private boolean assignTeamLessons(List<LessonInfo> lessonInfos, Map<Integer, LessonScheduleVO> lessonInfoMap) {
-        // 시간이 제일 적은 사람 순, 강의 끝나는 시간이 빠른 긴 순으로
-        TreeSet<LessonScheduleVO> lessonInfoTreeSet = new TreeSet<>(
-                Comparator.comparingInt(LessonScheduleVO::getTotalTime)
-                        .thenComparing(LessonScheduleVO::getInstructorId)
-        );
-        lessonInfoTreeSet.addAll(lessonInfoMap.values());
-        lessonInfos.sort((Comparator.comparingInt(o -> Integer.parseInt(o.getStartTime()) + o.getDuration() * 100)));
-
-        teamLesson:
-        for (LessonInfo lessonInfo : lessonInfos) {
-            if (lessonInfo.getLesson() == null || lessonInfo.getLesson().getInstructor() == null) {
-                for (LessonScheduleVO lessonScheduleVO : lessonInfoTreeSet) {
-                    if (canAssignLesson(lessonScheduleVO, lessonInfo)) {
-                        continue teamLesson;
-                    }
-                }
-                return false; // 모든 강사가 수업이 불가능함
-            }
-        }
-        return true;
-    }
-
-    private boolean canAssignLesson(LessonScheduleVO lessonScheduleVO, LessonInfo lessonInfo) {
-        // 기술 체크
-        if (!lessonInfo.getLessonType().equals("1000000")
-                && !((Integer.parseInt(lessonInfo.getLessonType(), 2)
-                & Integer.parseInt(lessonScheduleVO.getIsInstructAvailable(), 2))
-                == Integer.parseInt(lessonInfo.getLessonType(), 2))
-        ) return false; // 강의가 불가능한 강사
-
-        // 시간 체크
-        long lessonTime = calculateLessonTime(Integer.parseInt(lessonInfo.getStartTime()), lessonInfo.getDuration());
-        if ((lessonScheduleVO.getTimeTable() & lessonTime) == 0) {
-            // 기존 타임테이블과 겹치지 않으면 추가한다
-            lessonScheduleVO.setTimeTable(lessonScheduleVO.getTimeTable() | calculateLessonTime(Integer.parseInt(lessonInfo.getStartTime()), lessonInfo.getDuration()));
-            lessonScheduleVO.setTotalTime(lessonScheduleVO.getTotalTime() + lessonInfo.getDuration());
-            return true;
-        }
-        return false;
-    }
-
-    private long calculateLessonTime(int startTime, int duration) {
-        long lessonTime = 0;
-        startTime = startTime / 50 + startTime % 100 / 30;
-        for (int i = 0; i < duration * 2; i++) {
-            lessonTime = lessonTime << 1;
-            lessonTime++;
-        }
-        return lessonTime << startTime;
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
     }
 
     private List<TeamImageVO> getTeamImage(Team team) {
@@ -319,34 +292,6 @@ public class LessonService {
         return teamImageVOs;
     }
 
-    private int calculateTeamCost(int teamCost, Optional<OneToNOption> optionalOneToNOption, int studentCount) {
-        return optionalOneToNOption.map(option -> switch (studentCount) {
-            case 1 -> teamCost;
-            case 2 -> teamCost + option.getOneTwoFee();
-            case 3 -> teamCost + option.getOneThreeFee();
-            case 4 -> teamCost + option.getOneFourFee();
-            default -> teamCost + option.getOneNFee();
-        }).orElse(teamCost);
-    }
-
-    private int getOneToNOption(Optional<OneToNOption> optionalOneToNOption, int studentCount) {
-        return optionalOneToNOption.map(option -> switch (studentCount) {
-            case 1 -> 0;
-            case 2 -> option.getOneTwoFee();
-            case 3 -> option.getOneThreeFee();
-            case 4 -> option.getOneFourFee();
-            default -> option.getOneNFee();
-        }).orElse(0);
-    }
-
-    private int calculateLevelCost(Optional<LevelOption> optionalLevelOption, String level) {
-        return optionalLevelOption.map(option -> switch (level) {
-            case "INTERMEDIATE" -> option.getIntermediateFee();
-            case "ADVANCED" -> option.getAdvancedFee();
-            default -> 0;
-        }).orElse(0);
-    }
-
     private void setReviewRating(List<ReviewResponseDTO> reviews, ReserveResponseDTO reserveResponseDTO) {
         if (!reviews.isEmpty()) {
             double rating = 0;
@@ -0,0 +1,184 @@
+package com.go.ski.lesson.core.service;
+
+import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.lesson.support.config.LessonAdmissionConfig;
+import com.go.ski.schedule.support.exception.ScheduleExceptionEnum;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// (teamId, lessonDate) 단위로 배정 가능 검사와 강습 저장을 직렬화한다
+// 서버 안에서는 팀-날짜를 해시한 락 스트라이프로, 서버 사이에서는 Redis 리스로 막는다
+// 락은 트랜잭션이 끝날 때(커밋/롤백 후) 풀리므로 다음 요청은 커밋된 강습을 보고 검사한다
+// 리스는 트랜잭션이 열려 있는 동안 연장하고, 커밋 직전에 아직 내 것인지 확인해 잃었으면 롤백한다
+@Slf4j
+@Component
+public class TeamDayAdmission {
+    private static final String LEASE_PREFIX = "lessonAdmission:";
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LessonAdmissionConfig lessonAdmissionConfig;
+    private final ReentrantLock[] stripes;
+    // 이미 들어와 있는 팀-날짜는 다시 잡지 않는다
+    private final ThreadLocal<Set<TeamDay>> admitted = ThreadLocal.withInitial(HashSet::new);
+    // 열린 트랜잭션의 리스를 leaseMillis의 1/3마다 연장한다
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lesson-admission-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TeamDayAdmission(StringRedisTemplate stringRedisTemplate, LessonAdmissionConfig lessonAdmissionConfig) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.lessonAdmissionConfig = lessonAdmissionConfig;
+        this.stripes = new ReentrantLock[Math.max(lessonAdmissionConfig.stripes(), 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // 현재 트랜잭션이 끝날 때까지 팀-날짜를 점유한다. 트랜잭션 안에서 첫 조회 전에 불러야 한다
+    public void admit(Integer teamId, LocalDate lessonDate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("TeamDayAdmission requires an active transaction");
+        }
+        TeamDay teamDay = new TeamDay(teamId, lessonDate);
+        if (admitted.get().contains(teamDay)) return;
+
+        long deadline = System.currentTimeMillis() + lessonAdmissionConfig.waitMillis();
+        ReentrantLock lock = stripes[Math.floorMod(teamDay.hashCode(), stripes.length)];
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(lessonAdmissionConfig.waitMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!locked) {
+            throw ApiExceptionFactory.fromExceptionEnum(ScheduleExceptionEnum.BUSY_SCHEDULE);
+        }
+
+        String token;
+        try {
+            token = acquireLease(teamDay, deadline);
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+
+        ScheduledFuture<?> renewal;
+        try {
+            long renewMillis = Math.max(lessonAdmissionConfig.leaseMillis() / 3, 1);
+            renewal = leaseRenewer.scheduleAtFixedRate(
+                    () -> renewLease(teamDay, token), renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            releaseLease(teamDay, token);
+            lock.unlock();
+            throw e;
+        }
+
+        admitted.get().add(teamDay);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // 연장이 끊겨 리스가 만료됐다면 다른 서버가 같은 팀-날짜를 검사했을 수 있다
+                if (!ownsLease(teamDay, token)) {
+                    log.warn("팀-날짜 리스를 잃어 커밋하지 않음 - {}", teamDay.leaseKey());
+                    throw ApiExceptionFactory.fromExceptionEnum(ScheduleExceptionEnum.BUSY_SCHEDULE);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                renewal.cancel(false);
+                admitted.get().remove(teamDay);
+                try {
+                    releaseLease(teamDay, token);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private String acquireLease(TeamDay teamDay, long deadline) {
+        String key = teamDay.leaseKey();
+        String token = UUID.randomUUID().toString();
+        long backoff = 5;
+        while (true) {
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(key, token, lessonAdmissionConfig.leaseMillis(), TimeUnit.MILLISECONDS);
+            if (Boolean.TRUE.equals(acquired)) return token;
+
+            if (System.currentTimeMillis() + backoff > deadline) {
+                log.info("팀-날짜 점유 대기 시간 초과 - {}", key);
+                throw ApiExceptionFactory.fromExceptionEnum(ScheduleExceptionEnum.BUSY_SCHEDULE);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ApiExceptionFactory.fromExceptionEnum(ScheduleExceptionEnum.BUSY_SCHEDULE);
+            }
+            backoff = Math.min(backoff * 2, 100);
+        }
+    }
+
+    private void renewLease(TeamDay teamDay, String token) {
+        try {
+            Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(teamDay.leaseKey()),
+                    token, String.valueOf(lessonAdmissionConfig.leaseMillis()));
+            if (!Long.valueOf(1).equals(renewed)) {
+                // 커밋 직전 확인에서 롤백된다
+                log.warn("팀-날짜 리스 연장 실패 (이미 만료됨) - {}", teamDay.leaseKey());
+            }
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 연장한다
+            log.warn("팀-날짜 리스 연장 오류 - {}", teamDay.leaseKey(), e);
+        }
+    }
+
+    private boolean ownsLease(TeamDay teamDay, String token) {
+        return token.equals(stringRedisTemplate.opsForValue().get(teamDay.leaseKey()));
+    }
+
+    private void releaseLease(TeamDay teamDay, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(teamDay.leaseKey()), token);
+        } catch (RuntimeException e) {
+            // 못 지운 리스는 leaseMillis 후에 만료된다
+            log.warn("팀-날짜 리스 해제 실패 - {}", teamDay.leaseKey(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+
+    private record TeamDay(Integer teamId, LocalDate lessonDate) {
+        String leaseKey() {
+            return LEASE_PREFIX + teamId + ":" + lessonDate;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.go.ski.lesson.core.service;
+
+import com.go.ski.lesson.support.config.LessonSearchConfig;
+import com.go.ski.lesson.support.pricing.TeamPriceTable;
+import com.go.ski.team.core.model.Team;
+import com.go.ski.team.core.repository.LevelOptionRepository;
+import com.go.ski.team.core.repository.OneToNOptionRepository;
+import com.go.ski.team.core.repository.PermissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 팀별 가격표를 만들어 메모리에 들고 있는다
+// 팀 정보나 강사 권한(지정 요금, 순서)이 바뀌면 커밋 후에 그 팀의 표만 비우고, 다음 조회 때 다시 만든다
+// 다른 서버에서 바뀐 가격은 ttl이 지나면 반영된다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamPricingEngine {
+    private final OneToNOptionRepository oneToNOptionRepository;
+    private final LevelOptionRepository levelOptionRepository;
+    private final PermissionRepository permissionRepository;
+    private final LessonSearchConfig lessonSearchConfig;
+
+    private final Map<Integer, TeamPriceTable> tables = new ConcurrentHashMap<>();
+    // 만드는 도중에 바뀐 가격을 저장하지 않기 위한 세대 번호
+    private final AtomicLong generation = new AtomicLong();
+
+    public TeamPriceTable get(Team team) {
+        TeamPriceTable table = tables.get(team.getTeamId());
+        long now = System.currentTimeMillis();
+        if (table != null && now - table.getLoadedAt() < lessonSearchConfig.priceTtlMillis()) {
+            return table;
+        }
+
+        long loadedGeneration = generation.get();
+        table = new TeamPriceTable(
+                team.getTeamCost() != null ? team.getTeamCost() : 0,
+                oneToNOptionRepository.findById(team.getTeamId()).orElse(null),
+                levelOptionRepository.findById(team.getTeamId()).orElse(null),
+                permissionRepository.findInstructorPrices(team.getTeamId()),
+                now);
+        if (generation.get() == loadedGeneration) {
+            tables.put(team.getTeamId(), table);
+        }
+        return table;
+    }
+
+    // 가격이 바뀐 팀의 표를 비운다. 트랜잭션 안이면 커밋된 뒤에 비운다
+    public void invalidate(Integer teamId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(teamId);
+                }
+            });
+        } else {
+            evict(teamId);
+        }
+    }
+
+    private void evict(Integer teamId) {
+        generation.incrementAndGet();
+        tables.remove(teamId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.go.ski.lesson.support.assignment;
+
+// 배정 전략들이 스레드마다 재사용하는 작업 버퍼
+public final class AssignmentBuffer {
+    long[] timeTables = new long[16];
+    int[] totalTimes = new int[16];
+    int[] instructorOrder = new int[16];
+    int[] lessonOrder = new int[32];
+    int[] assigned = new int[32];
+    int searchNodes;
+    // 마지막 run의 결과 (LessonAssignmentEngine)
+    AssignmentOutcome outcome;
+
+    // 타임테이블을 비우고 강사 지정수업을 배정한 뒤, 남은 팀 수업 개수를 돌려준다. 지정수업 배정이 불가능하면 -1
+    int assignDesignatedLessons(AssignmentProblem p) {
+        ensureCapacity(p.instructorCount, p.lessonCount);
+        for (int i = 0; i < p.instructorCount; i++) {
+            timeTables[i] = LessonAssignmentEngine.DAY_BOUNDARY;
+            totalTimes[i] = 0;
+        }
+
+        int teamLessonCount = 0;
+        for (int l = 0; l < p.lessonCount; l++) {
+            int owner = p.lessonOwners[l];
+            if (owner == AssignmentProblem.TEAM_LESSON) {
+                lessonOrder[teamLessonCount++] = l;
+            } else if (owner < 0 || !tryAssign(p, owner, l)) {
+                return -1; // 이 팀에 존재하지 않는 강사이거나 배정 불가
+            }
+        }
+        return teamLessonCount;
+    }
+
+    // 팀 수업들을 강의 끝나는 시간이 빠른 순으로 정렬 (같으면 들어온 순서 유지)
+    void sortTeamLessonsByEnd(AssignmentProblem p, int teamLessonCount) {
+        for (int i = 1; i < teamLessonCount; i++) {
+            int lesson = lessonOrder[i];
+            int j = i - 1;
+            while (j >= 0 && p.lessonEnds[lessonOrder[j]] > p.lessonEnds[lesson]) {
+                lessonOrder[j + 1] = lessonOrder[j];
+                j--;
+            }
+            lessonOrder[j + 1] = lesson;
+        }
+    }
+
+    boolean tryAssign(AssignmentProblem p, int instructor, int lesson) {
+        // 기술 체크
+        int skill = p.lessonSkills[lesson];
+        if ((skill & p.instructorSkills[instructor]) != skill) return false; // 강의가 불가능한 강사
+
+        // 시간 체크
+        long lessonTime = p.lessonTimes[lesson];
+        if ((timeTables[instructor] & lessonTime) != 0) return false;
+
+        // 기존 타임테이블과 겹치지 않으면 추가한다
+        timeTables[instructor] |= lessonTime;
+        totalTimes[instructor] += p.lessonDurations[lesson];
+        assigned[lesson] = instructor;
+        return true;
+    }
+
+    void unassign(AssignmentProblem p, int instructor, int lesson) {
+        timeTables[instructor] &= ~p.lessonTimes[lesson];
+        totalTimes[instructor] -= p.lessonDurations[lesson];
+    }
+
+    void ensureCapacity(int instructorCount, int lessonCount) {
+        if (timeTables.length < instructorCount) {
+            int capacity = Math.max(instructorCount, timeTables.length * 2);
+            timeTables = new long[capacity];
+            totalTimes = new int[capacity];
+            instructorOrder = new int[capacity];
+        }
+        if (lessonOrder.length < lessonCount) {
+            int capacity = Math.max(lessonCount, lessonOrder.length * 2);
+            lessonOrder = new int[capacity];
+            assigned = new int[capacity];
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.go.ski.lesson.support.assignment;
+
+// 배정 전략 한 번의 결과
+public enum AssignmentOutcome {
+    ASSIGNED,
+    // 가능한 배정이 없음이 확인됨 (지정수업 충돌, 완전 탐색 실패)
+    INFEASIBLE,
+    // 휴리스틱이 배정을 찾지 못함. 불가능하다는 뜻은 아니다
+    NOT_FOUND,
+    // 탐색 한도를 넘겨 중단함. 가능한 배정이 있을 수도 있다
+    BUDGET_EXHAUSTED
+}
@@ -0,0 +1,99 @@
+package com.go.ski.lesson.support.assignment;
+
+import java.util.Arrays;
+
+import static com.go.ski.lesson.support.assignment.LessonAssignmentEngine.*;
+
+// 한 팀의 하루치 강사/강습 정보를 원시 배열로 디코딩해 둔 배정 문제
+public class AssignmentProblem {
+    public static final int TEAM_LESSON = -1; // 강사가 지정되지 않은 팀 수업
+    public static final int UNKNOWN_INSTRUCTOR = -2; // 이 팀에 존재하지 않는 강사
+
+    int[] instructorIds;
+    int[] instructorSkills;
+    int instructorCount;
+
+    int[] lessonSkills;
+    long[] lessonTimes;
+    int[] lessonDurations;
+    int[] lessonEnds;
+    int[] lessonOwners; // 지정 강사의 인덱스 또는 TEAM_LESSON, UNKNOWN_INSTRUCTOR
+    int lessonCount;
+
+    public AssignmentProblem(int instructorCapacity, int lessonCapacity) {
+        instructorIds = new int[Math.max(instructorCapacity, 1)];
+        instructorSkills = new int[instructorIds.length];
+        int capacity = Math.max(lessonCapacity, 1);
+        lessonSkills = new int[capacity];
+        lessonTimes = new long[capacity];
+        lessonDurations = new int[capacity];
+        lessonEnds = new int[capacity];
+        lessonOwners = new int[capacity];
+    }
+
+    public int addInstructor(int instructorId, String isInstructAvailable) {
+        int index = indexOfInstructor(instructorId);
+        if (index >= 0) return index;
+
+        if (instructorCount == instructorIds.length) {
+            instructorIds = Arrays.copyOf(instructorIds, instructorCount * 2);
+            instructorSkills = Arrays.copyOf(instructorSkills, instructorCount * 2);
+        }
+        instructorIds[instructorCount] = instructorId;
+        instructorSkills[instructorCount] = instructorSkillMask(isInstructAvailable);
+        return instructorCount++;
+    }
+
+    // instructorId가 null이면 팀 수업, 아니면 해당 강사의 지정 수업
+    public int addLesson(String lessonType, String startTime, int duration, Integer instructorId) {
+        int owner = TEAM_LESSON;
+        if (instructorId != null) {
+            owner = indexOfInstructor(instructorId);
+            if (owner < 0) owner = UNKNOWN_INSTRUCTOR;
+        }
+        int start = Integer.parseInt(startTime);
+        return addLesson(skillMask(lessonType), timeMask(start, duration), duration, endKey(start, duration), owner);
+    }
+
+    // 이미 디코딩된 강습을 추가한다
+    public int addLesson(int skill, long time, int duration, int end, int owner) {
+        if (lessonCount == lessonSkills.length) {
+            int capacity = lessonCount * 2;
+            lessonSkills = Arrays.copyOf(lessonSkills, capacity);
+            lessonTimes = Arrays.copyOf(lessonTimes, capacity);
+            lessonDurations = Arrays.copyOf(lessonDurations, capacity);
+            lessonEnds = Arrays.copyOf(lessonEnds, capacity);
+            lessonOwners = Arrays.copyOf(lessonOwners, capacity);
+        }
+        lessonSkills[lessonCount] = skill;
+        lessonTimes[lessonCount] = time;
+        lessonDurations[lessonCount] = duration;
+        lessonEnds[lessonCount] = end;
+        lessonOwners[lessonCount] = owner;
+        return lessonCount++;
+    }
+
+    // 가정으로 추가했던 마지막 강습을 제거한다
+    public void removeLastLesson() {
+        if (lessonCount > 0) lessonCount--;
+    }
+
+    public int indexOfInstructor(int instructorId) {
+        for (int i = 0; i < instructorCount; i++) {
+            if (instructorIds[i] == instructorId) return i;
+        }
+        return -1;
+    }
+
+    public int getInstructorId(int index) {
+        return instructorIds[index];
+    }
+
+    public int getInstructorCount() {
+        return instructorCount;
+    }
+
+    public int getLessonCount() {
+        return lessonCount;
+    }
+}
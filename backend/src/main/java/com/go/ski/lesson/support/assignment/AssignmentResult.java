@@ -0,0 +1,12 @@
+package com.go.ski.lesson.support.assignment;
+
+// 배정 결과. 배정에 실패하면 instructorIds는 null이고, strategy는 마지막으로 배정을 거절한 전략, outcome은 그 이유다
+public record AssignmentResult(
+        int[] instructorIds,
+        String strategy,
+        AssignmentOutcome outcome
+) {
+    public boolean isAssigned() {
+        return instructorIds != null;
+    }
+}
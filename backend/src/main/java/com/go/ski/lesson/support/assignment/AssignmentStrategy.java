@@ -0,0 +1,10 @@
+package com.go.ski.lesson.support.assignment;
+
+// 팀의 하루 강습을 강사들에게 배정하는 방법
+// 성공하면 buffer.assigned에 강습별 강사 인덱스가 채워져 있어야 하고, 실패하면 그 이유를 돌려준다
+public interface AssignmentStrategy {
+
+    String getName();
+
+    AssignmentOutcome assign(AssignmentProblem problem, AssignmentBuffer buffer);
+}
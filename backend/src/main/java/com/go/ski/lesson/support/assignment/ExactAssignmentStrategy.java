@@ -0,0 +1,50 @@
+package com.go.ski.lesson.support.assignment;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// 그리디가 실패한 날에만 쓰는 백트래킹 배정
+// 같은 기술, 같은 타임테이블을 가진 강사는 한 번만 시도하고, 탐색 노드 수가 한도를 넘으면 BUDGET_EXHAUSTED로 멈춘다
+@Order(2)
+@Component
+public class ExactAssignmentStrategy implements AssignmentStrategy {
+    private static final int NODE_LIMIT = 200_000;
+
+    @Override
+    public String getName() {
+        return "EXACT";
+    }
+
+    @Override
+    public AssignmentOutcome assign(AssignmentProblem p, AssignmentBuffer b) {
+        int teamLessonCount = b.assignDesignatedLessons(p);
+        if (teamLessonCount < 0) return AssignmentOutcome.INFEASIBLE;
+        b.sortTeamLessonsByEnd(p, teamLessonCount);
+
+        b.searchNodes = 0;
+        if (search(p, b, 0, teamLessonCount)) return AssignmentOutcome.ASSIGNED;
+        return b.searchNodes > NODE_LIMIT ? AssignmentOutcome.BUDGET_EXHAUSTED : AssignmentOutcome.INFEASIBLE;
+    }
+
+    private boolean search(AssignmentProblem p, AssignmentBuffer b, int k, int teamLessonCount) {
+        if (k == teamLessonCount) return true;
+        if (++b.searchNodes > NODE_LIMIT) return false;
+
+        int lesson = b.lessonOrder[k];
+        candidate:
+        for (int i = 0; i < p.instructorCount; i++) {
+            // 앞에서 시도한 강사와 기술, 타임테이블이 같으면 결과도 같다
+            for (int j = 0; j < i; j++) {
+                if (p.instructorSkills[j] == p.instructorSkills[i] && b.timeTables[j] == b.timeTables[i]) {
+                    continue candidate;
+                }
+            }
+            if (b.tryAssign(p, i, lesson)) {
+                if (search(p, b, k + 1, teamLessonCount)) return true;
+                b.unassign(p, i, lesson);
+                if (b.searchNodes > NODE_LIMIT) return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package com.go.ski.lesson.support.assignment;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// 팀 수업을 끝나는 시간이 빠른 순으로, 지정수업 이후 시간이 제일 적은 강사부터 배정한다
+@Order(1)
+@Component
+public class GreedyAssignmentStrategy implements AssignmentStrategy {
+
+    @Override
+    public String getName() {
+        return "GREEDY";
+    }
+
+    @Override
+    public AssignmentOutcome assign(AssignmentProblem p, AssignmentBuffer b) {
+        int teamLessonCount = b.assignDesignatedLessons(p);
+        if (teamLessonCount < 0) return AssignmentOutcome.INFEASIBLE;
+
+        // 시간이 제일 적은 사람 순
+        int[] instructorOrder = b.instructorOrder;
+        for (int i = 0; i < p.instructorCount; i++) {
+            int j = i - 1;
+            while (j >= 0 && compareInstructor(p, b.totalTimes, instructorOrder[j], i) > 0) {
+                instructorOrder[j + 1] = instructorOrder[j];
+                j--;
+            }
+            instructorOrder[j + 1] = i;
+        }
+        b.sortTeamLessonsByEnd(p, teamLessonCount);
+
+        // 팀 수업 배정하기
+        teamLesson:
+        for (int k = 0; k < teamLessonCount; k++) {
+            int lesson = b.lessonOrder[k];
+            for (int i = 0; i < p.instructorCount; i++) {
+                if (b.tryAssign(p, instructorOrder[i], lesson)) {
+                    continue teamLesson;
+                }
+            }
+            return AssignmentOutcome.NOT_FOUND; // 모든 강사가 수업이 불가능함
+        }
+        return AssignmentOutcome.ASSIGNED;
+    }
+
+    private static int compareInstructor(AssignmentProblem p, int[] totalTimes, int a, int b) {
+        if (totalTimes[a] != totalTimes[b]) return Integer.compare(totalTimes[a], totalTimes[b]);
+        return Integer.compare(p.instructorIds[a], p.instructorIds[b]);
+    }
+}
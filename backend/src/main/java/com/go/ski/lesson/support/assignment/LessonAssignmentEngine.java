@@ -0,0 +1,108 @@
+package com.go.ski.lesson.support.assignment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// 등록된 배정 전략들을 순서대로 시도한다 (그리디 -> 백트래킹)
+// 배정 불가는 마지막 전략의 이유로 판단한다. 탐색 한도 초과는 실제로 불가능한 것과 구분해 경고로 남긴다
+// 모든 값은 AssignmentProblem에 한 번만 디코딩해두고, 검사에 쓰는 버퍼는 스레드마다 재사용한다
+@Slf4j
+@Component
+public class LessonAssignmentEngine {
+    // 자정을 넘기는 강습을 막기 위한 경계 비트 (30분 단위 48칸)
+    public static final long DAY_BOUNDARY = 1L << 48;
+    private static final String DAYOFF = "1000000";
+
+    private final List<AssignmentStrategy> strategies;
+    private final ThreadLocal<AssignmentBuffer> buffer = ThreadLocal.withInitial(AssignmentBuffer::new);
+
+    public LessonAssignmentEngine(List<AssignmentStrategy> strategies) {
+        this.strategies = strategies;
+    }
+
+    // 휴무는 기술과 상관없이 배정 가능하므로 0
+    public static int skillMask(String lessonType) {
+        return lessonType.equals(DAYOFF) ? 0 : Integer.parseInt(lessonType, 2);
+    }
+
+    public static int instructorSkillMask(String isInstructAvailable) {
+        return Integer.parseInt(isInstructAvailable, 2);
+    }
+
+    // 30분 단위로 강습 시간을 비트마스킹
+    public static long timeMask(int startTime, int duration) {
+        int slot = startTime / 50 + startTime % 100 / 30;
+        int length = duration * 2;
+        long lessonTime = length >= Long.SIZE ? -1L : (1L << length) - 1;
+        return lessonTime << slot;
+    }
+
+    public static int endKey(int startTime, int duration) {
+        return startTime + duration * 100;
+    }
+
+    public static int endKey(String startTime, int duration) {
+        return endKey(Integer.parseInt(startTime), duration);
+    }
+
+    // 배정 가능 여부만 판단 (할당 없음)
+    public boolean isFeasible(AssignmentProblem problem) {
+        AssignmentBuffer b = buffer.get();
+        AssignmentStrategy strategy = run(problem, b);
+        if (b.outcome != AssignmentOutcome.ASSIGNED) {
+            logRejection(problem, strategy, b.outcome);
+            return false;
+        }
+        return true;
+    }
+
+    // 강습별로 배정된 instructorId 배열과 결과를 낸 전략
+    public AssignmentResult solve(AssignmentProblem problem) {
+        AssignmentBuffer b = buffer.get();
+        AssignmentStrategy strategy = run(problem, b);
+        if (b.outcome != AssignmentOutcome.ASSIGNED) {
+            logRejection(problem, strategy, b.outcome);
+            return new AssignmentResult(null, strategy.getName(), b.outcome);
+        }
+
+        int[] result = new int[problem.lessonCount];
+        for (int l = 0; l < problem.lessonCount; l++) {
+            result[l] = problem.instructorIds[b.assigned[l]];
+        }
+        return new AssignmentResult(result, strategy.getName(), b.outcome);
+    }
+
+    // 현재 강습들을 한 번 배정해두고, 강습 추가 가능 여부를 국소적으로 판단할 수 있는 상태를 만든다
+    public TeamDaySchedule prepare(AssignmentProblem problem) {
+        AssignmentBuffer b = buffer.get();
+        AssignmentStrategy strategy = run(problem, b);
+        boolean solved = b.outcome == AssignmentOutcome.ASSIGNED;
+        if (!solved) logRejection(problem, strategy, b.outcome);
+        return new TeamDaySchedule(this, problem, solved,
+                Arrays.copyOf(b.timeTables, problem.instructorCount), Arrays.copyOf(b.assigned, problem.lessonCount));
+    }
+
+    // 배정에 성공한 전략, 모두 실패하면 마지막으로 시도한 전략. 결과는 b.outcome에 남긴다
+    private AssignmentStrategy run(AssignmentProblem problem, AssignmentBuffer b) {
+        AssignmentStrategy last = null;
+        for (AssignmentStrategy strategy : strategies) {
+            last = strategy;
+            b.outcome = strategy.assign(problem, b);
+            // 불가능이 확인되면 다음 전략도 같은 결과다
+            if (b.outcome == AssignmentOutcome.ASSIGNED || b.outcome == AssignmentOutcome.INFEASIBLE) break;
+        }
+        return last;
+    }
+
+    private static void logRejection(AssignmentProblem problem, AssignmentStrategy strategy, AssignmentOutcome outcome) {
+        if (outcome == AssignmentOutcome.BUDGET_EXHAUSTED) {
+            log.warn("배정 탐색 한도 초과로 배정 불가 처리 - 전략: {}, 강사 {}명, 강습 {}개",
+                    strategy.getName(), problem.instructorCount, problem.lessonCount);
+        } else {
+            log.debug("배정 불가 - 전략: {}, 사유: {}", strategy.getName(), outcome);
+        }
+    }
+}
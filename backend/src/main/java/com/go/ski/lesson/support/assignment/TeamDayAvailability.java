@@ -0,0 +1,67 @@
+package com.go.ski.lesson.support.assignment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 한 팀의 하루 배정 상태와 30분 슬롯별로 비어있는 강사 목록
+// 여러 요청이 같은 상태를 공유하므로 검사는 한 번에 하나씩만 한다
+public class TeamDayAvailability {
+    public static final int SLOT_COUNT = 48;
+
+    private final TeamDaySchedule schedule;
+    private final long[] freeInstructors; // 슬롯별로 비어있는 강사 인덱스 비트 (강사 64명까지)
+    private final long loadedAt;
+
+    public TeamDayAvailability(TeamDaySchedule schedule, long loadedAt) {
+        this.schedule = schedule;
+        this.loadedAt = loadedAt;
+        this.freeInstructors = schedule.isSolved() && schedule.getProblem().instructorCount <= Long.SIZE
+                ? toFreeInstructors(schedule) : null;
+    }
+
+    private static long[] toFreeInstructors(TeamDaySchedule schedule) {
+        long[] free = new long[SLOT_COUNT];
+        for (int i = 0; i < schedule.getProblem().instructorCount; i++) {
+            long timeTable = schedule.getTimeTable(i);
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                if ((timeTable & (1L << slot)) == 0) free[slot] |= 1L << i;
+            }
+        }
+        return free;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    // 새로운 지정 강습을 받을 수 있는 강사들의 instructorId
+    public synchronized List<Integer> findAvailableInstructors(int skill, long time, int duration, int end) {
+        AssignmentProblem problem = schedule.getProblem();
+        long free = freeInstructors != null ? freeDuring(time) & capableInstructors(skill) : 0;
+
+        List<Integer> instructors = new ArrayList<>();
+        for (int i = 0; i < problem.instructorCount; i++) {
+            if ((free & (1L << i)) != 0 || schedule.canTakeLesson(i, skill, time, duration, end))
+                instructors.add(problem.getInstructorId(i));
+        }
+        return instructors;
+    }
+
+    private long freeDuring(long time) {
+        long free = -1L;
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            if ((time & (1L << slot)) != 0) free &= freeInstructors[slot];
+        }
+        // 자정을 넘기는 강습은 아무도 받을 수 없다
+        return (time >>> SLOT_COUNT) == 0 ? free : 0;
+    }
+
+    private long capableInstructors(int skill) {
+        AssignmentProblem problem = schedule.getProblem();
+        long capable = 0;
+        for (int i = 0; i < Math.min(problem.instructorCount, Long.SIZE); i++) {
+            if ((skill & problem.instructorSkills[i]) == skill) capable |= 1L << i;
+        }
+        return capable;
+    }
+}
@@ -0,0 +1,159 @@
+package com.go.ski.lesson.support.assignment;
+
+import java.util.Arrays;
+
+// 한 팀의 하루 배정 결과를 들고 있으면서, 강사 한 명이 강습을 하나 더 받을 수 있는지 국소적으로 판단한다
+// 겹치는 팀 수업은 다른 강사에게 옮겨보고(augmenting path), 그래도 안되면 전체 배정을 다시 돌린다
+public class TeamDaySchedule {
+    private static final int MAX_REPAIR_DEPTH = 3;
+
+    private final LessonAssignmentEngine engine;
+    private final AssignmentProblem problem;
+    private final boolean solved;
+    private final long[] timeTables;
+    private final int[] assigned;
+
+    // 되돌리기용 이동 기록
+    private int[] movedLessons = new int[16];
+    private int[] movedFrom = new int[16];
+    private int moveCount;
+    // 자리를 비켜준 팀 수업들
+    private int[] evicted = new int[16];
+    private int evictedTop;
+
+    TeamDaySchedule(LessonAssignmentEngine engine, AssignmentProblem problem, boolean solved,
+                    long[] timeTables, int[] assigned) {
+        this.engine = engine;
+        this.problem = problem;
+        this.solved = solved;
+        this.timeTables = timeTables;
+        this.assigned = assigned;
+    }
+
+    public boolean isSolved() {
+        return solved;
+    }
+
+    long getTimeTable(int instructor) {
+        return timeTables[instructor];
+    }
+
+    AssignmentProblem getProblem() {
+        return problem;
+    }
+
+    // 강사(instructor 인덱스)에게 이미 디코딩된 지정 수업 하나를 더 줄 수 있는지 판단한다. 상태는 바뀌지 않는다
+    public boolean canTakeLesson(int instructor, int skill, long time, int duration, int end) {
+        if ((skill & problem.instructorSkills[instructor]) != skill) return false; // 강의가 불가능한 강사
+
+        if (solved) {
+            if ((timeTables[instructor] & time) == 0) return true; // 비어있는 시간이면 바로 가능
+            if (repair(instructor, time)) return true;
+        }
+
+        // 국소 수정으로 안되면 전체 배정을 다시 해본다
+        problem.addLesson(skill, time, duration, end, instructor);
+        try {
+            return engine.isFeasible(problem);
+        } finally {
+            problem.removeLastLesson();
+        }
+    }
+
+    private boolean repair(int instructor, long time) {
+        long saved = timeTables[instructor];
+        boolean repaired = false;
+        if (evict(instructor, time)) {
+            // 새 강습 자리를 잡아두고 밀려난 팀 수업들을 다른 강사에게 옮긴다
+            timeTables[instructor] |= time;
+            repaired = true;
+            for (int k = 0, end = evictedTop; k < end && repaired; k++) {
+                repaired = relocate(evicted[k], MAX_REPAIR_DEPTH - 1);
+            }
+        }
+        undo(0);
+        timeTables[instructor] = saved;
+        evictedTop = 0;
+        return repaired;
+    }
+
+    private boolean relocate(int lesson, int depth) {
+        int skill = problem.lessonSkills[lesson];
+        long time = problem.lessonTimes[lesson];
+        for (int j = 0; j < problem.instructorCount; j++) {
+            if ((skill & problem.instructorSkills[j]) == skill && (timeTables[j] & time) == 0) {
+                move(lesson, j);
+                return true;
+            }
+        }
+        if (depth == 0) return false;
+
+        for (int j = 0; j < problem.instructorCount; j++) {
+            if ((skill & problem.instructorSkills[j]) != skill) continue;
+
+            int mark = moveCount;
+            int start = evictedTop;
+            if (!evict(j, time)) continue;
+            move(lesson, j);
+
+            boolean relocated = true;
+            for (int k = start, end = evictedTop; k < end && relocated; k++) {
+                relocated = relocate(evicted[k], depth - 1);
+            }
+            if (relocated) return true;
+
+            undo(mark);
+            evictedTop = start;
+        }
+        return false;
+    }
+
+    // 강사의 time과 겹치는 팀 수업들을 모두 빼낸다. 지정 수업이나 자정 경계와 겹치면 아무것도 하지 않고 실패
+    private boolean evict(int instructor, long time) {
+        long blocked = timeTables[instructor] & time;
+        long movable = 0;
+        for (int l = 0; l < assigned.length; l++) {
+            if (assigned[l] == instructor && (problem.lessonTimes[l] & time) != 0) {
+                if (problem.lessonOwners[l] != AssignmentProblem.TEAM_LESSON) return false;
+                movable |= problem.lessonTimes[l];
+            }
+        }
+        if ((blocked & ~movable) != 0) return false;
+
+        for (int l = 0; l < assigned.length; l++) {
+            if (assigned[l] == instructor && (problem.lessonTimes[l] & time) != 0) {
+                move(l, -1);
+                if (evictedTop == evicted.length) evicted = Arrays.copyOf(evicted, evictedTop * 2);
+                evicted[evictedTop++] = l;
+            }
+        }
+        return true;
+    }
+
+    private void move(int lesson, int to) {
+        int from = assigned[lesson];
+        long time = problem.lessonTimes[lesson];
+        if (from >= 0) timeTables[from] &= ~time;
+        if (to >= 0) timeTables[to] |= time;
+        assigned[lesson] = to;
+
+        if (moveCount == movedLessons.length) {
+            movedLessons = Arrays.copyOf(movedLessons, moveCount * 2);
+            movedFrom = Arrays.copyOf(movedFrom, moveCount * 2);
+        }
+        movedLessons[moveCount] = lesson;
+        movedFrom[moveCount++] = from;
+    }
+
+    private void undo(int mark) {
+        while (moveCount > mark) {
+            moveCount--;
+            int lesson = movedLessons[moveCount];
+            int from = movedFrom[moveCount];
+            long time = problem.lessonTimes[lesson];
+            if (assigned[lesson] >= 0) timeTables[assigned[lesson]] &= ~time;
+            if (from >= 0) timeTables[from] |= time;
+            assigned[lesson] = from;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.go.ski.lesson.support.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 같은 팀-날짜의 예약 확정을 직렬화하기 위한 설정
+@ConfigurationProperties(prefix = "lesson.admission")
+public record LessonAdmissionConfig(
+        int stripes,
+        long leaseMillis,
+        long waitMillis
+) {
+}
@@ -0,0 +1,15 @@
+package com.go.ski.lesson.support.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 리조트 단위 강습 조회 시 팀별 배정 검사를 병렬로 돌리기 위한 설정
+@ConfigurationProperties(prefix = "lesson.search")
+public record LessonSearchConfig(
+        boolean parallel,
+        int poolSize,
+        int queueCapacity,
+        long deadlineMillis,
+        long availabilityTtlMillis,
+        long priceTtlMillis
+) {
+}
@@ -4,6 +4,7 @@ import com.go.ski.payment.core.model.Lesson;
 import com.go.ski.payment.core.model.LessonInfo;
 import lombok.Getter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Getter
@@ -20,4 +21,18 @@ public class InstructorLessonResponseDTO extends LessonResponseDTO {
         this.studentInfoResponseDTOs = studentInfoResponseDTOs;
         this.isDesignated = isDesignated;
     }
+
+    // LessonRepository.findInstructorLessons 프로젝션. 학생 정보는 한 페이지를 모아서 따로 채운다
+    public InstructorLessonResponseDTO(Integer lessonId, Integer teamId, String teamName, String resortName,
+                                       LocalDate lessonDate, String startTime, Integer duration, Integer lessonStatus,
+                                       String representativeName, Integer studentCount, Boolean isDesignated) {
+        super(lessonId, teamId, teamName, resortName, lessonDate, startTime, duration, lessonStatus);
+        this.representativeName = representativeName;
+        this.studentCount = studentCount;
+        this.isDesignated = isDesignated;
+    }
+
+    public void setStudentInfoResponseDTOs(List<StudentInfoResponseDTO> studentInfoResponseDTOs) {
+        this.studentInfoResponseDTOs = studentInfoResponseDTOs;
+    }
 }
@@ -38,6 +38,24 @@ public class LessonResponseDTO {
         lessonStatus = getLessonStatus(lessonInfo, LocalDateTime.now());
     }
 
+    // 목록 조회 쿼리에서 바로 만드는 생성자
+    public LessonResponseDTO(Integer lessonId, Integer teamId, String teamName, String resortName, LocalDate lessonDate,
+                             String startTime, Integer duration, Integer lessonStatus) {
+        this.lessonId = lessonId;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.resortName = resortName;
+        this.lessonDate = lessonDate;
+        this.startTime = startTime;
+        this.duration = duration;
+        this.lessonStatus = getLessonStatus(LessonInfo.builder()
+                .lessonDate(lessonDate)
+                .startTime(startTime)
+                .duration(duration)
+                .lessonStatus(lessonStatus)
+                .build(), LocalDateTime.now());
+    }
+
     public String getLessonStatus(LessonInfo lessonInfo, LocalDateTime currentDateTime) {
         return switch (lessonInfo.getLessonStatus()) {
             case 0 -> getLessonStatusForNotStarted(lessonInfo, currentDateTime);
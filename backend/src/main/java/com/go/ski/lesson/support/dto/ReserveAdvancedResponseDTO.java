@@ -1,7 +1,6 @@
 package com.go.ski.lesson.support.dto;
 
 import com.go.ski.lesson.support.vo.CertificateInfoVO;
-import com.go.ski.team.core.model.Permission;
 import com.go.ski.team.core.model.Team;
 import com.go.ski.user.core.model.Instructor;
 import com.go.ski.user.support.vo.Gender;
@@ -25,12 +24,12 @@ public class ReserveAdvancedResponseDTO extends ReserveResponseDTO {
     private Gender gender;
     private List<CertificateInfoVO> certificateInfoVOs;
 
-    public ReserveAdvancedResponseDTO(Instructor instructor, Team team, Permission permission, List<CertificateInfoVO> certificateInfoVOs) {
+    public ReserveAdvancedResponseDTO(Instructor instructor, Team team, Integer position, List<CertificateInfoVO> certificateInfoVOs) {
         instructorId = instructor.getInstructorId();
         teamId = team.getTeamId();
         teamName = team.getTeamName();
         userName = instructor.getUser().getUserName();
-        position = permission.getPosition();
+        this.position = position;
         description = instructor.getDescription();
         this.certificateInfoVOs = certificateInfoVOs;
         this.instructorUrl = instructor.getUser().getProfileUrl();
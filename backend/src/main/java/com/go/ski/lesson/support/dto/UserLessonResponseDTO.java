@@ -5,6 +5,8 @@ import com.go.ski.payment.core.model.LessonInfo;
 import com.go.ski.user.core.model.Instructor;
 import lombok.Getter;
 
+import java.time.LocalDate;
+
 @Getter
 public class UserLessonResponseDTO extends LessonResponseDTO {
     private Integer instructorId;
@@ -23,4 +25,17 @@ public class UserLessonResponseDTO extends LessonResponseDTO {
         this.studentCount = lessonInfo.getStudentCount();
         this.hasReview = hasReview;
     }
+
+    // LessonRepository.findUserLessons 프로젝션
+    public UserLessonResponseDTO(Integer lessonId, Integer teamId, String teamName, String resortName,
+                                 LocalDate lessonDate, String startTime, Integer duration, Integer lessonStatus,
+                                 Integer instructorId, String instructorName, String profileUrl,
+                                 Integer studentCount, Boolean hasReview) {
+        super(lessonId, teamId, teamName, resortName, lessonDate, startTime, duration, lessonStatus);
+        this.instructorId = instructorId;
+        this.instructorName = instructorName;
+        this.profileUrl = profileUrl;
+        this.studentCount = studentCount;
+        this.hasReview = hasReview;
+    }
 }
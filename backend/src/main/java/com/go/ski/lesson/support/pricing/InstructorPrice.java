@@ -0,0 +1,5 @@
+package com.go.ski.lesson.support.pricing;
+
+// 팀 안에서 강사의 순서와 지정 요금
+public record InstructorPrice(Integer instructorId, Integer position, Integer designatedCost) {
+}
@@ -0,0 +1,5 @@
+package com.go.ski.lesson.support.pricing;
+
+// 강습 한 건의 견적. cost는 강습 시간까지 반영한 총액
+public record PriceQuote(int basicFee, int peopleOptionFee, int levelOptionFee, int designatedFee, int cost) {
+}
@@ -0,0 +1,78 @@
+package com.go.ski.lesson.support.pricing;
+
+import com.go.ski.team.core.model.LevelOption;
+import com.go.ski.team.core.model.OneToNOption;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// 한 팀의 가격표. 팀 기본 요금, 1:N 옵션, 중고급 옵션, 강사별 지정 요금을 미리 모아둔 불변 객체
+// 견적은 이 표만 보고 계산하므로 조회 중에 I/O가 없다
+public final class TeamPriceTable {
+    private final int teamCost;
+    private final int[] peopleOptionFees; // 인원수 2, 3, 4, 5명 이상의 추가 요금
+    private final int intermediateFee;
+    private final int advancedFee;
+    private final Map<Integer, InstructorPrice> instructors;
+    private final long loadedAt;
+
+    public TeamPriceTable(int teamCost, OneToNOption oneToNOption, LevelOption levelOption,
+                          Collection<InstructorPrice> instructorPrices, long loadedAt) {
+        this.teamCost = teamCost;
+        this.peopleOptionFees = oneToNOption == null ? new int[4] : new int[]{
+                oneToNOption.getOneTwoFee(), oneToNOption.getOneThreeFee(),
+                oneToNOption.getOneFourFee(), oneToNOption.getOneNFee()};
+        this.intermediateFee = levelOption == null ? 0 : levelOption.getIntermediateFee();
+        this.advancedFee = levelOption == null ? 0 : levelOption.getAdvancedFee();
+        Map<Integer, InstructorPrice> instructors = new HashMap<>();
+        for (InstructorPrice instructorPrice : instructorPrices) {
+            instructors.put(instructorPrice.instructorId(), instructorPrice);
+        }
+        this.instructors = Map.copyOf(instructors);
+        this.loadedAt = loadedAt;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    public boolean hasInstructor(Integer instructorId) {
+        return instructors.containsKey(instructorId);
+    }
+
+    public Integer position(Integer instructorId) {
+        InstructorPrice instructorPrice = instructors.get(instructorId);
+        return instructorPrice != null ? instructorPrice.position() : null;
+    }
+
+    // 팀 단위(초급) 견적. 기본 요금에 1:N 요금이 포함되고 총액에 1:N 요금이 한 번 더 더해진다 (기존 계산 유지)
+    public PriceQuote quoteTeam(int studentCount, int duration) {
+        int peopleOptionFee = peopleOptionFee(studentCount);
+        int basicFee = teamCost + peopleOptionFee;
+        return new PriceQuote(basicFee, peopleOptionFee, 0, 0, (basicFee + peopleOptionFee) * duration);
+    }
+
+    // 강사 지정(중고급) 견적. 지정 요금은 시간과 관계없이 한 번만 더한다
+    public PriceQuote quoteInstructor(Integer instructorId, int studentCount, String level, int duration) {
+        int peopleOptionFee = peopleOptionFee(studentCount);
+        int basicFee = teamCost + peopleOptionFee;
+        int levelOptionFee = levelOptionFee(level);
+        InstructorPrice instructorPrice = instructors.get(instructorId);
+        int designatedFee = instructorPrice != null && instructorPrice.designatedCost() != null
+                ? instructorPrice.designatedCost() : 0;
+        return new PriceQuote(basicFee, peopleOptionFee, levelOptionFee, designatedFee,
+                (basicFee + peopleOptionFee + levelOptionFee) * duration + designatedFee);
+    }
+
+    private int peopleOptionFee(int studentCount) {
+        if (studentCount == 1) return 0;
+        return studentCount >= 2 && studentCount <= 4 ? peopleOptionFees[studentCount - 2] : peopleOptionFees[3];
+    }
+
+    private int levelOptionFee(String level) {
+        if ("INTERMEDIATE".equals(level)) return intermediateFee;
+        if ("ADVANCED".equals(level)) return advancedFee;
+        return 0;
+    }
+}
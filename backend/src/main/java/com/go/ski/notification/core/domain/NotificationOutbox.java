@@ -0,0 +1,49 @@
+package com.go.ski.notification.core.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 푸시 발송 대기열
+// 알림과 같은 트랜잭션에서 저장되고, 발송이 끝나면 지운다
+// availableAt: 대기 중이면 다음 시도 시각, 처리 중이면 점유 만료 시각
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationOutbox {
+    public static final int PENDING = 0;
+    public static final int CLAIMED = 1;
+    public static final int FAILED = 2;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long outboxId;
+
+    @Column(nullable = false)
+    private Integer notificationId;
+
+    @Column(nullable = false)
+    private Integer status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public static NotificationOutbox from(Notification notification) {
+        NotificationOutbox outbox = new NotificationOutbox();
+        outbox.notificationId = notification.getNotificationId();
+        outbox.status = PENDING;
+        outbox.attempts = 0;
+        outbox.createdAt = LocalDateTime.now();
+        outbox.availableAt = outbox.createdAt;
+        return outbox;
+    }
+}
@@ -0,0 +1,55 @@
+package com.go.ski.notification.core.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// 사용자별 알림 설정 비트마스크. 비트 n이 notification_type_id n
+// settingMask: 사용자 역할에 있는 알림 종류, enabledMask: 그중 켜져 있는 알림 종류
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationPreference {
+
+    @Id
+    private Integer userId;
+
+    @Column(nullable = false)
+    private Integer settingMask;
+
+    @Column(nullable = false)
+    private Integer enabledMask;
+
+    private LocalDateTime updatedAt;
+
+    // 가입할 때 역할의 알림을 모두 켠 상태로 만든다
+    public static NotificationPreference of(Integer userId, Collection<Integer> notificationTypes) {
+        NotificationPreference preference = new NotificationPreference();
+        preference.userId = userId;
+        preference.settingMask = maskOf(notificationTypes);
+        preference.enabledMask = preference.settingMask;
+        preference.updatedAt = LocalDateTime.now();
+        return preference;
+    }
+
+    public static int bitOf(Integer notificationType) {
+        if (notificationType == null || notificationType < 0 || notificationType > 30) {
+            throw new IllegalArgumentException("알림 종류는 0~30이어야 합니다 - " + notificationType);
+        }
+        return 1 << notificationType;
+    }
+
+    public static int maskOf(Collection<Integer> notificationTypes) {
+        int mask = 0;
+        for (Integer notificationType : notificationTypes) {
+            mask |= bitOf(notificationType);
+        }
+        return mask;
+    }
+}
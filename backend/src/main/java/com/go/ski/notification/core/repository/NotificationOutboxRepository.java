@@ -0,0 +1,38 @@
+package com.go.ski.notification.core.repository;
+
+import com.go.ski.notification.core.domain.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // 대기 중이거나 점유가 만료된 행을 잠근다. 다른 서버가 잠근 행은 건너뛰므로 서버끼리 나눠 가져간다
+    @Query(value = "SELECT * FROM notification_outbox " +
+            "WHERE status IN (0, 1) " +
+            "AND available_at <= :now " +
+            "ORDER BY outbox_id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<NotificationOutbox> findClaimable(LocalDateTime now, int limit);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o " +
+            "SET o.status = 1, o.attempts = o.attempts + 1, o.availableAt = :leaseUntil " +
+            "WHERE o.outboxId IN :outboxIds")
+    int claim(List<Long> outboxIds, LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o " +
+            "SET o.status = :status, o.availableAt = :availableAt " +
+            "WHERE o.outboxId IN :outboxIds")
+    int updateStatus(List<Long> outboxIds, Integer status, LocalDateTime availableAt);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.outboxId IN :outboxIds")
+    int deleteByOutboxIds(List<Long> outboxIds);
+}
@@ -0,0 +1,31 @@
+package com.go.ski.notification.core.repository;
+
+import com.go.ski.notification.core.domain.NotificationPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreference, Integer> {
+
+    // 켤 비트와 끌 비트를 한 번에 반영한다. 역할에 없는 알림 종류는 무시
+    @Modifying
+    @Query(value = "UPDATE notification_preference " +
+            "SET enabled_mask = ((enabled_mask | :enableMask) & ~:disableMask) & setting_mask, " +
+            "updated_at = NOW(6) " +
+            "WHERE user_id = :userId",
+            nativeQuery = true)
+    int updateEnabledMask(Integer userId, int enableMask, int disableMask);
+
+    // 비트마스크 행이 없는 사용자는 알림 종류별 설정 행으로 채운다
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO notification_preference (user_id, setting_mask, enabled_mask, updated_at) " +
+            "SELECT s.user_id, " +
+            "BIT_OR(1 << s.notification_type_id), " +
+            "BIT_OR(IF(s.notification_status, 1 << s.notification_type_id, 0)), " +
+            "NOW(6) " +
+            "FROM notification_setting s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM notification_preference p WHERE p.user_id = s.user_id) " +
+            "GROUP BY s.user_id",
+            nativeQuery = true)
+    int backfill();
+}
@@ -1,6 +1,9 @@
 package com.go.ski.notification.core.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.go.ski.common.exception.ApiExceptionFactory;
 import com.go.ski.notification.core.domain.DeviceType;
 import com.go.ski.notification.core.domain.Notification;
@@ -9,21 +12,18 @@ import com.go.ski.notification.support.exception.NotificationExceptionEnum;
 import com.go.ski.notification.support.generators.DmMessageGenerator;
 import com.go.ski.notification.support.generators.MessageGenerator;
 import com.go.ski.notification.support.generators.NotificationMessageGenerator;
+import com.go.ski.notification.support.vo.PushOutcome;
 import com.go.ski.user.core.model.User;
 import com.go.ski.user.core.repository.UserRepository;
 import com.go.ski.user.support.exception.UserExceptionEnum;
-import com.go.ski.user.support.vo.Role;
-import com.google.auth.oauth2.GoogleCredentials;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.http.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
-import java.io.IOException;
-import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -31,15 +31,18 @@ import java.util.List;
 public class FcmClient {
 
     private static final String PREFIX_ACCESS_TOKEN = "Bearer ";
-    private static final String PREFIX_FCM_REQUEST_URL = "https://fcm.googleapis.com/v1/projects/";
-    private static final String POSTFIX_FCM_REQUEST_URL = "/messages:send";
-    private static final String FIREBASE_KEY_PATH_STUDENT = "goSkiAccountKey.json";
-    private static final String FIREBASE_KEY_PATH_INSTRUCTOR = "goSkiAccountKey_instructor.json";
-    private static final String GOOGLE_AUTH_URL = "https://www.googleapis.com/auth/cloud-platform";
+    // 호스트와 /v1/projects/ 까지는 fcmWebClient의 baseUrl
+    private static final String FCM_REQUEST_URI = "/{projectId}/messages:send";
+    private static final String UNREGISTERED_ERROR = "UNREGISTERED";
+    private static final String INVALID_ARGUMENT_ERROR = "INVALID_ARGUMENT";
+    private static final String TOKEN_FIELD = "message.token";
+    private static final String TOKEN_MESSAGE = "registration token";
 
 
     private final ObjectMapper objectMapper;
     private final UserRepository userRepository;
+    private final FcmTokenProvider fcmTokenProvider;
+    private final WebClient fcmWebClient;
 
     public void sendMessageTo(MessageEvent messageEvent) {
         sendMessageTo(messageEvent.getReceiverId(), messageEvent.getDeviceType(),
@@ -57,47 +60,76 @@ public class FcmClient {
         String message = messageGenerator.makeMessage(targetToken, objectMapper);
         log.info("targetToken - {}",targetToken);
 
-        RestTemplate restTemplate = new RestTemplate();
+        String projectId = fcmTokenProvider.getProjectId(user.getRole());
+        PushOutcome outcome = send(projectId, fcmTokenProvider.getAccessToken(user.getRole()), message).block();
+        log.info("FcmService - response : {}", outcome);
 
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
-        httpHeaders.add(HttpHeaders.AUTHORIZATION, PREFIX_ACCESS_TOKEN + getAccessToken(user));
-
-        HttpEntity<String> httpEntity = new HttpEntity<>(message, httpHeaders);
-
-        String projectId = user.getRole().equals(Role.STUDENT) ?
-                            "goski-student" : "goski-instructor";
-
-        String fcmRequestUrl = PREFIX_FCM_REQUEST_URL + projectId + POSTFIX_FCM_REQUEST_URL;
-
-        ResponseEntity<String> response = restTemplate.exchange(
-                fcmRequestUrl,
-                HttpMethod.POST,
-                httpEntity,
-                String.class
-        );
+        if (outcome != PushOutcome.SENT) {
+            throw ApiExceptionFactory.fromExceptionEnum(NotificationExceptionEnum.FIREBASE_CONNECTION_ERROR);
+        }
+    }
 
-        log.info("FcmService - response : {}", response.getStatusCode());
+    // 한 건을 보내고 결과를 돌려준다. 실패해도 예외 대신 결과로 알려준다
+    public Mono<PushOutcome> send(String projectId, String accessToken, String message) {
+        return fcmWebClient.post()
+                .uri(FCM_REQUEST_URI, projectId)
+                .header(HttpHeaders.AUTHORIZATION, PREFIX_ACCESS_TOKEN + accessToken)
+                .bodyValue(message)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.releaseBody().thenReturn(PushOutcome.SENT);
+                    }
+                    return response.bodyToMono(String.class)
+                            .defaultIfEmpty("")
+                            .map(body -> toOutcome(response.statusCode(), body))
+                            .doOnNext(outcome -> {
+                                if (outcome == PushOutcome.UNAUTHORIZED) {
+                                    fcmTokenProvider.invalidate(projectId, accessToken);
+                                }
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.warn("FCM 요청 실패 - {}", e.getMessage());
+                    return Mono.just(PushOutcome.FAILED);
+                });
+    }
 
-        if (response.getStatusCode().isError()) {
-            throw ApiExceptionFactory.fromExceptionEnum(NotificationExceptionEnum.FIREBASE_CONNECTION_ERROR);
+    // 토큰을 지울지는 본문의 FCM errorCode로만 정한다. 프로젝트 id나 경로가 틀려도 404가 오기 때문
+    // UNREGISTERED, 받는 토큰에 대한 INVALID_ARGUMENT는 더 이상 쓸 수 없는 토큰
+    // 401, 403은 액세스 토큰 문제라서 토큰을 새로 받고 다시 시도, 429와 5xx는 잠시 후 다시 시도
+    private PushOutcome toOutcome(HttpStatusCode status, String body) {
+        JsonNode error = error(body);
+        String errorCode = null;
+        boolean tokenViolation = error.path("message").asText().contains(TOKEN_MESSAGE);
+        for (JsonNode detail : error.path("details")) {
+            if (detail.hasNonNull("errorCode")) {
+                errorCode = detail.get("errorCode").asText();
+            }
+            for (JsonNode violation : detail.path("fieldViolations")) {
+                tokenViolation |= TOKEN_FIELD.equals(violation.path("field").asText());
+            }
+        }
+        if (UNREGISTERED_ERROR.equals(errorCode) || (INVALID_ARGUMENT_ERROR.equals(errorCode) && tokenViolation)) {
+            return PushOutcome.UNREGISTERED;
         }
+        if (status.value() == 401 || status.value() == 403) {
+            log.warn("FCM 인증 실패, 액세스 토큰 갱신 - {} {}", status, body);
+            return PushOutcome.UNAUTHORIZED;
+        }
+        if (status.value() == 429 || status.is5xxServerError()) {
+            log.warn("FCM 일시 오류 - {} {}", status, body);
+            return PushOutcome.FAILED;
+        }
+        log.warn("FCM 요청 거절 - {} {}", status, body);
+        return PushOutcome.REJECTED;
     }
 
-    private String getAccessToken(User user) {
+    private JsonNode error(String body) {
         try {
-            String FIREBASE_KEY_PATH = user.getRole().equals(Role.STUDENT) ?
-                    FIREBASE_KEY_PATH_STUDENT : FIREBASE_KEY_PATH_INSTRUCTOR;
-            GoogleCredentials googleCredentials = GoogleCredentials
-                    .fromStream(new ClassPathResource(FIREBASE_KEY_PATH).getInputStream())
-                    .createScoped(List.of(GOOGLE_AUTH_URL));
-
-            googleCredentials.refreshIfExpired();
-            return googleCredentials.getAccessToken().getTokenValue();
-        } catch (IOException e) {
-            throw ApiExceptionFactory.fromExceptionEnum(NotificationExceptionEnum.GOOGLE_REQUEST_TOKEN_ERROR);
+            return objectMapper.readTree(body).path("error");
+        } catch (JsonProcessingException e) {
+            return MissingNode.getInstance();
         }
-
     }
 
     public String getFcmToken(User user, DeviceType type) {
@@ -0,0 +1,188 @@
+package com.go.ski.notification.core.service;
+
+import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.notification.support.exception.NotificationExceptionEnum;
+import com.go.ski.user.support.vo.Role;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// FCM 프로젝트(학생, 강사)별 OAuth 액세스 토큰
+// 서비스 계정 키는 시작할 때 한 번만 읽고, 토큰은 만료 전에 전용 스레드에서 미리 갱신한다
+// 알림을 보내는 쪽은 들고 있는 토큰을 바로 가져가고, 토큰이 없거나 만료된 경우에만 직접 갱신한다
+// FCM이 토큰을 거절하면(401, 403) 버리고 다시 받는다
+// 프로젝트별 갱신 시간, 갱신 실패 수, 토큰 나이는 goski.fcm.token.* 지표로 남긴다
+@Slf4j
+@Component
+public class FcmTokenProvider {
+    private static final String GOOGLE_AUTH_URL = "https://www.googleapis.com/auth/cloud-platform";
+    private static final long CHECK_INTERVAL_SECONDS = 60;
+    // 만료까지 이 시간보다 적게 남으면 갱신
+    private static final long REFRESH_AHEAD_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Map<Project, ProjectToken> tokens = new LinkedHashMap<>();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fcm-token-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FcmTokenProvider(MeterRegistry meterRegistry) {
+        for (Project project : Project.values()) {
+            ProjectToken projectToken = new ProjectToken(project,
+                    Timer.builder("goski.fcm.token.refresh").tag("project", project.projectId).register(meterRegistry),
+                    Counter.builder("goski.fcm.token.refresh.failures").tag("project", project.projectId).register(meterRegistry));
+            // 토큰이 없으면 NaN
+            Gauge.builder("goski.fcm.token.age", projectToken, ProjectToken::ageSeconds)
+                    .tag("project", project.projectId)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            tokens.put(project, projectToken);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        refresher.scheduleWithFixedDelay(this::refreshExpiring, 0, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    public String getProjectId(Role role) {
+        return Project.of(role).projectId;
+    }
+
+    public String getAccessToken(Role role) {
+        ProjectToken projectToken = tokens.get(Project.of(role));
+        AccessToken accessToken = projectToken.current;
+        if (isUsable(accessToken)) {
+            return accessToken.getTokenValue();
+        }
+        // 백그라운드 갱신이 아직 안 됐거나 실패한 경우
+        return projectToken.refresh().getTokenValue();
+    }
+
+    // FCM이 이 액세스 토큰을 거절했으면 버리고 바로 새로 받는다
+    // 같은 토큰으로 보낸 요청이 여러 건 거절돼도 처음 한 번만 버린다
+    public void invalidate(String projectId, String accessToken) {
+        for (ProjectToken projectToken : tokens.values()) {
+            if (projectToken.project.projectId.equals(projectId) && projectToken.invalidate(accessToken)) {
+                log.warn("FCM 액세스 토큰 거절, 다시 받는다 - {}", projectId);
+                refresher.execute(this::refreshExpiring);
+            }
+        }
+    }
+
+    private void refreshExpiring() {
+        for (ProjectToken projectToken : tokens.values()) {
+            if (!needsRefresh(projectToken.current)) continue;
+            try {
+                projectToken.refresh();
+            } catch (RuntimeException e) {
+                // 다음 주기에 다시 시도
+                log.warn("FCM 토큰 갱신 실패 - {}", projectToken.project.projectId, e);
+            }
+        }
+    }
+
+    private static boolean isUsable(AccessToken accessToken) {
+        return accessToken != null && (accessToken.getExpirationTime() == null
+                || accessToken.getExpirationTime().getTime() > System.currentTimeMillis());
+    }
+
+    private static boolean needsRefresh(AccessToken accessToken) {
+        return accessToken == null || (accessToken.getExpirationTime() != null
+                && accessToken.getExpirationTime().getTime() - System.currentTimeMillis() <= REFRESH_AHEAD_MILLIS);
+    }
+
+    private enum Project {
+        STUDENT("goski-student", "goSkiAccountKey.json"),
+        INSTRUCTOR("goski-instructor", "goSkiAccountKey_instructor.json");
+
+        private final String projectId;
+        private final String keyPath;
+
+        Project(String projectId, String keyPath) {
+            this.projectId = projectId;
+            this.keyPath = keyPath;
+        }
+
+        static Project of(Role role) {
+            return Role.STUDENT.equals(role) ? STUDENT : INSTRUCTOR;
+        }
+    }
+
+    private static final class ProjectToken {
+        private final Project project;
+        private final Timer refreshTimer;
+        private final Counter failureCounter;
+        private GoogleCredentials credentials;
+        private volatile AccessToken current;
+        private volatile long issuedAt;
+
+        ProjectToken(Project project, Timer refreshTimer, Counter failureCounter) {
+            this.project = project;
+            this.refreshTimer = refreshTimer;
+            this.failureCounter = failureCounter;
+        }
+
+        // 같은 프로젝트의 갱신은 한 번에 하나만. 기다린 쪽은 방금 받은 토큰을 쓴다
+        synchronized AccessToken refresh() {
+            if (!needsRefresh(current)) return current;
+            long start = System.nanoTime();
+            try {
+                if (credentials == null) {
+                    try (InputStream inputStream = new ClassPathResource(project.keyPath).getInputStream()) {
+                        credentials = GoogleCredentials.fromStream(inputStream).createScoped(List.of(GOOGLE_AUTH_URL));
+                    }
+                }
+                AccessToken accessToken = credentials.refreshAccessToken();
+                current = accessToken;
+                issuedAt = System.currentTimeMillis();
+                long elapsedNanos = System.nanoTime() - start;
+                refreshTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                log.info("FCM 토큰 갱신 - {}, {}ms, 만료: {}", project.projectId, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        accessToken.getExpirationTime());
+                return accessToken;
+            } catch (IOException e) {
+                failureCounter.increment();
+                if (isUsable(current)) {
+                    // 아직 쓸 수 있는 토큰이 있으면 그대로 쓴다
+                    log.warn("FCM 토큰 갱신 실패, 이전 토큰 사용 - {}", project.projectId, e);
+                    return current;
+                }
+                throw ApiExceptionFactory.fromExceptionEnum(NotificationExceptionEnum.GOOGLE_REQUEST_TOKEN_ERROR);
+            }
+        }
+
+        synchronized boolean invalidate(String accessToken) {
+            if (current == null || !current.getTokenValue().equals(accessToken)) return false;
+            current = null;
+            return true;
+        }
+
+        double ageSeconds() {
+            return current != null ? (System.currentTimeMillis() - issuedAt) / 1000.0 : Double.NaN;
+        }
+    }
+}
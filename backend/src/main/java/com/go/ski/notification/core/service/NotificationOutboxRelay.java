@@ -0,0 +1,185 @@
+package com.go.ski.notification.core.service;
+
+import com.go.ski.notification.core.domain.Notification;
+import com.go.ski.notification.core.domain.NotificationOutbox;
+import com.go.ski.notification.core.domain.NotificationPreference;
+import com.go.ski.notification.core.repository.NotificationOutboxRepository;
+import com.go.ski.notification.core.repository.NotificationRepository;
+import com.go.ski.notification.support.config.NotificationOutboxConfig;
+import com.go.ski.notification.support.generators.DmMessageGenerator;
+import com.go.ski.notification.support.generators.MessageGenerator;
+import com.go.ski.notification.support.generators.NotificationMessageGenerator;
+import com.go.ski.notification.support.vo.PushOutcome;
+import com.go.ski.notification.support.vo.PushTarget;
+import com.go.ski.user.core.model.User;
+import com.go.ski.user.core.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 발송 대기열(notification_outbox)을 읽어 푸시를 보낸다
+// 행은 SKIP LOCKED로 잠가서 점유하므로 여러 서버가 같은 대기열을 나눠 처리한다
+// 점유한 서버가 죽으면 점유 시간이 지난 뒤 다른 서버가 다시 가져간다 (최소 한 번 발송)
+// 일시적으로 실패한 행은 retryDelayMillis 뒤에 다시 시도하고, maxAttempts를 넘기면 실패로 남긴다
+// 받는 사람별 결과(PushOutcome)는 배치마다 로그로 남긴다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxRelay {
+    private static final Integer DM_NOTIFICATION_TYPE = 9;
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationPreferenceCache notificationPreferenceCache;
+    private final UserRepository userRepository;
+    private final PushDispatcher pushDispatcher;
+    private final NotificationOutboxConfig notificationOutboxConfig;
+    private final PlatformTransactionManager transactionManager;
+
+    @Scheduled(fixedDelayString = "${push.outbox.poll-millis}")
+    public void relay() {
+        List<NotificationOutbox> claimed;
+        // 가득 찬 배치를 가져왔으면 밀린 행이 더 있으므로 바로 이어서 가져간다
+        do {
+            LocalDateTime leaseUntil = LocalDateTime.now().plusNanos(
+                    TimeUnit.MILLISECONDS.toNanos(notificationOutboxConfig.leaseMillis()));
+            claimed = claim(leaseUntil);
+            if (!claimed.isEmpty()) {
+                dispatch(claimed, leaseUntil);
+            }
+        } while (claimed.size() >= notificationOutboxConfig.batchSize());
+    }
+
+    // 짧은 트랜잭션으로 잠그고 점유 표시만 한다. 발송은 트랜잭션 밖에서
+    private List<NotificationOutbox> claim(LocalDateTime leaseUntil) {
+        return transaction().execute(status -> {
+            List<NotificationOutbox> claimable = notificationOutboxRepository.findClaimable(
+                    LocalDateTime.now(), notificationOutboxConfig.batchSize());
+            if (!claimable.isEmpty()) {
+                notificationOutboxRepository.claim(
+                        claimable.stream().map(NotificationOutbox::getOutboxId).toList(), leaseUntil);
+            }
+            return claimable;
+        });
+    }
+
+    // 배치 안의 알림, 알림 설정, 보낸 사람 이름을 한 번씩만 읽고 한꺼번에 보낸다
+    private void dispatch(List<NotificationOutbox> claimed, LocalDateTime leaseUntil) {
+        Map<Integer, Notification> notifications = notificationRepository.findAllById(
+                        claimed.stream().map(NotificationOutbox::getNotificationId).toList())
+                .stream()
+                .collect(Collectors.toMap(Notification::getNotificationId, Function.identity()));
+        Map<Integer, Integer> enabledMasks = notificationPreferenceCache.getEnabledMasks(
+                notifications.values().stream().map(Notification::getReceiverId).toList());
+        Map<Integer, String> senderNames = findSenderNames(notifications.values());
+
+        Map<PushOutcome, List<Long>> results = new EnumMap<>(PushOutcome.class);
+        List<NotificationOutbox> sending = new ArrayList<>();
+        List<PushTarget> targets = new ArrayList<>();
+        for (NotificationOutbox outbox : claimed) {
+            Notification notification = notifications.get(outbox.getNotificationId());
+            // 지워진 알림
+            if (notification == null) {
+                results.computeIfAbsent(PushOutcome.REJECTED, outcome -> new ArrayList<>()).add(outbox.getOutboxId());
+                continue;
+            }
+            if ((enabledMasks.get(notification.getReceiverId())
+                    & NotificationPreference.bitOf(notification.getNotificationType())) == 0) {
+                results.computeIfAbsent(PushOutcome.DISABLED, outcome -> new ArrayList<>()).add(outbox.getOutboxId());
+                continue;
+            }
+            sending.add(outbox);
+            targets.add(new PushTarget(notification.getReceiverId(), notification.getDeviceType(),
+                    messageGenerator(notification, senderNames)));
+        }
+
+        List<PushOutcome> outcomes = send(targets, leaseUntil);
+        for (int i = 0; i < sending.size(); i++) {
+            results.computeIfAbsent(outcomes.get(i), outcome -> new ArrayList<>()).add(sending.get(i).getOutboxId());
+        }
+
+        // 다시 시도할 건 FAILED뿐이고, 나머지 결과는 다시 보내도 같으므로 대기열에서 지운다
+        List<Long> done = new ArrayList<>();
+        List<Long> retry = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        Map<Long, NotificationOutbox> byId = claimed.stream()
+                .collect(Collectors.toMap(NotificationOutbox::getOutboxId, Function.identity()));
+        results.forEach((outcome, outboxIds) -> {
+            if (!outcome.isRetryable()) {
+                done.addAll(outboxIds);
+                return;
+            }
+            for (Long outboxId : outboxIds) {
+                if (byId.get(outboxId).getAttempts() + 1 >= notificationOutboxConfig.maxAttempts()) {
+                    failed.add(outboxId);
+                } else {
+                    retry.add(outboxId);
+                }
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        transaction().executeWithoutResult(status -> {
+            if (!done.isEmpty()) {
+                notificationOutboxRepository.deleteByOutboxIds(done);
+            }
+            if (!retry.isEmpty()) {
+                notificationOutboxRepository.updateStatus(retry, NotificationOutbox.PENDING,
+                        now.plusNanos(TimeUnit.MILLISECONDS.toNanos(notificationOutboxConfig.retryDelayMillis())));
+            }
+            if (!failed.isEmpty()) {
+                notificationOutboxRepository.updateStatus(failed, NotificationOutbox.FAILED, now);
+            }
+        });
+
+        Map<PushOutcome, Integer> counts = new EnumMap<>(PushOutcome.class);
+        results.forEach((outcome, outboxIds) -> counts.put(outcome, outboxIds.size()));
+        log.info("푸시 발송 대기열 - {}건 {}, 재시도 {}건, 실패 {}건", claimed.size(), counts, retry.size(), failed.size());
+    }
+
+    // 점유 시간 안에 끝나지 않은 건은 FAILED로 돌아온다. 늦게라도 보내졌다면 한 번 더 갈 수 있다
+    private List<PushOutcome> send(List<PushTarget> targets, LocalDateTime leaseUntil) {
+        Duration timeout = Duration.between(LocalDateTime.now(), leaseUntil);
+        try {
+            return pushDispatcher.sendAll(targets, timeout.isNegative() ? Duration.ZERO : timeout);
+        } catch (RuntimeException e) {
+            // FCM 액세스 토큰을 못 받은 경우 등. 배치 전체를 다시 시도한다
+            log.warn("푸시 일괄 발송 실패 - {}건", targets.size(), e);
+            return Collections.nCopies(targets.size(), PushOutcome.FAILED);
+        }
+    }
+
+    private MessageGenerator messageGenerator(Notification notification, Map<Integer, String> senderNames) {
+        if (DM_NOTIFICATION_TYPE.equals(notification.getNotificationType())) {
+            return new DmMessageGenerator(notification, senderNames.get(notification.getSenderId()));
+        }
+        return new NotificationMessageGenerator(notification);
+    }
+
+    private Map<Integer, String> findSenderNames(Collection<Notification> notifications) {
+        Set<Integer> senderIds = notifications.stream()
+                .map(Notification::getSenderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (senderIds.isEmpty()) return Map.of();
+        Map<Integer, String> senderNames = new HashMap<>();
+        for (User sender : userRepository.findAllById(senderIds)) {
+            senderNames.put(sender.getUserId(), sender.getUserName());
+        }
+        return senderNames;
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
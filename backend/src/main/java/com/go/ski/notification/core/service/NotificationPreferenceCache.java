@@ -0,0 +1,142 @@
+package com.go.ski.notification.core.service;
+
+import com.go.ski.notification.core.domain.NotificationPreference;
+import com.go.ski.notification.core.repository.NotificationPreferenceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 사용자별 알림 설정 비트마스크를 서버 메모리에 들고 있는다
+// 알림을 보낼지는 비트 하나로 판단하고, 배치 발송 때 없는 사용자만 한 번의 조회로 채운다
+// 설정이 바뀌면 커밋 후 Redis 채널로 사용자 id를 알려서 모든 서버가 자기 캐시에서 지운다
+// Redis 메시지를 놓친 경우를 위해 항목은 TTL_MILLIS가 지나면 다시 읽는다
+// 적중/미스 수와 항목 수는 goski.cache.gets, goski.cache.size 지표로 남긴다
+@Slf4j
+@Component
+public class NotificationPreferenceCache implements MessageListener {
+    private static final String INVALIDATE_CHANNEL = "notificationPreference:invalidate";
+    private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    // 넘으면 통째로 비운다
+    private static final int MAX_ENTRIES = 100000;
+
+    private final NotificationPreferenceRepository notificationPreferenceRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public NotificationPreferenceCache(NotificationPreferenceRepository notificationPreferenceRepository,
+                                       StringRedisTemplate stringRedisTemplate,
+                                       RedisMessageListenerContainer redisMessageListenerContainer,
+                                       MeterRegistry meterRegistry) {
+        this.notificationPreferenceRepository = notificationPreferenceRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.hits = cacheGets(meterRegistry, "hit");
+        this.misses = cacheGets(meterRegistry, "miss");
+        Gauge.builder("goski.cache.size", entries, Map::size)
+                .tag("cache", "notificationPreference")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    public boolean isEnabled(Integer userId, Integer notificationType) {
+        return (getEnabledMasks(List.of(userId)).get(userId) & NotificationPreference.bitOf(notificationType)) != 0;
+    }
+
+    // 설정 행이 없는 사용자는 0 (모두 꺼짐)
+    public Map<Integer, Integer> getEnabledMasks(Collection<Integer> userIds) {
+        Map<Integer, Integer> masks = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Integer userId : new LinkedHashSet<>(userIds)) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.loadedAt() + TTL_MILLIS > now) {
+                hits.increment();
+                masks.put(userId, entry.enabledMask());
+            } else {
+                misses.increment();
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) return masks;
+
+        for (Integer userId : missing) {
+            masks.put(userId, 0);
+        }
+        for (NotificationPreference preference : notificationPreferenceRepository.findAllById(missing)) {
+            masks.put(preference.getUserId(), preference.getEnabledMask());
+        }
+        if (entries.size() + missing.size() > MAX_ENTRIES) {
+            entries.clear();
+        }
+        for (Integer userId : missing) {
+            entries.put(userId, new Entry(masks.get(userId), now));
+        }
+        return masks;
+    }
+
+    // 설정을 바꾼 트랜잭션이 커밋된 뒤에 모든 서버의 캐시에서 지운다
+    public void invalidate(Integer userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishInvalidation(userId);
+                }
+            });
+        } else {
+            publishInvalidation(userId);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            entries.remove(Integer.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("알림 설정 캐시 무효화 메시지 형식 오류 - {}", message);
+        }
+    }
+
+    private void publishInvalidation(Integer userId) {
+        entries.remove(userId);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, userId.toString());
+        } catch (RuntimeException e) {
+            // 다른 서버는 TTL이 지나면 반영된다
+            log.warn("알림 설정 캐시 무효화 전파 실패 - userId: {}", userId, e);
+        }
+    }
+
+    private static Counter cacheGets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("goski.cache.gets")
+                .tag("cache", "notificationPreference")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(int enabledMask, long loadedAt) {
+    }
+}
@@ -3,7 +3,8 @@ package com.go.ski.notification.core.service;
 import com.go.ski.common.util.S3Uploader;
 import com.go.ski.notification.core.domain.Notification;
 import com.go.ski.notification.core.repository.NotificationRepository;
-import com.go.ski.notification.core.repository.NotificationSettingRepository;
+import com.go.ski.notification.core.domain.NotificationPreference;
+import com.go.ski.notification.core.repository.NotificationPreferenceRepository;
 import com.go.ski.notification.support.EventPublisher;
 import com.go.ski.notification.support.dto.*;
 import com.go.ski.notification.support.exception.NotificationExceptionEnum;
@@ -22,10 +23,13 @@ import com.go.ski.user.support.exception.UserExceptionEnum;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.go.ski.common.constant.FileUploadPath.NOTIFICATION_IMAGE_PATH;
@@ -40,10 +44,21 @@ public class NotificationService {
     private final TeamInstructorRepository teamInstructorRepository;
     private final InstructorRepository instructorRepository;
     private final NotificationRepository notificationRepository;
-    private final NotificationSettingRepository notificationSettingRepository;
+    private final NotificationPreferenceRepository notificationPreferenceRepository;
+    private final NotificationPreferenceCache notificationPreferenceCache;
     private final S3Uploader s3Uploader;
     private final EventPublisher eventPublisher;
 
+    // 비트마스크 행이 생기기 전에 저장된 알림 설정을 시작할 때 한 번 옮긴다
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillNotificationPreferences() {
+        int backfilled = notificationPreferenceRepository.backfill();
+        if (backfilled > 0) {
+            log.info("알림 설정 비트마스크 backfill - {}명", backfilled);
+        }
+    }
+
     @Transactional
     public void registerFcmToken(User user, FcmTokenRequestDTO requestDTO) {
         String token = requestDTO.getToken();
@@ -105,16 +120,32 @@ public class NotificationService {
     }
 
     public List<NotificationSettingResponseDTO> getNotifications(User user) {
-        return notificationSettingRepository.findByUser(user);
+        List<NotificationSettingResponseDTO> settings = new ArrayList<>();
+        notificationPreferenceRepository.findById(user.getUserId()).ifPresent(preference -> {
+            for (int notificationType = 0; notificationType < Integer.SIZE - 1; notificationType++) {
+                int bit = NotificationPreference.bitOf(notificationType);
+                if ((preference.getSettingMask() & bit) != 0) {
+                    settings.add(new NotificationSettingResponseDTO(notificationType, (preference.getEnabledMask() & bit) != 0));
+                }
+            }
+        });
+        return settings;
     }
 
+    // 켤 종류와 끌 종류를 비트마스크로 모아 한 번에 반영한다
     @Transactional
     public void setNotifications(NotificationSettingRequestDTO setNotificationRequestDTO, User user) {
-        List<NotificationSettingVO> notificationTypes = setNotificationRequestDTO.getNotificationTypes();
-        for(NotificationSettingVO vo : notificationTypes) {
-            notificationSettingRepository.updateNotificationStatus(vo.getNotificationType(), vo.getStatus(), user.getUserId());
+        int enableMask = 0;
+        int disableMask = 0;
+        for(NotificationSettingVO vo : setNotificationRequestDTO.getNotificationTypes()) {
+            if (Boolean.TRUE.equals(vo.getStatus())) {
+                enableMask |= NotificationPreference.bitOf(vo.getNotificationType());
+            } else {
+                disableMask |= NotificationPreference.bitOf(vo.getNotificationType());
+            }
         }
-
+        notificationPreferenceRepository.updateEnabledMask(user.getUserId(), enableMask, disableMask);
+        notificationPreferenceCache.invalidate(user.getUserId());
     }
 
     public Team getTeam(Integer teamId){
@@ -0,0 +1,125 @@
+package com.go.ski.notification.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.go.ski.notification.core.domain.DeviceType;
+import com.go.ski.notification.support.config.PushDispatchConfig;
+import com.go.ski.notification.support.vo.PushOutcome;
+import com.go.ski.notification.support.vo.PushTarget;
+import com.go.ski.user.core.model.User;
+import com.go.ski.user.core.repository.UserRepository;
+import com.go.ski.user.support.vo.Role;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+
+// 여러 받는 사람에게 가는 푸시를 한 번에 보낸다
+// 받는 사람의 FCM 토큰은 한 번의 조회로 읽고, 요청은 커넥션 풀(HTTP/2 스트림) 위로 concurrency개까지 동시에 보낸다
+// FCM v1 API에는 다건 발송 API가 없으므로 받는 사람마다 요청 하나씩이다
+// 만료된 토큰(UNREGISTERED)은 사용자 정보에서 지워서 다음부터 보내지 않는다
+// 결과별 발송 수는 goski.push.sends 지표로 남긴다
+@Slf4j
+@Component
+public class PushDispatcher {
+    private final FcmClient fcmClient;
+    private final FcmTokenProvider fcmTokenProvider;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final PushDispatchConfig pushDispatchConfig;
+    private final PlatformTransactionManager transactionManager;
+    private final Map<PushOutcome, Counter> outcomes = new EnumMap<>(PushOutcome.class);
+
+    public PushDispatcher(FcmClient fcmClient, FcmTokenProvider fcmTokenProvider, UserRepository userRepository,
+                          ObjectMapper objectMapper, PushDispatchConfig pushDispatchConfig,
+                          PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.fcmClient = fcmClient;
+        this.fcmTokenProvider = fcmTokenProvider;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.pushDispatchConfig = pushDispatchConfig;
+        this.transactionManager = transactionManager;
+        for (PushOutcome outcome : PushOutcome.values()) {
+            outcomes.put(outcome, Counter.builder("goski.push.sends")
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // 받는 사람별 결과를 targets와 같은 순서로 돌려준다. timeout 안에 끝나지 않은 건은 FAILED
+    public List<PushOutcome> sendAll(List<PushTarget> targets, Duration timeout) {
+        if (targets.isEmpty()) return List.of();
+
+        Map<Integer, User> receivers = new HashMap<>();
+        for (User user : userRepository.findAllById(targets.stream().map(PushTarget::receiverId).distinct().toList())) {
+            receivers.put(user.getUserId(), user);
+        }
+        // 액세스 토큰은 프로젝트(역할)마다 한 번만 꺼낸다
+        Map<Role, String> accessTokens = new EnumMap<>(Role.class);
+
+        List<Mono<PushOutcome>> requests = new ArrayList<>(targets.size());
+        for (PushTarget target : targets) {
+            User receiver = receivers.get(target.receiverId());
+            String token = receiver != null ? fcmToken(receiver, target.deviceType()) : null;
+            if (token == null || token.isBlank()) {
+                requests.add(Mono.just(PushOutcome.NO_TOKEN));
+                continue;
+            }
+            String message;
+            try {
+                message = target.messageGenerator().makeMessage(token, objectMapper);
+            } catch (RuntimeException e) {
+                log.warn("푸시 메시지 생성 실패 - receiverId: {}", target.receiverId(), e);
+                requests.add(Mono.just(PushOutcome.REJECTED));
+                continue;
+            }
+            String accessToken = accessTokens.computeIfAbsent(receiver.getRole(), fcmTokenProvider::getAccessToken);
+            requests.add(fcmClient.send(fcmTokenProvider.getProjectId(receiver.getRole()), accessToken, message)
+                    .timeout(timeout, Mono.just(PushOutcome.FAILED)));
+        }
+
+        List<PushOutcome> results = Flux.fromIterable(requests)
+                .flatMapSequential(request -> request, Math.max(pushDispatchConfig.concurrency(), 1))
+                .collectList()
+                .block();
+
+        List<PushTarget> unregistered = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            outcomes.get(results.get(i)).increment();
+            if (results.get(i) == PushOutcome.UNREGISTERED) {
+                unregistered.add(targets.get(i));
+            }
+        }
+        pruneTokens(unregistered, receivers);
+        return results;
+    }
+
+    private void pruneTokens(List<PushTarget> unregistered, Map<Integer, User> receivers) {
+        if (unregistered.isEmpty()) return;
+        transaction().executeWithoutResult(status -> {
+            for (PushTarget target : unregistered) {
+                String token = fcmToken(receivers.get(target.receiverId()), target.deviceType());
+                if (DeviceType.WEB.equals(target.deviceType())) {
+                    userRepository.clearFcmWeb(target.receiverId(), token);
+                } else {
+                    userRepository.clearFcmMobile(target.receiverId(), token);
+                }
+            }
+        });
+        log.info("만료된 FCM 토큰 삭제 - {}건", unregistered.size());
+    }
+
+    private static String fcmToken(User user, DeviceType deviceType) {
+        return DeviceType.WEB.equals(deviceType) ? user.getFcmWeb() : user.getFcmMobile();
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
@@ -2,87 +2,65 @@ package com.go.ski.notification.support;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.go.ski.common.exception.ApiExceptionFactory;
 import com.go.ski.notification.core.domain.Notification;
+import com.go.ski.notification.core.domain.NotificationOutbox;
+import com.go.ski.notification.core.repository.NotificationOutboxRepository;
 import com.go.ski.notification.core.repository.NotificationRepository;
-import com.go.ski.notification.core.repository.NotificationSettingRepository;
-import com.go.ski.notification.core.service.FcmClient;
 import com.go.ski.notification.support.events.LessonAlertEvent;
 import com.go.ski.notification.support.events.MessageEvent;
 import com.go.ski.notification.support.events.NotificationEvent;
-import com.go.ski.notification.support.exception.NotificationExceptionEnum;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionalEventListener;
 
+// 알림과 발송 대기열(notification_outbox) 행을 이벤트를 발행한 트랜잭션 안에서 같이 저장한다
+// 업무 변경이 커밋되면 알림도 남고, 롤백되면 같이 사라진다. 발송은 NotificationOutboxRelay가 한다
+// 트랜잭션 밖에서 발행된 이벤트(강습 30분 전 알림)는 새 트랜잭션으로 저장한다
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class CustomEventListener {
 
-    private final FcmClient fcmClient;
     private final NotificationRepository notificationRepository;
-    private final NotificationSettingRepository notificationSettingRepository;
+    private final NotificationOutboxRepository notificationOutboxRepository;
     private final ObjectMapper objectMapper;
 
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    @TransactionalEventListener // @Transaction이 붙은 Event
+    @Transactional
+    @EventListener
     public void createNotification(NotificationEvent notificationEvent){
         log.info("EventListener - createNotification");
         try{
             String jsonContent = objectMapper.writeValueAsString(notificationEvent);
-            Notification notification = Notification.of(notificationEvent, jsonContent);
-            notificationRepository.save(notification);
-
-            if (isSendAvailable(notification.getReceiverId(), notification.getNotificationType())){
-                log.warn("알림 보내기 - {}",notification.getTitle());
-                fcmClient.sendMessageTo(notification);
-            }
+            save(Notification.of(notificationEvent, jsonContent));
         } catch(JsonProcessingException e) {
             log.error("json error");
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    @TransactionalEventListener
+    @Transactional
+    @EventListener
     public void createMessage(MessageEvent messageEvent) {
-
-            Notification notification = Notification.from(messageEvent);
-            notificationRepository.save(notification);
-
-            if (isSendAvailable(notification.getReceiverId(), notification.getNotificationType())){
-                log.warn("DM 보내기 - {}",notification.getTitle());
-                fcmClient.sendMessageTo(messageEvent);
-            }
-
+        log.info("EventListener - createMessage");
+        save(Notification.from(messageEvent));
     }
 
-    @EventListener // @Transaction이 붙지 않은 Event
+    @Transactional
+    @EventListener
     public void createLessonMessage(LessonAlertEvent lessonAlertEvent) {
         try {
             String jsonContent = objectMapper.writeValueAsString(lessonAlertEvent);
-            Notification notification = Notification.of(lessonAlertEvent,jsonContent);
-            notificationRepository.save(notification);
-
-            if (isSendAvailable(notification.getReceiverId(), notification.getNotificationType())){
-                log.warn("알림 보내기 - {}",notification.getTitle());
-                fcmClient.sendMessageTo(notification);
-            }
+            save(Notification.of(lessonAlertEvent,jsonContent));
         } catch(JsonProcessingException e) {
-        log.error("json error");
-    }
-
+            log.error("json error");
+        }
     }
 
-    public boolean isSendAvailable(Integer userId, Integer notificationType) {
-        return notificationSettingRepository.findByUserIdAndNotificationType(userId,notificationType)
-                .orElseThrow(() -> ApiExceptionFactory.fromExceptionEnum(NotificationExceptionEnum.NOTIFICATION_SETTING_NOT_FOUND))
-                .isNotificationStatus();
+    private void save(Notification notification) {
+        notificationRepository.save(notification);
+        notificationOutboxRepository.save(NotificationOutbox.from(notification));
     }
 
 }
@@ -1,6 +1,7 @@
 package com.go.ski.notification.support;
 
 import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.common.service.ReferenceDataCache;
 import com.go.ski.feedback.support.dto.FeedbackCreateRequestDTO;
 import com.go.ski.lesson.support.exception.LessonExceptionEnum;
 import com.go.ski.notification.support.events.*;
@@ -12,7 +13,6 @@ import com.go.ski.payment.core.model.LessonInfo;
 import com.go.ski.payment.core.repository.LessonRepository;
 import com.go.ski.redis.dto.PaymentCacheDto;
 import com.go.ski.team.core.model.Team;
-import com.go.ski.team.core.repository.SkiResortRepository;
 import com.go.ski.team.core.repository.TeamInstructorRepository;
 import com.go.ski.team.core.repository.TeamRepository;
 import com.go.ski.team.support.exception.TeamExceptionEnum;
@@ -35,7 +35,7 @@ public class EventPublisher {
     private final ApplicationEventPublisher applicationEventPublisher;
     private final TeamInstructorRepository teamInstructorRepository;
     private final TeamRepository teamRepository;
-    private final SkiResortRepository skiResortRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final LessonRepository lessonRepository;
 
     public void publish(FcmSendRequestDTO fcmSendRequestDTO, User user, String imageUrl, String deviceType) {
@@ -82,7 +82,7 @@ public class EventPublisher {
 
         Integer resortId = team.getSkiResort().getResortId();
 
-        String resortName = skiResortRepository.findById(resortId)
+        String resortName = referenceDataCache.getSkiResort(resortId)
                 .orElseThrow(() -> new RuntimeException("해당 스키장이 존재하지 않습니다.")).getResortName();
 
         // 지정 강사가 있는 경우만 알림
@@ -0,0 +1,13 @@
+package com.go.ski.notification.support.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 푸시 발송 대기열 폴링 설정
+@ConfigurationProperties(prefix = "push.outbox")
+public record NotificationOutboxConfig(
+        int batchSize,
+        long leaseMillis,
+        int maxAttempts,
+        long retryDelayMillis
+) {
+}
@@ -0,0 +1,15 @@
+package com.go.ski.notification.support.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 푸시 동시 발송 수와 FCM API 커넥션 풀 설정
+@ConfigurationProperties(prefix = "push")
+public record PushDispatchConfig(
+        int concurrency,
+        String host,
+        int maxConnections,
+        long connectTimeoutMillis,
+        long readTimeoutMillis,
+        long maxIdleMillis
+) {
+}
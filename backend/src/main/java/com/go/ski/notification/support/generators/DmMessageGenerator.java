@@ -3,30 +3,54 @@ package com.go.ski.notification.support.generators;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.notification.core.domain.Notification;
 import com.go.ski.notification.support.events.MessageEvent;
 import com.go.ski.notification.support.exception.NotificationExceptionEnum;
 import com.go.ski.notification.support.messages.DMMessage;
 import com.go.ski.notification.support.messages.DMMessage.Data;
 
-import lombok.RequiredArgsConstructor;
-
 import java.time.LocalDateTime;
 
-@RequiredArgsConstructor
 public class DmMessageGenerator implements MessageGenerator{
 
-    private final MessageEvent messageEvent;
+    private final Integer senderId;
+    private final String senderName;
+    private final String title;
+    private final String content;
+    private final String imageUrl;
+    private final Integer notificationType;
+
+    public DmMessageGenerator(MessageEvent messageEvent) {
+        this(messageEvent.getSenderId(), messageEvent.getSenderName(), messageEvent.getTitle(),
+                messageEvent.getContent(), messageEvent.getImageUrl(), messageEvent.getNotificationType());
+    }
+
+    // 저장된 DM 알림으로 다시 만든다 (발송 대기열)
+    public DmMessageGenerator(Notification notification, String senderName) {
+        this(notification.getSenderId(), senderName, notification.getTitle(),
+                notification.getContent(), notification.getImageUrl(), notification.getNotificationType());
+    }
+
+    private DmMessageGenerator(Integer senderId, String senderName, String title, String content,
+                               String imageUrl, Integer notificationType) {
+        this.senderId = senderId;
+        this.senderName = senderName;
+        this.title = title;
+        this.content = content;
+        this.imageUrl = imageUrl;
+        this.notificationType = notificationType;
+    }
 
     @Override
     public String makeMessage(String targetToken, ObjectMapper objectMapper) {
 
         Data data = Data.builder()
-                .senderId(messageEvent.getSenderId().toString())
-                .senderName(messageEvent.getSenderName())
-                .title(messageEvent.getTitle())
-                .content(messageEvent.getContent())
-                .imageUrl(messageEvent.getImageUrl())
-                .notificationType(messageEvent.getNotificationType().toString())
+                .senderId(senderId.toString())
+                .senderName(senderName)
+                .title(title)
+                .content(content)
+                .imageUrl(imageUrl)
+                .notificationType(notificationType.toString())
                 .createdAt(LocalDateTime.now().format(DATE_TIME_FORMATTER))
                 .build();
 
@@ -1,9 +1,8 @@
 package com.go.ski.notification.support.generators;
 
-import com.go.ski.notification.core.domain.NotificationSetting;
-import com.go.ski.notification.core.domain.NotificationType;
-import com.go.ski.notification.core.repository.NotificationSettingRepository;
-import com.go.ski.notification.core.repository.NotificationTypeRepository;
+import com.go.ski.notification.core.domain.NotificationPreference;
+import com.go.ski.notification.core.repository.NotificationPreferenceRepository;
+import com.go.ski.notification.core.service.NotificationPreferenceCache;
 import com.go.ski.user.core.model.User;
 import com.go.ski.user.support.vo.Role;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +10,6 @@ import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -21,8 +19,8 @@ public class NotificationSettingGenerator {
     private final static List<Integer> INSTRUCTOR_NOTIFICATION_TYPES = Arrays.asList(2,3,4,5,6,9);
     private final static List<Integer> STUDENT_NOTIFICATION_TYPES = Arrays.asList(7,8,9);
 
-    private final NotificationTypeRepository notificationTypeRepository;
-    private final NotificationSettingRepository notificationSettingRepository;
+    private final NotificationPreferenceRepository notificationPreferenceRepository;
+    private final NotificationPreferenceCache notificationPreferenceCache;
 
     public void createNotificationSettings(User user) {
         Role role = user.getRole();
@@ -33,16 +31,10 @@ public class NotificationSettingGenerator {
         }
     }
 
+    // 알림 종류마다 행을 만들지 않고 비트마스크 한 행으로 저장한다
     private void saveSetting(User user, List<Integer> notificationTypes) {
-        List<NotificationType> notificationTypeList = notificationTypeRepository.findAllById(notificationTypes);
-        List<NotificationSetting> settings = notificationTypeList.stream()
-                .map(notificationType -> NotificationSetting.builder()
-                        .notificationType(notificationType)
-                        .user(user)
-                        .notificationStatus(true)
-                        .build())
-                .collect(Collectors.toList());
-        notificationSettingRepository.saveAll(settings);
+        notificationPreferenceRepository.save(NotificationPreference.of(user.getUserId(), notificationTypes));
+        notificationPreferenceCache.invalidate(user.getUserId());
     }
 
 }
@@ -0,0 +1,22 @@
+package com.go.ski.notification.support.vo;
+
+// 받는 사람별 푸시 발송 결과
+public enum PushOutcome {
+    SENT,
+    // 알림을 끈 사용자
+    DISABLED,
+    // 등록된 FCM 토큰이 없음
+    NO_TOKEN,
+    // FCM이 만료되거나 삭제된 토큰이라고 응답 (토큰을 지운다)
+    UNREGISTERED,
+    // 다시 보내도 실패하는 요청 (잘못된 메시지 등)
+    REJECTED,
+    // FCM이 액세스 토큰을 거절 (401, 403). 액세스 토큰을 새로 받고 다시 시도한다
+    UNAUTHORIZED,
+    // 네트워크 오류, 5xx, 429. 다시 시도한다
+    FAILED;
+
+    public boolean isRetryable() {
+        return this == FAILED || this == UNAUTHORIZED;
+    }
+}
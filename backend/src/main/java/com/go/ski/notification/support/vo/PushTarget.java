@@ -0,0 +1,8 @@
+package com.go.ski.notification.support.vo;
+
+import com.go.ski.notification.core.domain.DeviceType;
+import com.go.ski.notification.support.generators.MessageGenerator;
+
+// 푸시 한 건의 받는 사람, 기기, 메시지
+public record PushTarget(Integer receiverId, DeviceType deviceType, MessageGenerator messageGenerator) {
+}
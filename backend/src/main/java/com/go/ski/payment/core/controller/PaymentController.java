@@ -1,21 +1,29 @@
 package com.go.ski.payment.core.controller;
 
-import java.io.UnsupportedEncodingException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.go.ski.common.response.ApiResponse;
+import com.go.ski.payment.core.service.AccountVerificationService;
+import com.go.ski.payment.core.service.BulkCancelService;
 import com.go.ski.payment.core.service.PayService;
 import com.go.ski.payment.support.dto.request.ApprovePaymentRequestDTO;
+import com.go.ski.payment.support.dto.request.BulkCancelRequestDTO;
 import com.go.ski.payment.support.dto.request.CancelPaymentRequestDTO;
 import com.go.ski.payment.support.dto.request.KakaopayApproveRequestDTO;
 import com.go.ski.payment.support.dto.request.KakaopayCancelRequestDTO;
@@ -26,11 +34,14 @@ import com.go.ski.payment.support.dto.response.KakaopayCancelResponseDTO;
 import com.go.ski.payment.support.dto.request.KakaopayPrepareRequestDTO;
 import com.go.ski.payment.support.dto.response.KakaopayPrepareResponseDTO;
 import com.go.ski.payment.core.service.KakaoPayService;
+import com.go.ski.payment.support.dto.response.BulkCancelResponseDTO;
+import com.go.ski.payment.support.dto.response.DailyRevenueResponseDTO;
 import com.go.ski.payment.support.dto.response.LessonCostResponseDTO;
 import com.go.ski.payment.support.dto.response.OwnerPaymentHistoryResponseDTO;
+import com.go.ski.payment.support.dto.response.RevenueTotalResponseDTO;
 import com.go.ski.payment.support.dto.response.UserPaymentHistoryResponseDTO;
-import com.go.ski.payment.support.dto.response.VerifyAccountResponseDTO;
 import com.go.ski.payment.support.dto.response.WithdrawalResponseDTO;
+import com.go.ski.user.core.model.User;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -44,27 +55,28 @@ public class PaymentController {
 
     private final PayService payService;
     private final KakaoPayService kakaoPayService;
+    private final BulkCancelService bulkCancelService;
+    private final AccountVerificationService accountVerificationService;
 
     //결제 준비
     @PostMapping("/charge")
-    public ResponseEntity<KakaopayPrepareResponseDTO> preparePayment(@RequestBody KakaopayPrepareRequestDTO request) {
-        KakaopayPrepareResponseDTO response = kakaoPayService.getPrepareResponse(request);
-        log.info("value : {}", response);
-        return ResponseEntity.ok().body(response);
+    public CompletableFuture<ResponseEntity<KakaopayPrepareResponseDTO>> preparePayment(@RequestBody KakaopayPrepareRequestDTO request) {
+        return kakaoPayService.getPrepareResponse(request).thenApply(response -> {
+            log.info("value : {}", response);
+            return ResponseEntity.ok().body(response);
+        });
     }
 
     //결제 승인
     @PostMapping("/approve")
-    public ResponseEntity<KakaopayApproveResponseDTO> approvePayment(@RequestBody KakaopayApproveRequestDTO request) {
-        KakaopayApproveResponseDTO response = kakaoPayService.getApproveResponse(request);
-        return ResponseEntity.ok().body(response);
+    public CompletableFuture<ResponseEntity<KakaopayApproveResponseDTO>> approvePayment(@RequestBody KakaopayApproveRequestDTO request) {
+        return kakaoPayService.getApproveResponse(request).thenApply(response -> ResponseEntity.ok().body(response));
     }
 
     //결제 취소
     @PostMapping("/cancel")
-    public ResponseEntity<KakaopayCancelResponseDTO> cancelPayment(@RequestBody KakaopayCancelRequestDTO request) {
-        KakaopayCancelResponseDTO response = kakaoPayService.getCancelResponse(request);
-        return ResponseEntity.ok().body(response);
+    public CompletableFuture<ResponseEntity<KakaopayCancelResponseDTO>> cancelPayment(@RequestBody KakaopayCancelRequestDTO request) {
+        return kakaoPayService.getCancelResponse(request).thenApply(response -> ResponseEntity.ok().body(response));
     }
     //강습 예약 결제 API -> 요청 uri 나중에 페이 연동 많아지면 domain 추가
 
@@ -99,22 +111,77 @@ public class PaymentController {
         return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(null));
     }
 
+    // 팀 하루 또는 리조트에 있는 내 팀 전체의 하루 강습을 한 번에 취소. 환불은 백그라운드로 진행된다
+    @PostMapping("/reserve/cancel/bulk")
+    public ResponseEntity<ApiResponse<?>> bulkCancelPayment(
+            HttpServletRequest httpServletRequest,
+            @RequestBody BulkCancelRequestDTO request) {
+        User user = (User) httpServletRequest.getAttribute("user");
+        BulkCancelResponseDTO response = bulkCancelService.cancel(user, request);
+        return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response));
+    }
+
+    @GetMapping("/reserve/cancel/bulk/{job_id}")
+    public ResponseEntity<ApiResponse<?>> getBulkCancelProgress(
+            HttpServletRequest httpServletRequest,
+            @PathVariable("job_id") String jobId) {
+        User user = (User) httpServletRequest.getAttribute("user");
+        BulkCancelResponseDTO response = bulkCancelService.getProgress(user, jobId);
+        return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response));
+    }
+
     @GetMapping("/history")
-    public ResponseEntity<ApiResponse<?>> getUserPaymentHistory(HttpServletRequest httpServletRequest) {
-        List<UserPaymentHistoryResponseDTO> response = payService.getUserPaymentHistories(httpServletRequest);
+    public ResponseEntity<ApiResponse<?>> getUserPaymentHistory(HttpServletRequest httpServletRequest,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorDate,
+            @RequestParam(required = false) Integer cursorId, @RequestParam(defaultValue = "20") int size) {
+        List<UserPaymentHistoryResponseDTO> response = payService.getUserPaymentHistories(httpServletRequest,
+                cursorDate, cursorId, size);
         return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response));
     }
 
     @GetMapping("/history/head")
-    public ResponseEntity<ApiResponse<?>> getOwnerPaymentHistory(HttpServletRequest httpServletRequest) {
-        List<OwnerPaymentHistoryResponseDTO> response = payService.getOwnerPaymentHistories(httpServletRequest);
+    public ResponseEntity<ApiResponse<?>> getOwnerPaymentHistory(HttpServletRequest httpServletRequest,
+            @RequestParam(required = false) Integer cursor, @RequestParam(defaultValue = "20") int size) {
+        List<OwnerPaymentHistoryResponseDTO> response = payService.getOwnerPaymentHistories(httpServletRequest, cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response));
+    }
+
+    // 전체 결제 내역을 ApiResponse로 감싸지 않은 JSON 배열로 스트리밍
+    @GetMapping(value = "/history/head/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOwnerPaymentHistory(HttpServletRequest httpServletRequest) {
+        StreamingResponseBody response = payService.exportOwnerPaymentHistories(httpServletRequest);
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON).body(response);
+    }
+
+    @GetMapping("/history/head/daily")
+    public ResponseEntity<ApiResponse<?>> getOwnerDailyRevenue(HttpServletRequest httpServletRequest,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        List<DailyRevenueResponseDTO> response = payService.getOwnerDailyRevenues(httpServletRequest, cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response));
+    }
+
+    @GetMapping("/history/head/total")
+    public ResponseEntity<ApiResponse<?>> getOwnerRevenueTotal(HttpServletRequest httpServletRequest) {
+        RevenueTotalResponseDTO response = payService.getOwnerRevenueTotal(httpServletRequest);
         return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response));
     }
 
     @GetMapping("/history/{team_id}")
     public ResponseEntity<ApiResponse<?>> getTeamPaymentHistory(HttpServletRequest httpServletRequest
-            , @PathVariable(value = "team_id") Integer teamId) {
-        List<OwnerPaymentHistoryResponseDTO> response = payService.getTeamPaymentHistories(httpServletRequest, teamId);
+            , @PathVariable(value = "team_id") Integer teamId
+            , @RequestParam(required = false) Integer cursor, @RequestParam(defaultValue = "20") int size) {
+        List<OwnerPaymentHistoryResponseDTO> response = payService.getTeamPaymentHistories(httpServletRequest, teamId,
+                cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response));
+    }
+
+    @GetMapping("/history/{team_id}/daily")
+    public ResponseEntity<ApiResponse<?>> getTeamDailyRevenue(HttpServletRequest httpServletRequest
+            , @PathVariable(value = "team_id") Integer teamId
+            , @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cursor
+            , @RequestParam(defaultValue = "20") int size) {
+        List<DailyRevenueResponseDTO> response = payService.getTeamDailyRevenues(httpServletRequest, teamId, cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response));
     }
 
@@ -131,13 +198,9 @@ public class PaymentController {
     }
 
     @PostMapping("/validate_account")
-    public ResponseEntity<ApiResponse<?>> verifyAccount(@RequestBody VerifyAccountRequestDTO verifyAccountRequestDTO) throws
-            UnsupportedEncodingException,
-            JsonProcessingException,
-            InterruptedException {
-        VerifyAccountResponseDTO response = payService.requestToCodeF(verifyAccountRequestDTO);
-
-        return ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response));
+    public CompletableFuture<ResponseEntity<ApiResponse<?>>> verifyAccount(@RequestBody VerifyAccountRequestDTO verifyAccountRequestDTO) {
+        return accountVerificationService.verify(verifyAccountRequestDTO)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(response)));
     }
 
     @GetMapping("/lesson/{lesson_id}")
@@ -0,0 +1,27 @@
+package com.go.ski.payment.core.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 사장별 현재 정산 잔액 (사장당 한 행)
+// 잔액은 OwnerBalanceRepository.increase로만 바꾼다
+@Getter
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerBalance {
+	@Id
+	private Integer userId;
+	@Column
+	private Integer balance;
+	@Column
+	private LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.go.ski.payment.core.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 사장별 하루 결제/환불 합계 (가진 팀 전체)
+// 결제 승인, 환불 때 RevenueRollup이 더해서 관리한다
+@Getter
+@Entity
+@IdClass(OwnerRevenueDaily.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerRevenueDaily {
+	@Id
+	private Integer userId;
+	@Id
+	private LocalDate revenueDate;
+	@Column
+	private Integer paymentCount;
+	@Column
+	private Long paymentAmount;
+	@Column
+	private Integer refundCount;
+	@Column
+	private Long refundAmount;
+
+	@EqualsAndHashCode
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Key implements Serializable {
+		private Integer userId;
+		private LocalDate revenueDate;
+	}
+}
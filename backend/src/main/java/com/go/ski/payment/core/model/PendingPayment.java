@@ -0,0 +1,32 @@
+package com.go.ski.payment.core.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 결제 준비(ready) 후 승인(approve)까지 보관하는 예약 정보
+// payload는 PendingPaymentDTO JSON (엔티티 대신 id와 값만 저장)
+// deviceType은 승인 대기 결제를 복구 작업이 확정할 때 예약 알림을 보낼 기기
+@Getter
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingPayment {
+	@Id
+	private String tid;
+	@Column
+	private Integer userId;
+	@Column
+	private String payload;
+	@Column
+	private String deviceType;
+	@Column
+	private LocalDateTime createdAt;
+}
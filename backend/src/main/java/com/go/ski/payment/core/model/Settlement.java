@@ -2,6 +2,8 @@ package com.go.ski.payment.core.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Immutable;
+
 import com.go.ski.user.core.model.User;
 
 import jakarta.persistence.Column;
@@ -16,11 +18,13 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+// 정산 내역은 추가만 한다. 현재 잔액은 OwnerBalance에 있다
 @Getter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Immutable
 public class Settlement {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
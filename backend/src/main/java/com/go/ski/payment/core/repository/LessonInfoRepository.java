@@ -4,8 +4,11 @@ import com.go.ski.payment.core.model.Lesson;
 import com.go.ski.payment.core.model.LessonInfo;
 import com.go.ski.team.core.model.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +17,23 @@ public interface LessonInfoRepository extends JpaRepository<LessonInfo, Integer>
 
     List<LessonInfo> findByLessonDateAndLessonStatus(LocalDate lessonDate, Integer lessonStatus);
 
+    // 스케줄 캐싱용 - lesson, team, resort까지 한 번에 조회
+    @Query("SELECT li FROM LessonInfo li " +
+            "JOIN FETCH li.lesson l " +
+            "JOIN FETCH l.team t " +
+            "JOIN FETCH t.skiResort " +
+            "WHERE li.lessonDate = :lessonDate AND t.teamId = :teamId AND li.lessonStatus = :lessonStatus")
+    List<LessonInfo> findWithTeamByLessonDateAndTeamIdAndLessonStatus(LocalDate lessonDate, Integer teamId, Integer lessonStatus);
+
     Optional<LessonInfo> findByLesson(Lesson lesson);
 
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE LessonInfo li SET li.lessonStatus = :lessonStatus WHERE li.lessonId IN :lessonIds")
+    int updateLessonStatus(Collection<Integer> lessonIds, Integer lessonStatus);
+
+    // 상태가 from일 때만 바꾼다. 바뀐 행 수로 먼저 처리한 쪽을 가린다
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE LessonInfo li SET li.lessonStatus = :to WHERE li.lessonId = :lessonId AND li.lessonStatus = :from")
+    int updateLessonStatus(Integer lessonId, Integer from, Integer to);
+
 }
@@ -1,10 +1,21 @@
 package com.go.ski.payment.core.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.go.ski.payment.core.model.LessonPaymentInfo;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface LessonPaymentInfoRepository extends JpaRepository<LessonPaymentInfo, Integer> {
 
 	LessonPaymentInfo findByLessonId(Integer lessonId);
+
+	@Query("SELECT lpi FROM LessonPaymentInfo lpi " +
+		"JOIN FETCH lpi.lesson l " +
+		"JOIN FETCH l.team t " +
+		"JOIN FETCH t.skiResort " +
+		"WHERE lpi.lessonId IN :lessonIds")
+	List<LessonPaymentInfo> findAllWithLessonByLessonIdIn(Collection<Integer> lessonIds);
 }
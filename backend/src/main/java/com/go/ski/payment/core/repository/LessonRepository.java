@@ -1,20 +1,23 @@
 package com.go.ski.payment.core.repository;
 
+import com.go.ski.lesson.support.dto.InstructorLessonResponseDTO;
+import com.go.ski.lesson.support.dto.UserLessonResponseDTO;
 import com.go.ski.payment.core.model.Lesson;
 import com.go.ski.payment.support.dto.response.LessonCostResponseDTO;
 import com.go.ski.payment.support.dto.response.OwnerPaymentHistoryResponseDTO;
 import com.go.ski.payment.support.dto.response.UserPaymentHistoryResponseDTO;
-import com.go.ski.user.core.model.Instructor;
-import com.go.ski.user.core.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface LessonRepository extends JpaRepository<Lesson, Integer> {
+    // 결제 내역에는 승인(0)과 환불(2)만 보인다. 승인 대기(3)와 승인 실패(4)는 돈이 오가지 않은 결제라 뺀다
+    // (paymentDate, paymentId)가 cursor보다 이전인 결제를 최신순으로 size개
     @Query("SELECT NEW com.go.ski.payment.support.dto.response.UserPaymentHistoryResponseDTO ( "
-            + "l.user.userName, t.teamName, p.paymentDate, p.paymentStatus, c.chargeName, c.studentChargeRate, p.totalAmount, "
+            + "p.paymentId, l.user.userName, t.teamName, p.paymentDate, p.paymentStatus, c.chargeName, c.studentChargeRate, p.totalAmount, "
             + "lp.basicFee, lp.designatedFee, lp.peopleOptionFee, lp.levelOptionFee) "
             + "FROM Lesson l "
             + "JOIN Team t  ON t.teamId = l.team.teamId "
@@ -22,30 +25,41 @@ public interface LessonRepository extends JpaRepository<Lesson, Integer> {
             + "JOIN Payment p ON p.lessonPaymentInfo.lessonId = lp.lessonId "
             + "JOIN Charge c ON p.chargeId = c.chargeId "
             // + "JOIN t.instructor i "
-            + "WHERE l.user.userId = :userId")
-    List<UserPaymentHistoryResponseDTO> findStudentPaymentHistories(Integer userId);
+            + "WHERE l.user.userId = :userId AND p.paymentStatus IN (0, 2) "
+            + "AND (:cursorDate IS NULL OR p.paymentDate < :cursorDate "
+            + "OR (p.paymentDate = :cursorDate AND p.paymentId < :cursorId)) "
+            + "ORDER BY p.paymentDate DESC, p.paymentId DESC "
+            + "LIMIT :size")
+    List<UserPaymentHistoryResponseDTO> findStudentPaymentHistories(Integer userId, LocalDateTime cursorDate,
+                                                                    Integer cursorId, int size);
 
+    // cursor(paymentId)보다 이전 결제를 최신순으로 size개
     @Query("SELECT NEW com.go.ski.payment.support.dto.response.OwnerPaymentHistoryResponseDTO ( "
-            + "t.teamName, l.user.userName, p.paymentDate, c.chargeName, c.ownerChargeRate, "
+            + "p.paymentId, t.teamName, l.user.userName, p.paymentDate, c.chargeName, c.ownerChargeRate, "
             + "p.totalAmount, lp.basicFee, lp.designatedFee, lp.peopleOptionFee, lp.levelOptionFee) "
             + "FROM Team t "
             + "JOIN Lesson l ON l.team.teamId = t.teamId "
             + "JOIN LessonPaymentInfo lp ON lp.lessonId = l.lessonId "
             + "JOIN Payment p ON p.lessonPaymentInfo.lessonId = lp.lessonId  "
             + "JOIN Charge c ON p.chargeId = c.chargeId "
-            + "WHERE t.user.userId = :userId")
-    List<OwnerPaymentHistoryResponseDTO> findOwnerPaymentHistories(Integer userId);
+            + "WHERE t.user.userId = :userId AND p.paymentStatus IN (0, 2) AND (:cursor IS NULL OR p.paymentId < :cursor) "
+            + "ORDER BY p.paymentId DESC "
+            + "LIMIT :size")
+    List<OwnerPaymentHistoryResponseDTO> findOwnerPaymentHistories(Integer userId, Integer cursor, int size);
 
+    // cursor(paymentId)보다 이전 결제를 최신순으로 size개
     @Query("SELECT NEW com.go.ski.payment.support.dto.response.OwnerPaymentHistoryResponseDTO ( "
-            + "t.teamName, l.user.userName, p.paymentDate, c.chargeName, c.ownerChargeRate, "
+            + "p.paymentId, t.teamName, l.user.userName, p.paymentDate, c.chargeName, c.ownerChargeRate, "
             + "p.totalAmount, lp.basicFee, lp.designatedFee, lp.peopleOptionFee, lp.levelOptionFee) "
             + "FROM Team t "
             + "JOIN Lesson l ON l.team.teamId = t.teamId "
             + "JOIN LessonPaymentInfo lp ON lp.lessonId = l.lessonId "
             + "JOIN Payment p ON p.lessonPaymentInfo.lessonId = lp.lessonId  "
             + "JOIN Charge c ON p.chargeId = c.chargeId "
-            + "WHERE t.teamId = :teamId")
-    List<OwnerPaymentHistoryResponseDTO> findTeamPaymentHistories(Integer teamId);
+            + "WHERE t.teamId = :teamId AND p.paymentStatus IN (0, 2) AND (:cursor IS NULL OR p.paymentId < :cursor) "
+            + "ORDER BY p.paymentId DESC "
+            + "LIMIT :size")
+    List<OwnerPaymentHistoryResponseDTO> findTeamPaymentHistories(Integer teamId, Integer cursor, int size);
 
     @Query("SELECT NEW com.go.ski.payment.support.dto.response.LessonCostResponseDTO ( "
             + "p.totalAmount, "
@@ -56,15 +70,56 @@ public interface LessonRepository extends JpaRepository<Lesson, Integer> {
             + "JOIN Charge c ON c.chargeId = CASE WHEN FUNCTION('DATEDIFF', li.lessonDate, CURRENT_DATE) <= 2 THEN 3 "
             + "WHEN FUNCTION('DATEDIFF', li.lessonDate, CURRENT_DATE) <= 7 THEN 2 "
             + "ELSE 1 END "
-            + "WHERE l.lessonId = :lessonId ")
+            + "WHERE l.lessonId = :lessonId AND p.paymentStatus = 0 ")
     LessonCostResponseDTO findLessonCost(Integer lessonId);
 
-    List<Lesson> findByUser(User user);
+    // 강습 목록에는 예약이 확정된 강습만 보인다. 결제가 승인 대기(3)나 승인 실패(4)인 강습은 예약되지 않은 것이라 뺀다
+    // (결제 없이 팀이 직접 넣은 강습은 그대로 보인다)
+    // 강습 정보와 후기 여부까지 한 번에 가져온다. cursor(lessonId)보다 이전 강습을 최신순으로 size개
+    @Query("SELECT NEW com.go.ski.lesson.support.dto.UserLessonResponseDTO ( "
+            + "l.lessonId, t.teamId, t.teamName, sr.resortName, li.lessonDate, li.startTime, li.duration, "
+            + "li.lessonStatus, i.instructorId, iu.userName, iu.profileUrl, li.studentCount, "
+            + "CASE WHEN EXISTS (SELECT 1 FROM Review r WHERE r.lesson.lessonId = l.lessonId) THEN true ELSE false END) "
+            + "FROM LessonInfo li "
+            + "JOIN li.lesson l "
+            + "JOIN l.team t "
+            + "LEFT JOIN t.skiResort sr "
+            + "LEFT JOIN l.instructor i "
+            + "LEFT JOIN i.user iu "
+            + "WHERE l.user.userId = :userId AND (:cursor IS NULL OR l.lessonId < :cursor) "
+            + "AND NOT EXISTS (SELECT 1 FROM Payment p WHERE p.lessonPaymentInfo.lessonId = l.lessonId "
+            + "AND p.paymentStatus IN (3, 4)) "
+            + "ORDER BY l.lessonId DESC "
+            + "LIMIT :size")
+    List<UserLessonResponseDTO> findUserLessons(Integer userId, Integer cursor, int size);
 
-    List<Lesson> findByInstructor(Instructor instructor);
+    // 강습 정보와 지정 여부까지 한 번에 가져온다. cursor(lessonId)보다 이전 강습을 최신순으로 size개
+    @Query("SELECT NEW com.go.ski.lesson.support.dto.InstructorLessonResponseDTO ( "
+            + "l.lessonId, t.teamId, t.teamName, sr.resortName, li.lessonDate, li.startTime, li.duration, "
+            + "li.lessonStatus, l.representativeName, li.studentCount, "
+            + "CASE WHEN lp.designatedFee IS NOT NULL THEN true ELSE false END) "
+            + "FROM LessonInfo li "
+            + "JOIN li.lesson l "
+            + "JOIN l.team t "
+            + "LEFT JOIN t.skiResort sr "
+            + "LEFT JOIN LessonPaymentInfo lp ON lp.lessonId = l.lessonId "
+            + "WHERE l.instructor.instructorId = :instructorId AND (:cursor IS NULL OR l.lessonId < :cursor) "
+            + "AND NOT EXISTS (SELECT 1 FROM Payment p WHERE p.lessonPaymentInfo.lessonId = l.lessonId "
+            + "AND p.paymentStatus IN (3, 4)) "
+            + "ORDER BY l.lessonId DESC "
+            + "LIMIT :size")
+    List<InstructorLessonResponseDTO> findInstructorLessons(Integer instructorId, Integer cursor, int size);
 
+    @Query("SELECT l FROM Lesson l "
+            + "WHERE l.team.teamId = :teamId "
+            + "AND NOT EXISTS (SELECT 1 FROM Payment p WHERE p.lessonPaymentInfo.lessonId = l.lessonId "
+            + "AND p.paymentStatus IN (3, 4)) ")
     List<Lesson> findByTeamTeamId(int teamId);
 
+    @Query("SELECT l FROM Lesson l "
+            + "WHERE l.team.teamId = :teamId AND l.instructor.instructorId = :instructorId "
+            + "AND NOT EXISTS (SELECT 1 FROM Payment p WHERE p.lessonPaymentInfo.lessonId = l.lessonId "
+            + "AND p.paymentStatus IN (3, 4)) ")
     List<Lesson> findByTeamTeamIdAndInstructorInstructorId(int teamId, int instructorId);
 
     @Modifying
@@ -0,0 +1,34 @@
+package com.go.ski.payment.core.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.go.ski.payment.core.model.OwnerBalance;
+
+public interface OwnerBalanceRepository extends JpaRepository<OwnerBalance, Integer> {
+
+	// 행이 있으면 더하고, 없으면 지금까지의 정산 내역 합계에 더해서 만든다. 행 잠금은 트랜잭션이 끝날 때까지 유지된다
+	// (시작 시 backfill 전에 들어온 정산이나 이전 버전 서버가 쌓은 정산도 잔액에서 빠지지 않는다)
+	@Modifying
+	@Query(value = "INSERT INTO owner_balance (user_id, balance, updated_at) "
+		+ "SELECT :userId, COALESCE(SUM(s.settlement_amount), 0) + :amount, NOW(6) "
+		+ "FROM settlement s WHERE s.user_id = :userId "
+		+ "ON DUPLICATE KEY UPDATE owner_balance.balance = owner_balance.balance + :amount, "
+		+ "owner_balance.updated_at = NOW(6) ",
+		nativeQuery = true)
+	int increase(Integer userId, Integer amount);
+
+	@Query("SELECT b.balance FROM OwnerBalance b WHERE b.userId = :userId ")
+	Integer findBalance(Integer userId);
+
+	// 잔액 행이 없는 사장은 정산 내역 합계로 채운다
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO owner_balance (user_id, balance, updated_at) "
+		+ "SELECT s.user_id, SUM(s.settlement_amount), NOW(6) "
+		+ "FROM settlement s "
+		+ "WHERE NOT EXISTS (SELECT 1 FROM owner_balance b WHERE b.user_id = s.user_id) "
+		+ "GROUP BY s.user_id ",
+		nativeQuery = true)
+	int backfill();
+}
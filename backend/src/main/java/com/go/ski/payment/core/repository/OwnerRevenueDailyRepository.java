@@ -0,0 +1,60 @@
+package com.go.ski.payment.core.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.go.ski.payment.core.model.OwnerRevenueDaily;
+import com.go.ski.payment.support.dto.response.DailyRevenueResponseDTO;
+import com.go.ski.payment.support.dto.response.RevenueTotalResponseDTO;
+
+public interface OwnerRevenueDailyRepository extends JpaRepository<OwnerRevenueDaily, OwnerRevenueDaily.Key> {
+
+	@Modifying
+	@Query(value = "INSERT INTO owner_revenue_daily "
+		+ "(user_id, revenue_date, payment_count, payment_amount, refund_count, refund_amount) "
+		+ "VALUES (:userId, :revenueDate, :paymentCount, :paymentAmount, :refundCount, :refundAmount) "
+		+ "ON DUPLICATE KEY UPDATE "
+		+ "payment_count = payment_count + VALUES(payment_count), "
+		+ "payment_amount = payment_amount + VALUES(payment_amount), "
+		+ "refund_count = refund_count + VALUES(refund_count), "
+		+ "refund_amount = refund_amount + VALUES(refund_amount) ",
+		nativeQuery = true)
+	int add(Integer userId, LocalDate revenueDate, int paymentCount, long paymentAmount, int refundCount,
+		long refundAmount);
+
+	// 집계 행이 하나도 없는 사장만 결제 내역으로 채운다 (팀 집계와 따로 판단한다)
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO owner_revenue_daily "
+		+ "(user_id, revenue_date, payment_count, payment_amount, refund_count, refund_amount) "
+		+ "SELECT t.user_id, DATE(IF(p.payment_status = 2, p.payback_date, p.payment_date)) AS revenue_date, "
+		+ "SUM(p.payment_status = 0), SUM(IF(p.payment_status = 0, p.total_amount, 0)), "
+		+ "SUM(p.payment_status = 2), SUM(IF(p.payment_status = 2, p.total_amount, 0)) "
+		+ "FROM payment p "
+		+ "JOIN lesson l ON l.lesson_id = p.lesson_id "
+		+ "JOIN team t ON t.team_id = l.team_id "
+		+ "WHERE p.payment_status IN (0, 2) "
+		+ "AND NOT EXISTS (SELECT 1 FROM owner_revenue_daily r WHERE r.user_id = t.user_id) "
+		+ "GROUP BY t.user_id, revenue_date ",
+		nativeQuery = true)
+	int backfill();
+
+	// cursor보다 이전 날짜를 최신순으로 size개
+	@Query("SELECT NEW com.go.ski.payment.support.dto.response.DailyRevenueResponseDTO ( "
+		+ "r.revenueDate, r.paymentCount, r.paymentAmount, r.refundCount, r.refundAmount) "
+		+ "FROM OwnerRevenueDaily r "
+		+ "WHERE r.userId = :userId AND (:cursor IS NULL OR r.revenueDate < :cursor) "
+		+ "ORDER BY r.revenueDate DESC "
+		+ "LIMIT :size ")
+	List<DailyRevenueResponseDTO> findPage(Integer userId, LocalDate cursor, int size);
+
+	@Query("SELECT NEW com.go.ski.payment.support.dto.response.RevenueTotalResponseDTO ( "
+		+ "COALESCE(SUM(r.paymentCount), 0), COALESCE(SUM(r.paymentAmount), 0), "
+		+ "COALESCE(SUM(r.refundCount), 0), COALESCE(SUM(r.refundAmount), 0)) "
+		+ "FROM OwnerRevenueDaily r "
+		+ "WHERE r.userId = :userId ")
+	RevenueTotalResponseDTO findTotal(Integer userId);
+}
@@ -0,0 +1,49 @@
+package com.go.ski.payment.core.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.go.ski.payment.core.model.Payment;
+import com.go.ski.payment.core.model.Settlement;
+
+import lombok.RequiredArgsConstructor;
+
+// 일괄 취소용 JDBC 배치 insert
+// IDENTITY 키 엔티티는 Hibernate가 insert를 묶지 않으므로 JdbcTemplate으로 한 번에 보낸다
+@Repository
+@RequiredArgsConstructor
+public class PaymentBatchRepository {
+	private final JdbcTemplate jdbcTemplate;
+
+	public void insertSettlements(List<Settlement> settlements) {
+		jdbcTemplate.batchUpdate("INSERT INTO settlement "
+				+ "(user_id, settlement_amount, balance, settlement_date, payload, deposit_status) "
+				+ "VALUES (?, ?, ?, ?, ?, ?)",
+			settlements, settlements.size(), (ps, settlement) -> {
+				ps.setInt(1, settlement.getUser().getUserId());
+				ps.setInt(2, settlement.getSettlementAmount());
+				ps.setInt(3, settlement.getBalance());
+				ps.setTimestamp(4, Timestamp.valueOf(settlement.getSettlementDate()));
+				ps.setString(5, settlement.getPayload());
+				ps.setInt(6, settlement.getDepositStatus());
+			});
+	}
+
+	public void insertPayments(List<Payment> payments) {
+		jdbcTemplate.batchUpdate("INSERT INTO payment "
+				+ "(lesson_id, total_amount, payment_status, charge_id, payment_date, tid, payback_date) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?)",
+			payments, payments.size(), (ps, payment) -> {
+				ps.setInt(1, payment.getLessonPaymentInfo().getLessonId());
+				ps.setInt(2, payment.getTotalAmount());
+				ps.setInt(3, payment.getPaymentStatus());
+				ps.setInt(4, payment.getChargeId());
+				ps.setTimestamp(5, Timestamp.valueOf(payment.getPaymentDate()));
+				ps.setString(6, payment.getTid());
+				ps.setTimestamp(7, payment.getPaybackDate() != null ? Timestamp.valueOf(payment.getPaybackDate()) : null);
+			});
+	}
+}
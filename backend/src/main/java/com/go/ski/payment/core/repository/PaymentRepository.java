@@ -1,28 +1,46 @@
 package com.go.ski.payment.core.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import com.go.ski.payment.core.model.LessonPaymentInfo;
 import com.go.ski.payment.core.model.Payment;
-import com.go.ski.payment.support.dto.util.TotalPaymentDTO;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 
-	@Query("SELECT NEW com.go.ski.payment.support.dto.util.TotalPaymentDTO ( "
-		+ "p.totalAmount, c.ownerChargeRate) "
-		+ "FROM Team t "
-		+ "JOIN Lesson l ON t.teamId = l.team.teamId "
-		+ "JOIN LessonInfo li ON l.lessonId = li.lessonId "
-		+ "JOIN LessonPaymentInfo lp ON l.lessonId = lp.lessonId "
-		+ "JOIN Payment p ON lp.lessonId = p.lessonPaymentInfo.lessonId "
-		+ "JOIN Charge c ON p.chargeId = c.chargeId "
-		+ "WHERE t.user.userId = :userId AND li.lessonDate < CURRENT_DATE "
-		+ "ORDER BY l.lessonId DESC ")
-	List<TotalPaymentDTO> findTotalPayment(Integer userId);
-
-	Payment findByLessonPaymentInfoLessonId(Integer lessonId);
+	Optional<Payment> findByLessonPaymentInfoLessonIdAndPaymentStatus(Integer lessonId, Integer paymentStatus);
+
+	// 사장 팀의 지난 강습 결제(승인, 환불)에서 사장 몫 합계. 건마다 원 단위 아래는 버린다
+	@Query(value = "SELECT COALESCE(SUM((p.total_amount * c.owner_charge_rate) DIV 100), 0) "
+		+ "FROM team t "
+		+ "JOIN lesson l ON l.team_id = t.team_id "
+		+ "JOIN lesson_info li ON li.lesson_id = l.lesson_id "
+		+ "JOIN payment p ON p.lesson_id = l.lesson_id "
+		+ "JOIN charge c ON c.charge_id = p.charge_id "
+		+ "WHERE t.user_id = :userId AND li.lesson_date < CURRENT_DATE AND p.payment_status IN (0, 2) ",
+		nativeQuery = true)
+	long sumOwnerShareOfPastLessons(Integer userId);
+
+	// tid의 승인 결제 행 (승인, 승인 대기, 승인 실패). 환불 행은 같은 tid라도 상태로 거른다
+	Optional<Payment> findFirstByTidAndPaymentStatusIn(String tid, Collection<Integer> paymentStatuses);
+
+	List<Payment> findByLessonPaymentInfoLessonIdInAndPaymentStatus(Collection<Integer> lessonIds, Integer paymentStatus);
+
+	List<Payment> findByPaymentStatusAndPaymentDateBefore(Integer paymentStatus, LocalDateTime paymentDate);
+
+	List<Payment> findByTidInAndPaymentStatus(Collection<String> tids, Integer paymentStatus);
+
+	List<Payment> findByPaymentStatusAndPaybackDateBefore(Integer paymentStatus, LocalDateTime paybackDate);
+
+	// 상태가 from일 때만 바꾼다. 바뀐 행 수로 먼저 처리한 쪽을 가린다
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Payment p SET p.paymentStatus = :to WHERE p.paymentId = :paymentId AND p.paymentStatus = :from")
+	int updatePaymentStatus(Integer paymentId, Integer from, Integer to);
 }
 
@@ -0,0 +1,16 @@
+package com.go.ski.payment.core.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.go.ski.payment.core.model.PendingPayment;
+
+public interface PendingPaymentRepository extends JpaRepository<PendingPayment, String> {
+
+	@Modifying
+	@Query("DELETE FROM PendingPayment p WHERE p.createdAt < :createdAt")
+	int deleteCreatedBefore(LocalDateTime createdAt);
+}
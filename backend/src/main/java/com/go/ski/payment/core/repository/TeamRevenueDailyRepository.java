@@ -0,0 +1,51 @@
+package com.go.ski.payment.core.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.go.ski.payment.core.model.TeamRevenueDaily;
+import com.go.ski.payment.support.dto.response.DailyRevenueResponseDTO;
+
+public interface TeamRevenueDailyRepository extends JpaRepository<TeamRevenueDaily, TeamRevenueDaily.Key> {
+
+	@Modifying
+	@Query(value = "INSERT INTO team_revenue_daily "
+		+ "(team_id, revenue_date, payment_count, payment_amount, refund_count, refund_amount) "
+		+ "VALUES (:teamId, :revenueDate, :paymentCount, :paymentAmount, :refundCount, :refundAmount) "
+		+ "ON DUPLICATE KEY UPDATE "
+		+ "payment_count = payment_count + VALUES(payment_count), "
+		+ "payment_amount = payment_amount + VALUES(payment_amount), "
+		+ "refund_count = refund_count + VALUES(refund_count), "
+		+ "refund_amount = refund_amount + VALUES(refund_amount) ",
+		nativeQuery = true)
+	int add(Integer teamId, LocalDate revenueDate, int paymentCount, long paymentAmount, int refundCount,
+		long refundAmount);
+
+	// 집계 행이 하나도 없는 팀만 결제 내역으로 채운다 (승인은 결제일, 환불은 환불일 기준)
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO team_revenue_daily "
+		+ "(team_id, revenue_date, payment_count, payment_amount, refund_count, refund_amount) "
+		+ "SELECT l.team_id, DATE(IF(p.payment_status = 2, p.payback_date, p.payment_date)) AS revenue_date, "
+		+ "SUM(p.payment_status = 0), SUM(IF(p.payment_status = 0, p.total_amount, 0)), "
+		+ "SUM(p.payment_status = 2), SUM(IF(p.payment_status = 2, p.total_amount, 0)) "
+		+ "FROM payment p "
+		+ "JOIN lesson l ON l.lesson_id = p.lesson_id "
+		+ "WHERE p.payment_status IN (0, 2) "
+		+ "AND NOT EXISTS (SELECT 1 FROM team_revenue_daily r WHERE r.team_id = l.team_id) "
+		+ "GROUP BY l.team_id, revenue_date ",
+		nativeQuery = true)
+	int backfill();
+
+	// cursor보다 이전 날짜를 최신순으로 size개
+	@Query("SELECT NEW com.go.ski.payment.support.dto.response.DailyRevenueResponseDTO ( "
+		+ "r.revenueDate, r.paymentCount, r.paymentAmount, r.refundCount, r.refundAmount) "
+		+ "FROM TeamRevenueDaily r "
+		+ "WHERE r.teamId = :teamId AND (:cursor IS NULL OR r.revenueDate < :cursor) "
+		+ "ORDER BY r.revenueDate DESC "
+		+ "LIMIT :size ")
+	List<DailyRevenueResponseDTO> findPage(Integer teamId, LocalDate cursor, int size);
+}
@@ -0,0 +1,9 @@
+package com.go.ski.payment.core.service;
+
+import java.util.concurrent.CompletableFuture;
+
+// 계좌의 예금주를 조회하는 외부 연동. 운영은 CODEF, 테스트는 stub을 쓴다
+public interface AccountHolderClient {
+
+    CompletableFuture<String> requestHolderName(String bank, String account, String identity);
+}
@@ -0,0 +1,77 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.payment.support.config.AccountVerificationConfig;
+import com.go.ski.payment.support.dto.request.VerifyAccountRequestDTO;
+import com.go.ski.payment.support.dto.response.VerifyAccountResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// 정산 계좌 예금주 확인
+// 확인된 (은행, 계좌, 생년월일, 예금주)는 HMAC 해시로만 Redis에 잠깐 남겨서 다시 입력할 때 CODEF를 부르지 않는다
+// 계좌번호와 생년월일은 경우의 수가 적어서 공개된 값을 키로 쓰면 대입으로 풀리므로 전용 비밀 키를 쓴다
+// 계좌 정보 원문은 저장하지 않는다
+@Slf4j
+@Service
+public class AccountVerificationService {
+    private static final String VERIFIED_PREFIX = "accountVerified:";
+
+    private final AccountHolderClient accountHolderClient;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AccountVerificationConfig accountVerificationConfig;
+    private final SecretKeySpec hashKey;
+
+    public AccountVerificationService(AccountHolderClient accountHolderClient,
+                                      StringRedisTemplate stringRedisTemplate,
+                                      AccountVerificationConfig accountVerificationConfig) {
+        if (accountVerificationConfig.hashSecret() == null || accountVerificationConfig.hashSecret().isBlank()) {
+            throw new IllegalStateException("codef.verification.hash-secret is required");
+        }
+        this.accountHolderClient = accountHolderClient;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.accountVerificationConfig = accountVerificationConfig;
+        this.hashKey = new SecretKeySpec(accountVerificationConfig.hashSecret().getBytes(StandardCharsets.UTF_8),
+                "HmacSHA256");
+    }
+
+    public CompletableFuture<VerifyAccountResponseDTO> verify(VerifyAccountRequestDTO request) {
+        String key = VERIFIED_PREFIX + hash(request);
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+            return CompletableFuture.completedFuture(VerifyAccountResponseDTO.builder().isValid(true).build());
+        }
+
+        return accountHolderClient.requestHolderName(request.getBank(), request.getAccount(), request.getIdentity())
+                .thenApply(name -> {
+                    boolean isValid = name.equals(request.getName());
+                    if (isValid) {
+                        stringRedisTemplate.opsForValue().set(key, "1",
+                                accountVerificationConfig.cacheTtlSeconds(), TimeUnit.SECONDS);
+                    }
+                    return VerifyAccountResponseDTO.builder().isValid(isValid).build();
+                });
+    }
+
+    private String hash(VerifyAccountRequestDTO request) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(hashKey);
+            // 구분자가 값에 섞여도 경계가 바뀌지 않도록 길이를 같이 넣는다
+            for (String value : new String[]{request.getBank(), request.getAccount(), request.getIdentity(), request.getName()}) {
+                byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+                mac.update((bytes.length + ":").getBytes(StandardCharsets.UTF_8));
+                mac.update(bytes);
+            }
+            return HexFormat.of().formatHex(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
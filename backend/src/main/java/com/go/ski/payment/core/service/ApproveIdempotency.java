@@ -0,0 +1,85 @@
+package com.go.ski.payment.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.payment.support.dto.response.KakaopayApproveResponseDTO;
+import com.go.ski.payment.support.exception.PaymentExceptionEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// 결제 승인 요청의 멱등 처리
+// 처음 들어온 요청만 승인을 진행하고, 같은 키(tid)로 다시 들어온 요청은 저장된 결과를 돌려준다
+// 진행 중 표시는 승인 요청 타임아웃보다 길게 잡아서 처리 중에 만료되지 않게 한다
+// 다시 시도해도 바뀌지 않는 실패(승인 거절, 승인 전 강습 취소)도 결과로 남겨서 같은 실패를 돌려준다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApproveIdempotency {
+    private static final String PREFIX = "paymentApprove:";
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final long IN_PROGRESS_MILLIS = 60_000;
+    private static final String FAILED_PREFIX = "FAILED:";
+    private static final long RESULT_HOURS = 24;
+    // 진행 중 표시일 때만 지운다. 남겨둔 결과는 지우지 않는다
+    private static final DefaultRedisScript<Long> ABORT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 결과가 있으면 돌려주고, 없으면 진행 중으로 표시한 뒤 빈 값을 돌려준다
+    public Optional<KakaopayApproveResponseDTO> begin(Integer userId, String idempotencyKey) {
+        String key = key(userId, idempotencyKey);
+        Boolean acquired = stringRedisTemplate.opsForValue()
+                .setIfAbsent(key, IN_PROGRESS, IN_PROGRESS_MILLIS, TimeUnit.MILLISECONDS);
+        if (Boolean.TRUE.equals(acquired)) return Optional.empty();
+
+        String stored = stringRedisTemplate.opsForValue().get(key);
+        if (stored == null || IN_PROGRESS.equals(stored)) {
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.PAYMENT_IN_PROGRESS);
+        }
+        if (stored.startsWith(FAILED_PREFIX)) {
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.valueOf(stored.substring(FAILED_PREFIX.length())));
+        }
+        try {
+            return Optional.of(objectMapper.readValue(stored, KakaopayApproveResponseDTO.class));
+        } catch (JsonProcessingException e) {
+            log.warn("저장된 승인 결과를 읽지 못함 - {}", key, e);
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.PAYMENT_IN_PROGRESS);
+        }
+    }
+
+    public void complete(Integer userId, String idempotencyKey, KakaopayApproveResponseDTO response) {
+        try {
+            stringRedisTemplate.opsForValue().set(key(userId, idempotencyKey),
+                    objectMapper.writeValueAsString(response), RESULT_HOURS, TimeUnit.HOURS);
+        } catch (JsonProcessingException e) {
+            // 결과를 못 남기면 진행 중 표시가 만료될 때까지 재시도는 처리 중으로 응답된다
+            log.warn("승인 결과 저장 실패 - {}", key(userId, idempotencyKey), e);
+        }
+    }
+
+    // 다시 시도해도 같은 실패를 돌려준다
+    public void fail(Integer userId, String idempotencyKey, PaymentExceptionEnum reason) {
+        stringRedisTemplate.opsForValue().set(key(userId, idempotencyKey), FAILED_PREFIX + reason.name(),
+                RESULT_HOURS, TimeUnit.HOURS);
+    }
+
+    // 승인이 끝나지 않았으면 표시를 지워서 다시 시도할 수 있게 한다
+    public void abort(Integer userId, String idempotencyKey) {
+        stringRedisTemplate.execute(ABORT_SCRIPT, List.of(key(userId, idempotencyKey)), IN_PROGRESS);
+    }
+
+    private String key(Integer userId, String idempotencyKey) {
+        return PREFIX + userId + ":" + idempotencyKey;
+    }
+}
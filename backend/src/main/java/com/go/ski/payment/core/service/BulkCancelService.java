@@ -0,0 +1,240 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.common.service.ReferenceDataCache;
+import com.go.ski.lesson.core.service.LessonAvailabilityIndex;
+import com.go.ski.lesson.core.service.TeamDayAdmission;
+import com.go.ski.notification.support.EventPublisher;
+import com.go.ski.payment.core.model.Charge;
+import com.go.ski.payment.core.model.LessonInfo;
+import com.go.ski.payment.core.model.Payment;
+import com.go.ski.payment.core.repository.LessonInfoRepository;
+import com.go.ski.payment.core.repository.PaymentBatchRepository;
+import com.go.ski.payment.core.repository.PaymentRepository;
+import com.go.ski.payment.support.config.BulkCancelConfig;
+import com.go.ski.payment.support.dto.request.BulkCancelRequestDTO;
+import com.go.ski.payment.support.dto.response.BulkCancelResponseDTO;
+import com.go.ski.payment.support.exception.PaymentExceptionEnum;
+import com.go.ski.schedule.core.service.ScheduleService;
+import com.go.ski.team.core.model.SkiResort;
+import com.go.ski.team.core.model.Team;
+import com.go.ski.team.core.repository.TeamRepository;
+import com.go.ski.user.core.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// 날씨 등으로 하루 강습을 한 번에 취소한다 (팀 하루 또는 리조트에 있는 내 팀 전체의 하루)
+// 1. 한 트랜잭션에서 강습 상태, 정산, 환불 결제 행을 한 번에 쓰고 팀-날짜별 스케줄 캐시를 한 번만 다시 만든다
+// 2. 환불 행은 환불 대기(5)로 커밋하고, 커밋 후 카카오페이 취소 요청을 동시 요청 수와 초당 요청 수를 제한해서 백그라운드로 보낸다
+// 보내지 못한 건(서버 재시작, 5xx, 타임아웃)은 환불 대기로 남아 RefundService의 재시도 작업이 마무리한다
+// 결제가 아직 승인 대기인 강습도 같이 취소한다. 환불 행은 만들지 않고, 승인되면 PaymentApprovalService.complete가 전액 환불한다
+// 진행 상황은 Redis(bulkCancel:jobId)에 남기고 조회 API로 확인한다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkCancelService {
+    private static final String JOB_PREFIX = "bulkCancel:";
+    private static final long JOB_TTL_HOURS = 24;
+    private static final int LESSON_ACTIVE = 0;
+    private static final int LESSON_CANCELED = 2;
+    private static final int PAYMENT_APPROVED = 0;
+    private static final int PAYMENT_PENDING = 3;
+
+    private final TeamRepository teamRepository;
+    private final LessonInfoRepository lessonInfoRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentBatchRepository paymentBatchRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final SettlementLedger settlementLedger;
+    private final TeamDayAdmission teamDayAdmission;
+    private final ScheduleService scheduleService;
+    private final LessonAvailabilityIndex lessonAvailabilityIndex;
+    private final EventPublisher eventPublisher;
+    private final RefundService refundService;
+    private final BulkCancelConfig bulkCancelConfig;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public BulkCancelResponseDTO cancel(User user, BulkCancelRequestDTO request) {
+        if (request.getLessonDate() == null) {
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.BULK_CANCEL_DATE_REQUIRED);
+        }
+        List<Team> teams = findOwnerTeams(user, request);
+        LocalDate lessonDate = request.getLessonDate();
+
+        List<RefundRequest> refundRequests = new ArrayList<>();
+        Integer canceledLessons = transaction().execute(status -> {
+            // 같은 팀-날짜의 예약과 겹치지 않게 먼저 점유
+            for (Team team : teams) {
+                teamDayAdmission.admit(team.getTeamId(), lessonDate);
+            }
+
+            Map<Integer, LessonInfo> lessonInfos = new LinkedHashMap<>();
+            for (Team team : teams) {
+                for (LessonInfo lessonInfo : lessonInfoRepository.findWithTeamByLessonDateAndTeamIdAndLessonStatus(
+                        lessonDate, team.getTeamId(), LESSON_ACTIVE)) {
+                    lessonInfos.put(lessonInfo.getLessonId(), lessonInfo);
+                }
+            }
+            if (lessonInfos.isEmpty()) return 0;
+
+            // 취소 수수료 규칙은 강습일까지 남은 날짜로 정해지므로 모든 강습이 같은 요금제를 쓴다
+            long dayDiff = ChronoUnit.DAYS.between(LocalDate.now(), lessonDate);
+            int chargeId = dayDiff > 7 ? 1 : dayDiff > 2 ? 2 : 3;
+            Charge charge = referenceDataCache.getCharge(chargeId).orElseThrow();
+            double studentChargeRate = charge.getStudentChargeRate() / 100.0;
+            double ownerChargeRate = charge.getOwnerChargeRate() / 100.0;
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Integer> settlementAmounts = new ArrayList<>();
+            List<Payment> refunds = new ArrayList<>();
+            for (Payment payment : paymentRepository.findByLessonPaymentInfoLessonIdInAndPaymentStatus(
+                    lessonInfos.keySet(), PAYMENT_APPROVED)) {
+                LessonInfo lessonInfo = lessonInfos.get(payment.getLessonPaymentInfo().getLessonId());
+                int payback = (int) (payment.getTotalAmount() * studentChargeRate);
+                settlementAmounts.add((int) (payment.getTotalAmount() * ownerChargeRate));
+                if (dayDiff <= 2) continue;
+
+                // 매출 집계는 카카오페이 취소가 끝난 뒤 RefundService가 더한다
+                refunds.add(RefundService.pendingRefund(payment, payback, chargeId, now));
+                refundRequests.add(new RefundRequest(lessonInfo.getLessonId(), payment.getTid()));
+            }
+
+            // 승인 대기 결제는 카카오페이 승인이 끝나야 환불할 수 있다 (승인이 안되면 환불할 것도 없다)
+            List<Integer> awaitingApproval = paymentRepository.findByLessonPaymentInfoLessonIdInAndPaymentStatus(
+                    lessonInfos.keySet(), PAYMENT_PENDING).stream()
+                    .map(payment -> payment.getLessonPaymentInfo().getLessonId())
+                    .toList();
+            if (!awaitingApproval.isEmpty()) {
+                log.info("일괄 취소 - 승인 대기 강습은 승인 후 전액 환불: {}", awaitingApproval);
+            }
+
+            // 벌크 update가 영속성 컨텍스트를 비우기 전에 알림을 만든다
+            for (LessonInfo lessonInfo : lessonInfos.values()) {
+                eventPublisher.publishCancelEvent(lessonInfo.getLesson(), lessonInfo);
+            }
+            lessonInfoRepository.updateLessonStatus(lessonInfos.keySet(), LESSON_CANCELED);
+            settlementLedger.appendAll(user, settlementAmounts, now);
+            if (!refunds.isEmpty()) {
+                paymentBatchRepository.insertPayments(refunds);
+            }
+            for (Team team : teams) {
+                // 팀-날짜마다 스케줄 캐시는 한 번만 다시 만든다
+                scheduleService.scheduleCaching(team, lessonDate);
+                lessonAvailabilityIndex.invalidate(team.getTeamId(), lessonDate);
+            }
+            return lessonInfos.size();
+        });
+
+        String jobId = UUID.randomUUID().toString();
+        startJob(jobId, user.getUserId(), canceledLessons, refundRequests.size());
+        sendRefunds(jobId, refundRequests);
+        log.info("일괄 취소 - jobId: {}, 강습 {}건, 환불 {}건", jobId, canceledLessons, refundRequests.size());
+        return getProgress(user, jobId);
+    }
+
+    public BulkCancelResponseDTO getProgress(User user, String jobId) {
+        Map<Object, Object> job = stringRedisTemplate.opsForHash().entries(JOB_PREFIX + jobId);
+        if (job.isEmpty() || !String.valueOf(user.getUserId()).equals(job.get("ownerId"))) {
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.BULK_CANCEL_NOT_FOUND);
+        }
+        Set<String> failedLessonIds = stringRedisTemplate.opsForSet().members(JOB_PREFIX + jobId + ":failed");
+        return new BulkCancelResponseDTO(
+                jobId,
+                Integer.parseInt((String) job.get("canceledLessons")),
+                Integer.parseInt((String) job.get("total")),
+                Integer.parseInt((String) job.getOrDefault("succeeded", "0")),
+                Integer.parseInt((String) job.getOrDefault("failed", "0")),
+                failedLessonIds == null ? List.of() : failedLessonIds.stream().map(Integer::valueOf).sorted().toList());
+    }
+
+    private List<Team> findOwnerTeams(User user, BulkCancelRequestDTO request) {
+        if (request.getTeamId() == null && request.getResortId() == null) {
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.BULK_CANCEL_TARGET_REQUIRED);
+        }
+        if (request.getTeamId() != null) {
+            Team team = teamRepository.findById(request.getTeamId()).orElseThrow();
+            if (!isOwner(user, team)) {
+                throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.NOT_TEAM_OWNER);
+            }
+            return List.of(team);
+        }
+        List<Team> teams = teamRepository.findBySkiResort(SkiResort.builder().resortId(request.getResortId()).build())
+                .stream()
+                .filter(team -> isOwner(user, team))
+                .toList();
+        if (teams.isEmpty()) {
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.NOT_TEAM_OWNER);
+        }
+        return teams;
+    }
+
+    private boolean isOwner(User user, Team team) {
+        return team.getUser() != null && team.getUser().getUserId().equals(user.getUserId());
+    }
+
+    // 커밋된 환불 대기 행을 카카오페이에 보낸다. 거절된 강습은 진행 상황에 남기고 환불 실패로 표시한다
+    // 여기서 못 보낸 건은 환불 대기로 남아 있으므로 재시도 작업이 다시 보낸다
+    private void sendRefunds(String jobId, List<RefundRequest> refundRequests) {
+        if (refundRequests.isEmpty()) return;
+
+        Map<String, Integer> lessonIds = new HashMap<>();
+        for (RefundRequest refundRequest : refundRequests) {
+            lessonIds.put(refundRequest.tid(), refundRequest.lessonId());
+        }
+        List<Payment> refunds = paymentRepository.findByTidInAndPaymentStatus(lessonIds.keySet(), RefundService.REFUND_PENDING);
+
+        Duration interval = Duration.ofMillis(Math.max(1000L / Math.max(bulkCancelConfig.ratePerSecond(), 1), 1));
+        Flux.fromIterable(refunds)
+                .delayElements(interval)
+                .flatMap(refund -> Mono.fromCallable(() -> refundService.send(refund))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .doOnNext(status -> {
+                            if (status == RefundService.PAYMENT_REFUND) {
+                                stringRedisTemplate.opsForHash().increment(JOB_PREFIX + jobId, "succeeded", 1);
+                            } else if (status == RefundService.REFUND_FAILED) {
+                                stringRedisTemplate.opsForHash().increment(JOB_PREFIX + jobId, "failed", 1);
+                                stringRedisTemplate.opsForSet().add(JOB_PREFIX + jobId + ":failed",
+                                        String.valueOf(lessonIds.get(refund.getTid())));
+                                stringRedisTemplate.expire(JOB_PREFIX + jobId + ":failed", JOB_TTL_HOURS, TimeUnit.HOURS);
+                            }
+                        })
+                        .onErrorResume(e -> {
+                            log.warn("일괄 취소 환불 진행 상황 기록 실패 - jobId: {}, tid: {}", jobId, refund.getTid(), e);
+                            return Mono.empty();
+                        }), Math.max(bulkCancelConfig.concurrency(), 1))
+                .subscribe();
+    }
+
+    private void startJob(String jobId, Integer ownerId, Integer canceledLessons, int total) {
+        Map<String, String> job = new HashMap<>();
+        job.put("ownerId", String.valueOf(ownerId));
+        job.put("canceledLessons", String.valueOf(canceledLessons != null ? canceledLessons : 0));
+        job.put("total", String.valueOf(total));
+        job.put("succeeded", "0");
+        job.put("failed", "0");
+        stringRedisTemplate.opsForHash().putAll(JOB_PREFIX + jobId, job);
+        stringRedisTemplate.expire(JOB_PREFIX + jobId, JOB_TTL_HOURS, TimeUnit.HOURS);
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private record RefundRequest(Integer lessonId, String tid) {
+    }
+}
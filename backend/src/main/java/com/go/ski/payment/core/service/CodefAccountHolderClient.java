@@ -0,0 +1,75 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.payment.support.config.AccountVerificationConfig;
+import io.codef.api.EasyCodef;
+import io.codef.api.EasyCodefServiceType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// CODEF 예금주 조회
+// EasyCodef는 한 번만 만들어서 키 설정과 발급받은 토큰을 재사용한다
+// 조회는 전용 스레드 풀에서 돌리고 CompletableFuture로 돌려줘서 요청 스레드를 막지 않는다
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "codef.verification", name = "stub", havingValue = "false", matchIfMissing = true)
+public class CodefAccountHolderClient implements AccountHolderClient {
+    //데모버전임
+    //추후 변경 요망
+    private static final String HOLDER_AUTHENTICATION_URL = "https://development.codef.io/v1/kr/bank/a/account/holder-authentication";
+
+    private final EasyCodef codef;
+    private final ExecutorService executor;
+    private final AccountVerificationConfig accountVerificationConfig;
+
+    public CodefAccountHolderClient(@Value("${codef.key}") String codefKey,
+                                    @Value("${codef.demo.client.id}") String codefId,
+                                    @Value("${codef.demo.client.secret}") String codefSecret,
+                                    AccountVerificationConfig accountVerificationConfig) {
+        this.codef = new EasyCodef();
+        this.codef.setPublicKey(codefKey);
+        this.codef.setClientInfoForDemo(codefId, codefSecret);
+        this.accountVerificationConfig = accountVerificationConfig;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(accountVerificationConfig.poolSize(), 1), runnable -> {
+            Thread thread = new Thread(runnable, "codef-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> requestHolderName(String bank, String account, String identity) {
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("bank", bank);
+        params.put("account", account);
+        params.put("identity", identity);
+
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return codef.requestProduct(HOLDER_AUTHENTICATION_URL, EasyCodefServiceType.DEMO, params);
+                    } catch (Exception e) {
+                        if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                        log.warn("CODEF 예금주 조회 실패 - {}", e.getMessage());
+                        throw new CompletionException(e);
+                    }
+                }, executor)
+                .orTimeout(accountVerificationConfig.timeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
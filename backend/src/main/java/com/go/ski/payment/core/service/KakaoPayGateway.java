@@ -0,0 +1,79 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.payment.support.dto.response.KakaopayApproveResponseDTO;
+import com.go.ski.payment.support.dto.response.KakaopayCancelResponseDTO;
+import com.go.ski.payment.support.dto.response.KakaopayOrderResponseDTO;
+import com.go.ski.payment.support.dto.response.KakaopayPrepareResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// 카카오페이 API 호출을 한 곳에서 담당한다
+// 풀링된 WebClient로 보내고, 응답은 CompletableFuture로 돌려줘서 호출하는 쪽이 기다릴지 정한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KakaoPayGateway {
+    @Value("${pay.secret_key}")
+    private String secretKey;
+    @Value("${pay.secret_key_dev}")
+    private String secretKeyDev;
+
+    private final WebClient kakaoPayWebClient;
+
+    public CompletableFuture<KakaopayPrepareResponseDTO> ready(Map<String, String> params) {
+        return post("/ready", params, KakaopayPrepareResponseDTO.class);
+    }
+
+    public CompletableFuture<KakaopayApproveResponseDTO> approve(Map<String, String> params) {
+        return post("/approve", params, KakaopayApproveResponseDTO.class);
+    }
+
+    public CompletableFuture<KakaopayCancelResponseDTO> cancel(Map<String, String> params) {
+        return post("/cancel", params, KakaopayCancelResponseDTO.class);
+    }
+
+    // 결제 상태 조회 (승인 중 중단된 결제 복구용)
+    public CompletableFuture<KakaopayOrderResponseDTO> order(Map<String, String> params) {
+        return post("/order", params, KakaopayOrderResponseDTO.class);
+    }
+
+    // 결제 상태 조회 결과를 승인 응답 형식으로 읽는다 (승인 응답에만 있는 aid, sid, 카드 정보는 비어 있다)
+    // 승인 응답을 받지 못한 채 복구 작업이 승인한 결제를 다시 승인 요청했을 때 돌려준다
+    public CompletableFuture<KakaopayApproveResponseDTO> orderAsApproval(Map<String, String> params) {
+        return post("/order", params, KakaopayApproveResponseDTO.class);
+    }
+
+    // 동기 흐름에서 결과를 기다린다. WebClient 예외는 감싸지 않고 그대로 던진다
+    public <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> post(String uri, Map<String, String> params, Class<T> responseType) {
+        return kakaoPayWebClient.post()
+                .uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, authorization("test"))
+                .bodyValue(params)
+                .retrieve()
+                .bodyToMono(responseType)
+                .doOnError(e -> log.warn("카카오페이 {} 요청 실패 - {}", uri, e.getMessage()))
+                .toFuture();
+    }
+
+    // 추후에 서비스 모드로 변경
+    private String authorization(String mode) {
+        return "SECRET_KEY " + (mode.equals("test") ? secretKeyDev : secretKey);
+    }
+}
@@ -2,14 +2,10 @@ package com.go.ski.payment.core.service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import com.go.ski.payment.support.dto.request.KakaopayApproveRequestDTO;
 import com.go.ski.payment.support.dto.request.KakaopayCancelRequestDTO;
@@ -33,26 +29,17 @@ public class KakaoPayService {
 	public String clientId;
 	@Value("${pay.client_secret}")
 	public String clientSecret;
-	@Value("${pay.secret_key}")
-	public String secretKey;
-	@Value("${pay.secret_key_dev}")
-	public String secretKeyDev;
 	@Value("${pay.approval_url}")
 	public String approvalUrl;
 	@Value("${pay.cancel_url}")
 	public String cancelUrl;
 	@Value("${pay.fail_url}")
 	public String failUrl;
-	private String HOST = "https://open-api.kakaopay.com/online/v1/payment";
-	private final RestTemplate restTemplate = new RestTemplate();
+	private final KakaoPayGateway kakaoPayGateway;
 
 	//결제 준비
 	//클라이언트의 결제 준비 요청을 kakao 서버로 던지기 위해 변환
-	@Transactional
-	public KakaopayPrepareResponseDTO getPrepareResponse(KakaopayPrepareRequestDTO request) {
-		//헤더 설정 추후에 서비스 모드로 변경
-		HttpHeaders headers = getHeader("test");
-
+	public CompletableFuture<KakaopayPrepareResponseDTO> getPrepareResponse(KakaopayPrepareRequestDTO request) {
 		Map<String, String> params = new HashMap<>();
 		params.put("cid", testId);
 		params.put("partner_order_id", request.getPartnerOrderId());
@@ -66,10 +53,7 @@ public class KakaoPayService {
 		params.put("fail_url", failUrl);//url 보내줌
 
 		log.info("data : {}", params);
-		HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(params, headers);
-		ResponseEntity<KakaopayPrepareResponseDTO> responseEntity = restTemplate.postForEntity(HOST + "/ready", requestEntity, KakaopayPrepareResponseDTO.class);
-		log.info("data : {}", responseEntity);
-		return responseEntity.getBody();
+		return kakaoPayGateway.ready(params);
 	}
 
 	//결제 요청
@@ -99,9 +83,7 @@ public class KakaoPayService {
 	 * 할부 유형
 	 * 카드 상품 코드
 	 * */
-	public KakaopayApproveResponseDTO getApproveResponse(KakaopayApproveRequestDTO request) {
-		HttpHeaders headers = getHeader("test");
-
+	public CompletableFuture<KakaopayApproveResponseDTO> getApproveResponse(KakaopayApproveRequestDTO request) {
 		Map<String, String> params = new HashMap<>();
 		params.put("cid", testId);
 		params.put("tid", request.getTid());
@@ -111,18 +93,13 @@ public class KakaoPayService {
 
 		log.info("params : {}", params);
 
-		HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(params, headers);
-		ResponseEntity<KakaopayApproveResponseDTO> responseEntity = restTemplate.postForEntity(HOST + "/approve", requestEntity, KakaopayApproveResponseDTO.class);
-		log.info("data : {}", responseEntity);
 		// 여기서 결제 정보를 db에 저장
-
-		return responseEntity.getBody();
+		return kakaoPayGateway.approve(params);
 	}
 
 	//결제 취소
 	//환급 금액은 내가 설정
-	public KakaopayCancelResponseDTO getCancelResponse(KakaopayCancelRequestDTO request) {
-		HttpHeaders headers = getHeader("test");
+	public CompletableFuture<KakaopayCancelResponseDTO> getCancelResponse(KakaopayCancelRequestDTO request) {
 		Map<String, String> params = new HashMap<>();
 		params.put("cid", testId);
 		params.put("tid", request.getTid());
@@ -131,21 +108,6 @@ public class KakaoPayService {
 
 		log.info("params : {}", params);
 
-		HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(params, headers);
-		ResponseEntity<KakaopayCancelResponseDTO> responseEntity = restTemplate.postForEntity(HOST + "/approve", requestEntity, KakaopayCancelResponseDTO.class);
-		log.info("data : {}", responseEntity);
-
-		return responseEntity.getBody();
-	}
-
-	public HttpHeaders getHeader(String mode) {
-		HttpHeaders headers = new HttpHeaders();
-
-		if(mode.equals("test")) headers.add("Authorization", "SECRET_KEY " + secretKeyDev);
-		else headers.add("Authorization", "SECRET_KEY " + secretKey);
-
-		headers.add("Content-type", "application/json");
-
-		return headers;
+		return kakaoPayGateway.cancel(params);
 	}
 }
\ No newline at end of file
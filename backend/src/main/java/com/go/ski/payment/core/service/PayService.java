@@ -1,19 +1,19 @@
 package com.go.ski.payment.core.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.common.service.ReferenceDataCache;
+import com.go.ski.lesson.core.service.LessonAvailabilityIndex;
+import com.go.ski.lesson.core.service.TeamDayAdmission;
 import com.go.ski.notification.support.EventPublisher;
 import com.go.ski.payment.core.model.*;
 import com.go.ski.payment.core.repository.*;
 import com.go.ski.payment.support.dto.request.*;
 import com.go.ski.payment.support.dto.response.*;
-import com.go.ski.payment.support.dto.util.StudentInfoDTO;
-import com.go.ski.payment.support.dto.util.TotalPaymentDTO;
-import com.go.ski.payment.support.dto.util.TotalSettlementDTO;
+import com.go.ski.payment.support.exception.PaymentExceptionEnum;
 import com.go.ski.redis.dto.PaymentCacheDto;
-import com.go.ski.redis.repository.PaymentCacheRepository;
 import com.go.ski.schedule.core.service.ScheduleService;
-import com.go.ski.schedule.support.exception.ScheduleExceptionEnum;
 import com.go.ski.team.core.model.Team;
 import com.go.ski.team.core.repository.TeamRepository;
 import com.go.ski.team.support.dto.TeamResponseDTO;
@@ -22,87 +22,72 @@ import com.go.ski.user.core.model.User;
 import com.go.ski.user.core.repository.InstructorRepository;
 import com.go.ski.user.core.repository.UserRepository;
 
-import io.codef.api.EasyCodef;
-import io.codef.api.EasyCodefServiceType;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.UnsupportedEncodingException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PayService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_PAGE_SIZE = 500;
+    private static final int LESSON_ACTIVE = 0;
+    private static final int LESSON_CANCELED = 2;
+
     @Value("${pay.test_id}")
     public String testId;
     @Value("${pay.client_id}")
     public String clientId;
     @Value("${pay.client_secret}")
     public String clientSecret;
-    @Value("${pay.secret_key}")
-    public String secretKey;
-    @Value("${pay.secret_key_dev}")
-    public String secretKeyDev;
     @Value("${pay.approval_url}")
     public String approvalUrl;
     @Value("${pay.cancel_url}")
     public String cancelUrl;
     @Value("${pay.fail_url}")
     public String failUrl;
-    @Value("${codef.key}")
-    private String codefKey;
-    @Value("${codef.demo.client.id}")
-    private String codefId;
-    @Value("${codef.demo.client.secret}")
-    private String codefSecret;
-    private String HOST = "https://open-api.kakaopay.com/online/v1/payment";
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final KakaoPayGateway kakaoPayGateway;
+    private final PaymentApprovalService paymentApprovalService;
+    private final RefundService refundService;
+    private final TeamDayAdmission teamDayAdmission;
     private final ScheduleService scheduleService;
+    private final LessonAvailabilityIndex lessonAvailabilityIndex;
 
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
     private final InstructorRepository instructorRepository;
     private final LessonRepository lessonRepository;
     private final LessonInfoRepository lessonInfoRepository;
-    private final LessonPaymentInfoRepository lessonPaymentInfoRepository;
-    private final StudentInfoRepository studentInfoRepository;
     private final PaymentRepository paymentRepository;
-    private final PaymentCacheRepository paymentCacheRepository;
+    private final PendingPaymentStore pendingPaymentStore;
+    private final ApproveIdempotency approveIdempotency;
     private final SettlementRepository settlementRepository;
-    private final ChargeRepository chargeRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final SettlementLedger settlementLedger;
+    private final RevenueRollup revenueRollup;
+    private final TeamRevenueDailyRepository teamRevenueDailyRepository;
+    private final OwnerRevenueDailyRepository ownerRevenueDailyRepository;
     private final EventPublisher eventPublisher;
-
-    //카카오 페이에 보낼 요청의 헤더 값을 넣어주는 메소드
-    public HttpHeaders getHeader(String mode) {
-        HttpHeaders headers = new HttpHeaders();
-
-        if (mode.equals("test"))
-            headers.add("Authorization", "SECRET_KEY " + secretKeyDev);
-        else
-            headers.add("Authorization", "SECRET_KEY " + secretKey);
-
-        headers.add("Content-type", "application/json");
-
-        return headers;
-    }
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
 
     // 사용자의 요청으로 생성되기 때문에 isOwn이 그냥 자체 서비스임 HttpServletRequest
     @Transactional
@@ -149,94 +134,53 @@ public class PayService {
                 .studentInfos(request.getStudentInfo())
                 .build();
 
-        paymentCacheRepository.save(paymentCache);
+        pendingPaymentStore.save(tid, paymentCache, httpServletRequest.getHeader("DeviceType"));
         return kakaopayPrepareResponseDTO;
     }
 
-    // 결제 승인
-    // 결제 테이블 생성해야함
-    @Transactional
+    // 결제 승인 (사가)
+    // 1. 짧은 트랜잭션으로 강습 자리를 잡고 결제를 승인 대기로 저장
+    // 2. 트랜잭션 없이 카카오페이 승인 요청
+    // 3. 승인되면 결제 확정과 정산을, 거절(4xx)되면 잡아둔 자리를 되돌린다
+    // 응답을 못 받거나(타임아웃, 연결 실패) 5xx인 경우는 승인 대기로 두고 PaymentApprovalService가 복구한다
+    // 승인은 tid당 한 번이므로 tid를 멱등 키로 쓴다. 다시 들어온 요청은 DB와 카카오페이를 거치지 않고 저장된 결과를 돌려준다
+    // 저장된 결과가 없는데 결제 행이 이미 있으면(앞선 시도가 타임아웃, 5xx, 확정 실패로 끝남) 그 결제의 상태로 답한다
     public KakaopayApproveResponseDTO getApproveResponse(
             HttpServletRequest httpServletRequest,
             ApprovePaymentRequestDTO request) {
 
         User user = (User) httpServletRequest.getAttribute("user");
 
-        PaymentCacheDto paymentCache = paymentCacheRepository
-                .findById(request.getTid())
-                .orElseThrow();
-
-        Lesson tmpLesson = lessonRepository.save(paymentCache.getLesson());
-        LessonInfo tmpLessonInfo = LessonInfo.builder()
-                .lessonId(tmpLesson.getLessonId())
-                .lesson(tmpLesson)
-                .lessonDate(paymentCache.getLessonInfo().getLessonDate())
-                .startTime(paymentCache.getLessonInfo().getStartTime())
-                .duration(paymentCache.getLessonInfo().getDuration())
-                .lessonType(paymentCache.getLessonInfo().getLessonType())
-                .studentCount(paymentCache.getLessonInfo().getStudentCount())
-                .lessonStatus(paymentCache.getLessonInfo().getLessonStatus())
-                .requestComplain(paymentCache.getLessonInfo().getRequestComplain())
-                .build();
-
-        lessonInfoRepository.save(tmpLessonInfo);
-        for (StudentInfoDTO studentInfoDTO : paymentCache.getStudentInfos()) {
-            StudentInfo tmpStudentInfo = StudentInfo.toStudentInfoForPayment(tmpLessonInfo, studentInfoDTO);
-            studentInfoRepository.save(tmpStudentInfo);
+        Optional<KakaopayApproveResponseDTO> stored = approveIdempotency.begin(user.getUserId(), request.getTid());
+        if (stored.isPresent()) {
+            log.info("이미 처리된 승인 요청 - tid: {}", request.getTid());
+            return stored.get();
         }
 
-        LessonPaymentInfo tmpLessonPaymentInfo = LessonPaymentInfo.builder()
-                .lessonId(tmpLesson.getLessonId())
-                .lesson(tmpLesson)
-                .basicFee(paymentCache.getLessonPaymentInfo().getBasicFee() * tmpLessonInfo.getDuration()) //기존 금액에 duration 곱함
-                .designatedFee(paymentCache.getLessonPaymentInfo().getDesignatedFee())
-                .levelOptionFee(paymentCache.getLessonPaymentInfo().getLevelOptionFee() * tmpLessonInfo.getDuration()) //기존 금액에 duration 곱함
-                .peopleOptionFee(paymentCache.getLessonPaymentInfo().getPeopleOptionFee() * tmpLessonInfo.getDuration()) //기존 금액에 duration 곱함
-                .build();
-        lessonPaymentInfoRepository.save(tmpLessonPaymentInfo);
-
-        Payment tmpPayment = Payment.builder()
-                .lessonPaymentInfo(tmpLessonPaymentInfo)
-                .totalAmount(tmpLessonPaymentInfo.getBasicFee()
-                        + tmpLessonPaymentInfo.getDesignatedFee()
-                        + tmpLessonPaymentInfo.getLevelOptionFee()
-                        + tmpLessonPaymentInfo.getPeopleOptionFee()
-                )
-                .paymentStatus(0)
-                .chargeId(0)// 사용자 0? 100?
-                .tid(paymentCache.getTid())
-                .paymentDate(LocalDateTime.now()).build();
-        paymentRepository.save(tmpPayment);
-
-        //정산 테이블에 추가
-        Team team = teamRepository.findById(tmpLesson.getTeam().getTeamId()).orElseThrow();
-        int ownerId = team.getUser().getUserId();
-        User owner = userRepository.findById(ownerId).orElseThrow();
-        //사장이 없으면 Exception
-        RecentSettlementRecordResponseDTO recentSettlementRecordResponseDTO = settlementRepository.findRecentBalance(
-                ownerId);
-        Integer lastBalance = recentSettlementRecordResponseDTO.getBalance();
-        if (lastBalance == null) {
-            lastBalance = 0;
+        KakaopayApproveResponseDTO response;
+        try {
+            response = approve(httpServletRequest, user, request);
+        } catch (RuntimeException e) {
+            approveIdempotency.abort(user.getUserId(), request.getTid());
+            throw e;
         }
+        approveIdempotency.complete(user.getUserId(), request.getTid(), response);
+        return response;
+    }
 
-        String timeString = tmpLessonInfo.getStartTime();
-
-        // String을 LocalTime으로 변환
-        LocalTime time = LocalTime.parse(timeString, DateTimeFormatter.ofPattern("HHmm"));
-
-        // LocalDateTime으로 결합
-        LocalDateTime dateTime = LocalDateTime.of(tmpLessonInfo.getLessonDate(), time);
+    private KakaopayApproveResponseDTO approve(HttpServletRequest httpServletRequest, User user,
+                                               ApprovePaymentRequestDTO request) {
+        // 앞선 시도가 결과 없이 끝난 tid는 다시 자리를 잡지 않는다 (승인 대기 결제는 복구 작업이 마무리)
+        Optional<Payment> previous = paymentRepository.findFirstByTidAndPaymentStatusIn(request.getTid(),
+                List.of(PaymentApprovalService.PAYMENT_APPROVED, PaymentApprovalService.PAYMENT_PENDING,
+                        PaymentApprovalService.PAYMENT_FAILED));
+        if (previous.isPresent()) {
+            return previousResult(user, previous.get());
+        }
+        PaymentCacheDto paymentCache = pendingPaymentStore.get(request.getTid(), user.getUserId());
 
-        Settlement settlement = Settlement.builder()
-                .settlementAmount(tmpPayment.getTotalAmount())
-                .balance(lastBalance + tmpPayment.getTotalAmount())
-                .depositStatus(0)
-                .settlementDate(dateTime)
-                .user(owner)
-                .build();
+        Payment payment = paymentApprovalService.reserve(paymentCache);
 
-        settlementRepository.save(settlement);
         // 이 정보는 굳이 내보내야하나?
         KakaopayApproveRequestDTO kakaopayApproveRequestDTO = KakaopayApproveRequestDTO.builder()
                 .tid(request.getTid())
@@ -245,112 +189,125 @@ public class PayService {
                 .pgToken(request.getPgToken())//pg_token
                 .build();
 
-        //		String deviceType = httpServletRequest.getHeader("DeviceType");
-        //        eventPublisher.publish(tmpLesson, tmpLessonInfo,deviceType);
-
-        // 강습 가능여부 판단 후 캐싱하는 메서드
-        if (!scheduleService.scheduleCaching(paymentCache.getLesson().getTeam(),
-                paymentCache.getLessonInfo().getLessonDate())) {
-            throw ApiExceptionFactory.fromExceptionEnum(ScheduleExceptionEnum.FAIL_ADD_SCHEDULE);
+        KakaopayApproveResponseDTO response;
+        try {
+            response = requestApproveToKakao(kakaopayApproveRequestDTO);
+        } catch (WebClientResponseException e) {
+            // 4xx는 카카오페이가 승인을 거절한 것이므로 잡아둔 자리를 되돌린다
+            // 5xx는 승인이 됐을 수도 있으므로 승인 대기로 두고 복구 작업이 결제 상태를 보고 정한다
+            if (e.getStatusCode().is4xxClientError()) {
+                paymentApprovalService.compensate(payment.getPaymentId());
+                approveIdempotency.fail(user.getUserId(), request.getTid(), PaymentExceptionEnum.PAYMENT_APPROVAL_FAILED);
+            }
+            throw e;
         }
 
         String deviceType = httpServletRequest.getHeader("DeviceType");
+        if (paymentApprovalService.complete(payment.getPaymentId(), paymentCache, deviceType)
+                == PaymentApprovalService.Completion.REFUNDED) {
+            approveIdempotency.fail(user.getUserId(), request.getTid(), PaymentExceptionEnum.LESSON_CANCELED_BEFORE_APPROVAL);
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.LESSON_CANCELED_BEFORE_APPROVAL);
+        }
+        return response;
+    }
 
-        return requestApproveToKakao(kakaopayApproveRequestDTO, tmpLesson, tmpLessonInfo, deviceType, paymentCache);
+    // 승인: 카카오페이 결제 상태를 승인 응답으로 돌려준다 (복구 작업이 승인한 경우 포함)
+    // 승인 실패: 카카오페이가 거절한 결제. 승인 대기: 복구 작업이 아직 정하지 않았다
+    private KakaopayApproveResponseDTO previousResult(User user, Payment payment) {
+        if (Integer.valueOf(PaymentApprovalService.PAYMENT_APPROVED).equals(payment.getPaymentStatus())) {
+            Map<String, String> params = new HashMap<>();
+            params.put("cid", testId);
+            params.put("tid", payment.getTid());
+            return kakaoPayGateway.await(kakaoPayGateway.orderAsApproval(params));
+        }
+        if (Integer.valueOf(PaymentApprovalService.PAYMENT_FAILED).equals(payment.getPaymentStatus())) {
+            approveIdempotency.fail(user.getUserId(), payment.getTid(), PaymentExceptionEnum.PAYMENT_APPROVAL_FAILED);
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.PAYMENT_APPROVAL_FAILED);
+        }
+        throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.PAYMENT_IN_PROGRESS);
     }
 
-    @Transactional
+    // 결제 취소 (환불)
+    // 1. 짧은 트랜잭션으로 강습을 취소 상태로 바꾸고 정산과 환불 대기 결제를 저장
+    // 2. 커밋 후 트랜잭션 밖에서 카카오페이 취소 요청 (RefundService, 실패하면 재시도 작업이 마무리)
+    // 강습 상태는 활성(0)일 때만 취소(2)로 바꾸므로 같은 강습을 동시에 취소해도 한 번만 환불된다
     public void getCancelResponse(
             CancelPaymentRequestDTO request) {
 
         //lessonId를 받았음
         //lesson이 없으면 에러 반환
-        Lesson lesson = lessonRepository.findById(request.getLessonId()).orElseThrow();
-        LessonInfo lessonInfo = lessonInfoRepository.findById(request.getLessonId()).orElseThrow();
-        LocalDate reservationDate = lessonInfo.getLessonDate();
-        Payment payment = paymentRepository.findByLessonPaymentInfoLessonId(request.getLessonId());
-
-        // 예약일이 지금보다 뒤에 있으면 취소 가능
-        // 반환 금액과 chargeId 변경해주기
-        long dayDiff = ChronoUnit.DAYS.between(LocalDate.now(), reservationDate);
-        int chargeId = 3;
-        int paymentStatus = 2;
-
-        // 돈을 바로 송금 해야함
-        // 날짜  확인
-        // 예약 후 취소시 : 전액 환불
-        if (dayDiff > 7) {
-            chargeId = 1;
-        }
-        // 이용일 7일 이전 취소 시 : 예약금의 50% 환불
-        else if (dayDiff > 2) {
-            chargeId = 2;
-        }
-
-        Charge charge = chargeRepository.findById(chargeId).orElseThrow();
-        double studentChargeRate = charge.getStudentChargeRate() / 100.0;
-        double ownerChargeRate = charge.getOwnerChargeRate() / 100.0;
-
-        //이걸로 결제 취소 시켜줘야함
-        double payback = payment.getTotalAmount() * studentChargeRate;
-        double settlementAmount = payment.getTotalAmount() * ownerChargeRate;
-        //강의 상태 강의 취소(2)로 변경
-        lessonInfo.setLessonStatus(2);
-        lessonInfoRepository.save(lessonInfo);
-
-        //정산 테이블에 추가
-        int ownerId = lesson.getTeam().getUser().getUserId();
-        User owner = userRepository.findById(ownerId).orElseThrow();
-        //사장이 없으면 Exception
-        RecentSettlementRecordResponseDTO recentSettlementRecordResponseDTO = settlementRepository.findRecentBalance(
-                ownerId);
-        int lastBalance = recentSettlementRecordResponseDTO.getBalance();
-        Settlement settlement = Settlement.builder()
-                .settlementAmount((int) settlementAmount)
-                .balance(lastBalance + (int) settlementAmount)
-                .depositStatus(0)
-                .settlementDate(LocalDateTime.now())
-                .user(owner)
-                .build();
-
-        settlementRepository.save(settlement);
-        // 여기서는 스케줄 없애기
-        scheduleService.scheduleCaching(lesson.getTeam(), lessonInfo.getLessonDate());
-
-        if (dayDiff <= 2) return;
-
-        Payment tmpPayment = Payment.builder()
-                .tid(payment.getTid())
-                .lessonPaymentInfo(payment.getLessonPaymentInfo())
-                .totalAmount((int) payback)
-                .paymentStatus(paymentStatus)
-                .chargeId(chargeId)
-                .paymentDate(payment.getPaymentDate())
-                .paybackDate(LocalDateTime.now())
-                .build();
-        paymentRepository.save(tmpPayment);
+        // 점유할 팀과 날짜만 먼저 읽는다
+        Lesson target = lessonRepository.findById(request.getLessonId()).orElseThrow();
+        LocalDate reservationDate = lessonInfoRepository.findById(request.getLessonId()).orElseThrow().getLessonDate();
+        Integer teamId = target.getTeam().getTeamId();
+
+        Payment refund = transaction().execute(status -> {
+            // 같은 팀-날짜의 예약, 일괄 취소와 겹치지 않게 먼저 점유
+            teamDayAdmission.admit(teamId, reservationDate);
+
+            // 승인된 결제만 취소할 수 있다 (승인 대기, 승인 실패 결제는 거절)
+            Payment payment = paymentRepository.findByLessonPaymentInfoLessonIdAndPaymentStatus(
+                            request.getLessonId(), PaymentApprovalService.PAYMENT_APPROVED)
+                    .orElseThrow(() -> ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.PAYMENT_NOT_CANCELABLE));
+            //강의 상태 강의 취소(2)로 변경. 이미 취소됐거나 끝난 강습이면 거절
+            if (lessonInfoRepository.updateLessonStatus(request.getLessonId(), LESSON_ACTIVE, LESSON_CANCELED) == 0) {
+                throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.PAYMENT_NOT_CANCELABLE);
+            }
+            Lesson lesson = lessonRepository.findById(request.getLessonId()).orElseThrow();
+            LessonInfo lessonInfo = lessonInfoRepository.findById(request.getLessonId()).orElseThrow();
+
+            // 예약일이 지금보다 뒤에 있으면 취소 가능
+            // 반환 금액과 chargeId 변경해주기
+            long dayDiff = ChronoUnit.DAYS.between(LocalDate.now(), reservationDate);
+            int chargeId = 3;
+
+            // 날짜  확인
+            // 예약 후 취소시 : 전액 환불
+            if (dayDiff > 7) {
+                chargeId = 1;
+            }
+            // 이용일 7일 이전 취소 시 : 예약금의 50% 환불
+            else if (dayDiff > 2) {
+                chargeId = 2;
+            }
+
+            Charge charge = referenceDataCache.getCharge(chargeId).orElseThrow();
+            double studentChargeRate = charge.getStudentChargeRate() / 100.0;
+            double ownerChargeRate = charge.getOwnerChargeRate() / 100.0;
+
+            //이걸로 결제 취소 시켜줘야함
+            double payback = payment.getTotalAmount() * studentChargeRate;
+            double settlementAmount = payment.getTotalAmount() * ownerChargeRate;
+
+            //정산 테이블에 추가
+            int ownerId = lesson.getTeam().getUser().getUserId();
+            User owner = userRepository.findById(ownerId).orElseThrow();
+            //사장이 없으면 Exception
+            settlementLedger.append(owner, (int) settlementAmount, LocalDateTime.now());
+            // 여기서는 스케줄 없애기
+            scheduleService.scheduleCaching(lesson.getTeam(), lessonInfo.getLessonDate());
+            lessonAvailabilityIndex.invalidate(lesson.getTeam().getTeamId(), lessonInfo.getLessonDate());
+
+            if (dayDiff <= 2) return null;
+
+            // 환불 대기로 저장하고, 매출 집계는 카카오페이 취소가 끝난 뒤 더한다
+            Payment tmpPayment = RefundService.pendingRefund(payment, (int) payback, chargeId, LocalDateTime.now());
+            paymentRepository.save(tmpPayment);
+            log.info("취소금액 - {}",payback);
+
+            eventPublisher.publishCancelEvent(lesson, lessonInfo);
+            return tmpPayment;
+        });
 
         // 여기서 카카오 페이 결제 취소 API 보냄
-        KakaopayCancelRequestDTO kakaopayCancelRequestDTO = KakaopayCancelRequestDTO.builder()
-                //tid 그대로 입력
-                .cid(testId)
-                .tid(payment.getTid())
-                .cancelAmount((int) payback)
-                .cancelVatAmount((int) Math.round(payback / 11))
-                .cancelTaxFreeAmount(0)
-                .build();
-        requestCancelToKakao(kakaopayCancelRequestDTO);
-        log.info("취소금액 - {}",payback);
-
-        eventPublisher.publishCancelEvent(lesson, lessonInfo);
+        if (refund != null) {
+            refundService.sendAfterCommit(refund);
+        }
     }
 
     //카카오 페이에 보내는 준비 요청 메소드
     @Transactional
     public KakaopayPrepareResponseDTO requestPrepareToKakao(KakaopayPrepareRequestDTO request) {
-        //헤더 설정 추후에 서비스 모드로 변경
-        HttpHeaders headers = getHeader("test");
-
         Map<String, String> params = new HashMap<>();
         params.put("cid", testId);
         params.put("partner_order_id", request.getPartnerOrderId());
@@ -365,20 +322,11 @@ public class PayService {
 
         log.info("Kakao pay prepare params : {}", params);
 
-        HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(params, headers);
-        ResponseEntity<KakaopayPrepareResponseDTO> responseEntity = restTemplate.postForEntity(HOST + "/ready",
-                requestEntity, KakaopayPrepareResponseDTO.class);
-
-        return responseEntity.getBody();
+        return kakaoPayGateway.await(kakaoPayGateway.ready(params));
     }
 
-    //카카오 페이에 거래 승인 요청 메소드
-    @Transactional
-    public KakaopayApproveResponseDTO requestApproveToKakao(KakaopayApproveRequestDTO request, Lesson lesson,
-                                                            LessonInfo lessonInfo, String deviceType,
-                                                            PaymentCacheDto paymentCache) {
-        HttpHeaders headers = getHeader("test");
-
+    //카카오 페이에 거래 승인 요청 메소드 (트랜잭션 밖에서 호출)
+    public KakaopayApproveResponseDTO requestApproveToKakao(KakaopayApproveRequestDTO request) {
         Map<String, String> params = new HashMap<>();
         params.put("cid", testId);
         params.put("tid", request.getTid());
@@ -388,63 +336,101 @@ public class PayService {
 
         log.info("Kakao pay Approve params : {}", params);
 
-        HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(params, headers);
-        ResponseEntity<KakaopayApproveResponseDTO> responseEntity = restTemplate.postForEntity(HOST + "/approve",
-                requestEntity, KakaopayApproveResponseDTO.class);
-
-        log.info("responsEntity - {}",responseEntity.getBody());
+        KakaopayApproveResponseDTO response = kakaoPayGateway.await(kakaoPayGateway.approve(params));
 
-        eventPublisher.publish(lesson, lessonInfo, paymentCache, deviceType);
+        log.info("responsEntity - {}", response);
 
-        // 여기서 결제 정보를 db에 저장
-        return responseEntity.getBody();
+        return response;
     }
 
-    public KakaopayCancelResponseDTO requestCancelToKakao(KakaopayCancelRequestDTO request) {
-        HttpHeaders headers = getHeader("test");
-        Map<String, String> params = new HashMap<>();
-        params.put("cid", testId);
-        params.put("tid", request.getTid());
-        params.put("cancel_amount", String.valueOf(request.getCancelAmount()));
-        params.put("cancel_vat_amount",Integer.toString(request.getCancelVatAmount()));
-        params.put("cancel_tax_free_amount", String.valueOf(request.getCancelTaxFreeAmount()));
-
-        log.info("params : {}", params);
+    // (paymentDate, paymentId) 기준 커서 페이지. 다음 페이지는 마지막 결제의 두 값을 넘긴다
+    @Transactional(readOnly = true)
+    public List<UserPaymentHistoryResponseDTO> getUserPaymentHistories(HttpServletRequest httpServletRequest,
+                                                                       LocalDateTime cursorDate, Integer cursorId,
+                                                                       int size) {
+        User user = (User) httpServletRequest.getAttribute("user");
+        if (cursorDate != null && cursorId == null) cursorId = Integer.MAX_VALUE;
 
-        HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(params, headers);
-        ResponseEntity<KakaopayCancelResponseDTO> responseEntity = restTemplate.postForEntity(HOST + "/cancel",
-                requestEntity, KakaopayCancelResponseDTO.class);
-        log.info("data : {}", responseEntity);
+        return lessonRepository.findStudentPaymentHistories(user.getUserId(), cursorDate, cursorId, pageSize(size));
+    }
 
-        return responseEntity.getBody();
+    @Transactional
+    public List<OwnerPaymentHistoryResponseDTO> getOwnerPaymentHistories(HttpServletRequest httpServletRequest,
+                                                                         Integer cursor, int size) {
+        User user = (User) httpServletRequest.getAttribute("user");
+        checkOwner(user);
+        return lessonRepository.findOwnerPaymentHistories(user.getUserId(), cursor, pageSize(size));
     }
 
     @Transactional
-    public List<UserPaymentHistoryResponseDTO> getUserPaymentHistories(HttpServletRequest httpServletRequest) {
+    public List<OwnerPaymentHistoryResponseDTO> getTeamPaymentHistories(HttpServletRequest httpServletRequest,
+                                                                        Integer teamId, Integer cursor, int size) {
         User user = (User) httpServletRequest.getAttribute("user");
+        checkOwnerTeam(user, teamId);
+        return lessonRepository.findTeamPaymentHistories(teamId, cursor, pageSize(size));
+    }
 
-        return lessonRepository.findStudentPaymentHistories(user.getUserId());
+    // 사장의 결제 내역 전체를 JSON 배열로 내려보낸다 (시즌 내보내기용)
+    // paymentId 커서로 EXPORT_PAGE_SIZE개씩 읽어서 바로 쓰므로 전체 목록을 메모리에 올리지 않는다
+    public StreamingResponseBody exportOwnerPaymentHistories(HttpServletRequest httpServletRequest) {
+        User user = (User) httpServletRequest.getAttribute("user");
+        checkOwner(user);
+
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                Integer cursor = null;
+                List<OwnerPaymentHistoryResponseDTO> page;
+                do {
+                    page = lessonRepository.findOwnerPaymentHistories(user.getUserId(), cursor, EXPORT_PAGE_SIZE);
+                    for (OwnerPaymentHistoryResponseDTO ownerPaymentHistoryResponseDTO : page) {
+                        generator.writeObject(ownerPaymentHistoryResponseDTO);
+                    }
+                    generator.flush();
+                    if (!page.isEmpty()) cursor = page.get(page.size() - 1).getPaymentId();
+                } while (page.size() == EXPORT_PAGE_SIZE);
+                generator.writeEndArray();
+            }
+        };
     }
 
-    @Transactional
-    public List<OwnerPaymentHistoryResponseDTO> getOwnerPaymentHistories(HttpServletRequest httpServletRequest) {
+    // 사장의 일별 결제/환불 합계
+    @Transactional(readOnly = true)
+    public List<DailyRevenueResponseDTO> getOwnerDailyRevenues(HttpServletRequest httpServletRequest,
+                                                               LocalDate cursor, int size) {
         User user = (User) httpServletRequest.getAttribute("user");
-        //사장인지 확인
-        //내 아래로 팀이 있는지 확인
+        checkOwner(user);
+        return ownerRevenueDailyRepository.findPage(user.getUserId(), cursor, pageSize(size));
+    }
+
+    // 팀의 일별 결제/환불 합계
+    @Transactional(readOnly = true)
+    public List<DailyRevenueResponseDTO> getTeamDailyRevenues(HttpServletRequest httpServletRequest,
+                                                              Integer teamId, LocalDate cursor, int size) {
+        User user = (User) httpServletRequest.getAttribute("user");
+        checkOwnerTeam(user, teamId);
+        return teamRevenueDailyRepository.findPage(teamId, cursor, pageSize(size));
+    }
+
+    // 사장의 전체 결제/환불 합계 (일별 집계를 더한다)
+    @Transactional(readOnly = true)
+    public RevenueTotalResponseDTO getOwnerRevenueTotal(HttpServletRequest httpServletRequest) {
+        User user = (User) httpServletRequest.getAttribute("user");
+        checkOwner(user);
+        return ownerRevenueDailyRepository.findTotal(user.getUserId());
+    }
+
+    //사장인지 확인
+    //내 아래로 팀이 있는지 확인
+    private void checkOwner(User user) {
         List<TeamResponseDTO> dummy = teamRepository.findOwnerTeamList(user.getUserId());
         //exception 만들기
         if (dummy.isEmpty())
             throw new IllegalArgumentException("조회할 수 없습니다.");
-        return lessonRepository.findOwnerPaymentHistories(user.getUserId());
     }
 
-    @Transactional
-    public List<OwnerPaymentHistoryResponseDTO> getTeamPaymentHistories(HttpServletRequest httpServletRequest,
-                                                                        Integer teamId) {
-        User user = (User) httpServletRequest.getAttribute("user");
+    private void checkOwnerTeam(User user, Integer teamId) {
         boolean b = false;
-        //사장인지 확인
-        //내 아래로 팀이 있는지 확인
         List<TeamResponseDTO> dummy = teamRepository.findOwnerTeamList(user.getUserId());
         for (int id = 0; id < dummy.size(); id++) {
             if (Objects.equals(dummy.get(id).getTeamId(), teamId))
@@ -453,8 +439,10 @@ public class PayService {
         //exception 만들기
         if (!b)
             throw new IllegalArgumentException("조회할 수 없습니다.");
+    }
 
-        return lessonRepository.findTeamPaymentHistories(teamId);
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
     }
 
     // 그 동안의 출금 내역을 조회
@@ -465,50 +453,13 @@ public class PayService {
     }
 
     // 가능 금액을 조회
-    // 내 총 핀매금액 - 총 정산 금액
-    // 정산 가능 금액 구했으면 알아서 다시 요청하지마라 프론트
-    // 이거는 뭈쓸모가 맞다
-    @Transactional
+    // 지난 강습 결제의 사장 몫(ownerChargeRate) 합계 - 정산 내역 합계
+    // 두 합계 모두 DB에서 한 번에 구하고, 정산 내역 합계는 사장별 잔액 행에서 읽는다
+    @Transactional(readOnly = true)
     public Integer getBalance(HttpServletRequest httpServletRequest) {
         User user = (User) httpServletRequest.getAttribute("user");
-
-        int balance = 0;
-        List<TotalPaymentDTO> totalPayments = paymentRepository.findTotalPayment(user.getUserId());
-        List<TotalSettlementDTO> totalSettlements = settlementRepository.findBySettlements(user.getUserId());
-
-        for (TotalPaymentDTO tmp : totalPayments) {
-            balance += tmp.getChargeRate() * tmp.getTotalAmount() / 100;
-        }
-        for (TotalSettlementDTO tmp : totalSettlements) {
-            balance -= tmp.getSettlementAmount();
-        }
-        // 잔액 total(현재 기준 예약 날짜 지난것들)
-        // minus
-        // 출금 내역 리스트
-        return balance;
-    }
-
-    public VerifyAccountResponseDTO requestToCodeF(VerifyAccountRequestDTO verifyAccountRequestDTO) throws
-            UnsupportedEncodingException,
-            JsonProcessingException,
-            InterruptedException {
-        EasyCodef codef = new EasyCodef();
-        codef.setPublicKey(codefKey);
-        codef.setClientInfoForDemo(codefId, codefSecret);
-
-        // 안되면 codeF 데모버전 만드셈
-        verifyAccountRequestDTO.getBank();
-        HashMap<String, Object> params = new HashMap<>();
-        params.put("bank", verifyAccountRequestDTO.getBank());
-        params.put("account", verifyAccountRequestDTO.getAccount());
-        params.put("identity", verifyAccountRequestDTO.getIdentity());
-
-        //데모버전임
-        //추후 변경 요망
-        String name = codef.requestProduct("https://development.codef.io/v1/kr/bank/a/account/holder-authentication",
-                EasyCodefServiceType.DEMO, params);
-        boolean isValid = name.equals(verifyAccountRequestDTO.getName());
-        return VerifyAccountResponseDTO.builder().isValid(isValid).build();
+        long ownerShare = paymentRepository.sumOwnerShareOfPastLessons(user.getUserId());
+        return (int) (ownerShare - settlementLedger.getBalance(user.getUserId()));
     }
 
     public boolean checkAuthorization(Integer lessonId, HttpServletRequest httpServletRequest) {
@@ -522,4 +473,8 @@ public class PayService {
     public LessonCostResponseDTO getLessonCost(Integer lessonId) {
         return lessonRepository.findLessonCost(lessonId);
     }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
 }
@@ -0,0 +1,241 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.lesson.core.service.LessonAvailabilityIndex;
+import com.go.ski.lesson.core.service.TeamDayAdmission;
+import com.go.ski.notification.support.EventPublisher;
+import com.go.ski.payment.core.model.*;
+import com.go.ski.payment.core.repository.*;
+import com.go.ski.payment.support.dto.response.KakaopayOrderResponseDTO;
+import com.go.ski.payment.support.dto.util.StudentInfoDTO;
+import com.go.ski.redis.dto.PaymentCacheDto;
+import com.go.ski.schedule.core.service.ScheduleService;
+import com.go.ski.schedule.support.exception.ScheduleExceptionEnum;
+import com.go.ski.team.core.model.Team;
+import com.go.ski.team.core.repository.TeamRepository;
+import com.go.ski.user.core.model.User;
+import com.go.ski.user.core.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 결제 승인 사가의 각 단계
+// reserve: 강습 자리를 잡고 결제를 승인 대기로 저장 (짧은 트랜잭션)
+// complete: 카카오페이 승인 후 결제 확정, 정산 추가 (짧은 트랜잭션)
+// compensate: 승인이 거절되면 잡아둔 자리를 되돌린다 (짧은 트랜잭션)
+// 중간에 서버가 죽어 승인 대기로 남은 결제는 카카오페이 결제 상태를 보고 확정하거나 되돌린다
+// 승인을 기다리는 사이 강습이 취소됐으면(일괄 취소) 결제는 확정하되 전액 환불한다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentApprovalService {
+    public static final int PAYMENT_APPROVED = 0;
+    public static final int PAYMENT_PENDING = 3;
+    public static final int PAYMENT_FAILED = 4;
+    private static final int LESSON_CANCELED = 2;
+    // 7일 이상 기한 내 환불 (전액 환불, 사장 정산 없음)
+    private static final int FULL_REFUND_CHARGE_ID = 1;
+    private static final String KAKAOPAY_APPROVED = "SUCCESS_PAYMENT";
+    private static final String DEFAULT_DEVICE_TYPE = "MOBILE";
+    // 승인 요청 타임아웃보다 충분히 길게 잡는다
+    private static final long RECOVERY_GRACE_MINUTES = 5;
+
+    @Value("${pay.test_id}")
+    private String testId;
+
+    private final LessonRepository lessonRepository;
+    private final LessonInfoRepository lessonInfoRepository;
+    private final LessonPaymentInfoRepository lessonPaymentInfoRepository;
+    private final StudentInfoRepository studentInfoRepository;
+    private final PaymentRepository paymentRepository;
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final ScheduleService scheduleService;
+    private final LessonAvailabilityIndex lessonAvailabilityIndex;
+    private final TeamDayAdmission teamDayAdmission;
+    private final SettlementLedger settlementLedger;
+    private final RevenueRollup revenueRollup;
+    private final RefundService refundService;
+    private final KakaoPayGateway kakaoPayGateway;
+    private final PendingPaymentStore pendingPaymentStore;
+    private final EventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    // 강습을 저장하고 배정 가능한지 확인한 뒤 결제를 승인 대기로 남긴다. 배정이 안되면 전부 롤백
+    public Payment reserve(PaymentCacheDto paymentCache) {
+        return transaction().execute(status -> {
+            // 같은 팀-날짜의 다른 승인은 이 트랜잭션이 끝날 때까지 기다린다
+            teamDayAdmission.admit(paymentCache.getLesson().getTeam().getTeamId(), paymentCache.getLessonInfo().getLessonDate());
+
+            Lesson tmpLesson = lessonRepository.save(paymentCache.getLesson());
+            LessonInfo tmpLessonInfo = LessonInfo.builder()
+                    .lessonId(tmpLesson.getLessonId())
+                    .lesson(tmpLesson)
+                    .lessonDate(paymentCache.getLessonInfo().getLessonDate())
+                    .startTime(paymentCache.getLessonInfo().getStartTime())
+                    .duration(paymentCache.getLessonInfo().getDuration())
+                    .lessonType(paymentCache.getLessonInfo().getLessonType())
+                    .studentCount(paymentCache.getLessonInfo().getStudentCount())
+                    .lessonStatus(paymentCache.getLessonInfo().getLessonStatus())
+                    .requestComplain(paymentCache.getLessonInfo().getRequestComplain())
+                    .build();
+
+            lessonInfoRepository.save(tmpLessonInfo);
+            for (StudentInfoDTO studentInfoDTO : paymentCache.getStudentInfos()) {
+                StudentInfo tmpStudentInfo = StudentInfo.toStudentInfoForPayment(tmpLessonInfo, studentInfoDTO);
+                studentInfoRepository.save(tmpStudentInfo);
+            }
+
+            LessonPaymentInfo tmpLessonPaymentInfo = LessonPaymentInfo.builder()
+                    .lessonId(tmpLesson.getLessonId())
+                    .lesson(tmpLesson)
+                    .basicFee(paymentCache.getLessonPaymentInfo().getBasicFee() * tmpLessonInfo.getDuration()) //기존 금액에 duration 곱함
+                    .designatedFee(paymentCache.getLessonPaymentInfo().getDesignatedFee())
+                    .levelOptionFee(paymentCache.getLessonPaymentInfo().getLevelOptionFee() * tmpLessonInfo.getDuration()) //기존 금액에 duration 곱함
+                    .peopleOptionFee(paymentCache.getLessonPaymentInfo().getPeopleOptionFee() * tmpLessonInfo.getDuration()) //기존 금액에 duration 곱함
+                    .build();
+            lessonPaymentInfoRepository.save(tmpLessonPaymentInfo);
+
+            Payment tmpPayment = Payment.builder()
+                    .lessonPaymentInfo(tmpLessonPaymentInfo)
+                    .totalAmount(tmpLessonPaymentInfo.getBasicFee()
+                            + tmpLessonPaymentInfo.getDesignatedFee()
+                            + tmpLessonPaymentInfo.getLevelOptionFee()
+                            + tmpLessonPaymentInfo.getPeopleOptionFee()
+                    )
+                    .paymentStatus(PAYMENT_PENDING)
+                    .chargeId(0)// 사용자 0? 100?
+                    .tid(paymentCache.getTid())
+                    .paymentDate(LocalDateTime.now()).build();
+            paymentRepository.save(tmpPayment);
+
+            // 강습 가능여부 판단 후 캐싱하는 메서드
+            if (!scheduleService.scheduleCaching(paymentCache.getLesson().getTeam(),
+                    paymentCache.getLessonInfo().getLessonDate())) {
+                throw ApiExceptionFactory.fromExceptionEnum(ScheduleExceptionEnum.FAIL_ADD_SCHEDULE);
+            }
+            lessonAvailabilityIndex.invalidate(tmpLesson.getTeam().getTeamId(), tmpLessonInfo.getLessonDate());
+            return tmpPayment;
+        });
+    }
+
+    public enum Completion {
+        // 예약 확정
+        APPROVED,
+        // 승인 전에 강습이 취소돼 전액 환불
+        REFUNDED,
+        // 다른 요청이나 복구 작업이 이미 처리
+        ALREADY_DONE
+    }
+
+    // 승인된 결제를 확정하고 정산에 추가한 뒤 예약 알림을 보낸다 (복구 작업에서는 paymentCache가 없다)
+    // 강습이 이미 취소됐으면 정산과 알림 없이 전액 환불 대기 행을 남기고 커밋 후 환불을 보낸다
+    public Completion complete(Integer paymentId, PaymentCacheDto paymentCache, String deviceType) {
+        // 점유할 팀과 날짜만 먼저 읽는다
+        Integer targetLessonId = paymentRepository.findById(paymentId).orElseThrow().getLessonPaymentInfo().getLessonId();
+        Integer teamId = lessonRepository.findById(targetLessonId).orElseThrow().getTeam().getTeamId();
+        LocalDate lessonDate = lessonInfoRepository.findById(targetLessonId).orElseThrow().getLessonDate();
+
+        return transaction().execute(status -> {
+            // 일괄 취소와 겹치지 않게 먼저 점유하고 강습 상태를 읽는다
+            teamDayAdmission.admit(teamId, lessonDate);
+
+            if (paymentRepository.updatePaymentStatus(paymentId, PAYMENT_PENDING, PAYMENT_APPROVED) == 0) {
+                return Completion.ALREADY_DONE; // 이미 처리된 결제
+            }
+            Payment payment = paymentRepository.findById(paymentId).orElseThrow();
+            Integer lessonId = payment.getLessonPaymentInfo().getLessonId();
+            Lesson lesson = lessonRepository.findById(lessonId).orElseThrow();
+            LessonInfo lessonInfo = lessonInfoRepository.findById(lessonId).orElseThrow();
+
+            Team team = teamRepository.findById(lesson.getTeam().getTeamId()).orElseThrow();
+            int ownerId = team.getUser().getUserId();
+            // 환불이 끝나면 RefundService가 매출에서 빼므로 결제 금액은 그대로 더한다
+            revenueRollup.addPayment(team.getTeamId(), ownerId, payment.getPaymentDate().toLocalDate(),
+                    payment.getTotalAmount());
+
+            if (Integer.valueOf(LESSON_CANCELED).equals(lessonInfo.getLessonStatus())) {
+                Payment refund = paymentRepository.save(RefundService.pendingRefund(payment, payment.getTotalAmount(),
+                        FULL_REFUND_CHARGE_ID, LocalDateTime.now()));
+                refundService.sendAfterCommit(refund);
+                log.info("승인 전에 취소된 강습 전액 환불 - paymentId: {}, lessonId: {}", paymentId, lessonId);
+                return Completion.REFUNDED;
+            }
+
+            //정산 테이블에 추가
+            User owner = userRepository.findById(ownerId).orElseThrow();
+            //사장이 없으면 Exception
+            // 강습 날짜와 시작 시간을 정산 일시로
+            LocalTime time = LocalTime.parse(lessonInfo.getStartTime(), DateTimeFormatter.ofPattern("HHmm"));
+            settlementLedger.append(owner, payment.getTotalAmount(), LocalDateTime.of(lessonInfo.getLessonDate(), time));
+
+            eventPublisher.publish(lesson, lessonInfo, paymentCache, deviceType);
+            return Completion.APPROVED;
+        });
+    }
+
+    // 승인되지 않은 결제의 강습을 취소 상태로 바꾸고 스케줄을 다시 캐싱한다
+    public boolean compensate(Integer paymentId) {
+        Boolean compensated = transaction().execute(status -> {
+            if (paymentRepository.updatePaymentStatus(paymentId, PAYMENT_PENDING, PAYMENT_FAILED) == 0) {
+                return false; // 이미 처리된 결제
+            }
+            Payment payment = paymentRepository.findById(paymentId).orElseThrow();
+            Integer lessonId = payment.getLessonPaymentInfo().getLessonId();
+            Lesson lesson = lessonRepository.findById(lessonId).orElseThrow();
+            LessonInfo lessonInfo = lessonInfoRepository.findById(lessonId).orElseThrow();
+
+            lessonInfo.setLessonStatus(LESSON_CANCELED);
+            lessonInfoRepository.save(lessonInfo);
+
+            scheduleService.scheduleCaching(lesson.getTeam(), lessonInfo.getLessonDate());
+            lessonAvailabilityIndex.invalidate(lesson.getTeam().getTeamId(), lessonInfo.getLessonDate());
+            return true;
+        });
+        return Boolean.TRUE.equals(compensated);
+    }
+
+    // 승인 대기로 오래 남은 결제는 카카오페이 결제 상태로 확정하거나 되돌린다
+    @Scheduled(fixedDelay = 60000)
+    public void recoverPendingApprovals() {
+        List<Payment> pendingPayments = paymentRepository.findByPaymentStatusAndPaymentDateBefore(
+                PAYMENT_PENDING, LocalDateTime.now().minusMinutes(RECOVERY_GRACE_MINUTES));
+        for (Payment payment : pendingPayments) {
+            try {
+                Map<String, String> params = new HashMap<>();
+                params.put("cid", testId);
+                params.put("tid", payment.getTid());
+                KakaopayOrderResponseDTO order = kakaoPayGateway.await(kakaoPayGateway.order(params));
+
+                if (KAKAOPAY_APPROVED.equals(order.getStatus())) {
+                    log.info("승인 대기 결제 확정 - paymentId: {}", payment.getPaymentId());
+                    // 결제를 준비한 기기로 알린다. 준비 정보가 지워졌으면 모바일로
+                    complete(payment.getPaymentId(), null,
+                            pendingPaymentStore.findDeviceType(payment.getTid()).orElse(DEFAULT_DEVICE_TYPE));
+                } else {
+                    log.info("승인 대기 결제 취소 - paymentId: {}, 상태: {}", payment.getPaymentId(), order.getStatus());
+                    compensate(payment.getPaymentId());
+                }
+            } catch (RuntimeException e) {
+                // 다음 주기에 다시 시도
+                log.warn("승인 대기 결제 복구 실패 - paymentId: {}", payment.getPaymentId(), e);
+            }
+        }
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
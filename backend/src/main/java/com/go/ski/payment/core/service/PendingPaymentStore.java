@@ -0,0 +1,136 @@
+package com.go.ski.payment.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.payment.core.model.Lesson;
+import com.go.ski.payment.core.model.LessonInfo;
+import com.go.ski.payment.core.model.LessonPaymentInfo;
+import com.go.ski.payment.core.model.PendingPayment;
+import com.go.ski.payment.core.repository.PendingPaymentRepository;
+import com.go.ski.payment.support.dto.util.PendingPaymentDTO;
+import com.go.ski.payment.support.exception.PaymentExceptionEnum;
+import com.go.ski.redis.dto.PaymentCacheDto;
+import com.go.ski.team.core.model.Team;
+import com.go.ski.team.core.repository.TeamRepository;
+import com.go.ski.user.core.model.Instructor;
+import com.go.ski.user.core.model.User;
+import com.go.ski.user.core.repository.InstructorRepository;
+import com.go.ski.user.core.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// tid별 결제 준비 정보를 DB에 보관한다
+// 엔티티 그래프 대신 id와 값만 JSON으로 남기고, 승인할 때 다시 엔티티로 조립한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PendingPaymentStore {
+    // 카카오페이 tid 유효 시간(15분)보다 넉넉하게 보관
+    private static final long RETENTION_MINUTES = 60;
+
+    private final PendingPaymentRepository pendingPaymentRepository;
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final InstructorRepository instructorRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void save(String tid, PaymentCacheDto paymentCache, String deviceType) {
+        Lesson lesson = paymentCache.getLesson();
+        LessonInfo lessonInfo = paymentCache.getLessonInfo();
+        LessonPaymentInfo lessonPaymentInfo = paymentCache.getLessonPaymentInfo();
+        PendingPaymentDTO pendingPaymentDTO = PendingPaymentDTO.builder()
+                .userId(lesson.getUser().getUserId())
+                .teamId(lesson.getTeam().getTeamId())
+                .instructorId(lesson.getInstructor() != null ? lesson.getInstructor().getInstructorId() : null)
+                .isOwn(lesson.getIsOwn())
+                .lessonDate(lessonInfo.getLessonDate())
+                .startTime(lessonInfo.getStartTime())
+                .duration(lessonInfo.getDuration())
+                .lessonType(lessonInfo.getLessonType())
+                .studentCount(lessonInfo.getStudentCount())
+                .requestComplain(lessonInfo.getRequestComplain())
+                .lessonStatus(lessonInfo.getLessonStatus())
+                .basicFee(lessonPaymentInfo.getBasicFee())
+                .designatedFee(lessonPaymentInfo.getDesignatedFee())
+                .peopleOptionFee(lessonPaymentInfo.getPeopleOptionFee())
+                .levelOptionFee(lessonPaymentInfo.getLevelOptionFee())
+                .studentInfos(paymentCache.getStudentInfos())
+                .build();
+
+        try {
+            pendingPaymentRepository.save(PendingPayment.builder()
+                    .tid(tid)
+                    .userId(pendingPaymentDTO.getUserId())
+                    .payload(objectMapper.writeValueAsString(pendingPaymentDTO))
+                    .deviceType(deviceType)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("결제 준비 정보 직렬화 실패 - tid: " + tid, e);
+        }
+    }
+
+    // 준비한 사용자의 결제만 돌려준다
+    @Transactional(readOnly = true)
+    public PaymentCacheDto get(String tid, Integer userId) {
+        PendingPayment pendingPayment = pendingPaymentRepository.findById(tid)
+                .filter(found -> found.getUserId().equals(userId))
+                .filter(found -> found.getCreatedAt().isAfter(LocalDateTime.now().minusMinutes(RETENTION_MINUTES)))
+                .orElseThrow(() -> ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.PENDING_PAYMENT_NOT_FOUND));
+
+        PendingPaymentDTO pendingPaymentDTO;
+        try {
+            pendingPaymentDTO = objectMapper.readValue(pendingPayment.getPayload(), PendingPaymentDTO.class);
+        } catch (JsonProcessingException e) {
+            log.warn("결제 준비 정보 역직렬화 실패 - tid: {}", tid, e);
+            throw ApiExceptionFactory.fromExceptionEnum(PaymentExceptionEnum.PENDING_PAYMENT_NOT_FOUND);
+        }
+
+        User user = userRepository.findById(pendingPaymentDTO.getUserId()).orElseThrow();
+        Team team = teamRepository.findById(pendingPaymentDTO.getTeamId()).orElseThrow();
+        Instructor instructor = pendingPaymentDTO.getInstructorId() != null
+                ? instructorRepository.findById(pendingPaymentDTO.getInstructorId()).orElseThrow()
+                : null;
+
+        return PaymentCacheDto.builder()
+                .tid(tid)
+                .lesson(Lesson.toLessonForPayment(user, team, instructor, pendingPaymentDTO.getIsOwn()))
+                .lessonInfo(LessonInfo.builder()
+                        .lessonDate(pendingPaymentDTO.getLessonDate())
+                        .startTime(pendingPaymentDTO.getStartTime())
+                        .duration(pendingPaymentDTO.getDuration())
+                        .lessonType(pendingPaymentDTO.getLessonType())
+                        .studentCount(pendingPaymentDTO.getStudentCount())
+                        .requestComplain(pendingPaymentDTO.getRequestComplain())
+                        .lessonStatus(pendingPaymentDTO.getLessonStatus())
+                        .build())
+                .lessonPaymentInfo(LessonPaymentInfo.toLessonPaymentInfoForPayment(
+                        pendingPaymentDTO.getBasicFee(), pendingPaymentDTO.getDesignatedFee(),
+                        pendingPaymentDTO.getPeopleOptionFee(), pendingPaymentDTO.getLevelOptionFee()))
+                .studentInfos(pendingPaymentDTO.getStudentInfos())
+                .build();
+    }
+
+    // 결제를 준비한 기기. 보관 기간이 지났거나 기기를 모르면 빈 값
+    @Transactional(readOnly = true)
+    public Optional<String> findDeviceType(String tid) {
+        return pendingPaymentRepository.findById(tid).map(PendingPayment::getDeviceType);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelay = 600000)
+    public void deleteExpired() {
+        int deleted = pendingPaymentRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(RETENTION_MINUTES));
+        if (deleted > 0) {
+            log.info("만료된 결제 준비 정보 삭제 - {}건", deleted);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.payment.core.model.Lesson;
+import com.go.ski.payment.core.model.Payment;
+import com.go.ski.payment.core.repository.LessonRepository;
+import com.go.ski.payment.core.repository.PaymentRepository;
+import com.go.ski.payment.support.dto.response.KakaopayOrderResponseDTO;
+import com.go.ski.team.core.model.Team;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 환불(카카오페이 결제 취소) 단계
+// 환불 행은 환불 대기(5)로 취소 트랜잭션에서 같이 커밋하고, 카카오페이 취소는 커밋 후 트랜잭션 밖에서 보낸다
+// 취소되면 환불(2)로 바꾸고 매출 집계에 더한다. 4xx로 거절되면 환불 실패(6)로 남겨 수동으로 처리한다
+// 응답을 못 받았거나 5xx인 건은 환불 대기로 두고 retryPendingRefunds가 카카오페이 결제 상태를 보고 마무리한다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefundService {
+    public static final int PAYMENT_REFUND = 2;
+    public static final int REFUND_PENDING = 5;
+    public static final int REFUND_FAILED = 6;
+    private static final String KAKAOPAY_CANCELED = "CANCEL_PAYMENT";
+    private static final String KAKAOPAY_PART_CANCELED = "PART_CANCEL_PAYMENT";
+    // 취소 요청 타임아웃보다 충분히 길게 잡는다
+    private static final long RETRY_GRACE_MINUTES = 5;
+
+    @Value("${pay.test_id}")
+    private String testId;
+
+    private final PaymentRepository paymentRepository;
+    private final LessonRepository lessonRepository;
+    private final RevenueRollup revenueRollup;
+    private final KakaoPayGateway kakaoPayGateway;
+    private final PlatformTransactionManager transactionManager;
+
+    // 승인된 결제에 대한 환불 대기 행. 저장은 취소 트랜잭션에서 한다
+    public static Payment pendingRefund(Payment payment, int payback, int chargeId, LocalDateTime paybackDate) {
+        return Payment.builder()
+                .tid(payment.getTid())
+                .lessonPaymentInfo(payment.getLessonPaymentInfo())
+                .totalAmount(payback)
+                .paymentStatus(REFUND_PENDING)
+                .chargeId(chargeId)
+                .paymentDate(payment.getPaymentDate())
+                .paybackDate(paybackDate)
+                .build();
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 보낸다
+    public void sendAfterCommit(Payment refund) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(refund);
+                }
+            });
+        } else {
+            send(refund);
+        }
+    }
+
+    // 환불 대기 행 하나를 카카오페이에 보내고 바뀐 상태를 돌려준다. 트랜잭션 밖에서 부른다
+    public int send(Payment refund) {
+        try {
+            kakaoPayGateway.await(kakaoPayGateway.cancel(params(refund)));
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode().is4xxClientError()) {
+                log.warn("환불 거절 - paymentId: {}, tid: {}", refund.getPaymentId(), refund.getTid(), e);
+                fail(refund.getPaymentId());
+                return REFUND_FAILED;
+            }
+            log.warn("환불 요청 실패, 다시 시도 예정 - paymentId: {}", refund.getPaymentId(), e);
+            return REFUND_PENDING;
+        } catch (RuntimeException e) {
+            log.warn("환불 요청 실패, 다시 시도 예정 - paymentId: {}", refund.getPaymentId(), e);
+            return REFUND_PENDING;
+        }
+        complete(refund.getPaymentId());
+        log.info("환불 완료 - paymentId: {}, 금액: {}", refund.getPaymentId(), refund.getTotalAmount());
+        return PAYMENT_REFUND;
+    }
+
+    // 환불 대기를 환불로 바꾸고 환불일 매출 집계에 더한다
+    public boolean complete(Integer paymentId) {
+        Boolean completed = transaction().execute(status -> {
+            if (paymentRepository.updatePaymentStatus(paymentId, REFUND_PENDING, PAYMENT_REFUND) == 0) {
+                return false; // 이미 처리된 환불
+            }
+            Payment refund = paymentRepository.findById(paymentId).orElseThrow();
+            Lesson lesson = lessonRepository.findById(refund.getLessonPaymentInfo().getLessonId()).orElseThrow();
+            Team team = lesson.getTeam();
+            revenueRollup.addRefund(team.getTeamId(), team.getUser().getUserId(),
+                    refund.getPaybackDate().toLocalDate(), refund.getTotalAmount());
+            return true;
+        });
+        return Boolean.TRUE.equals(completed);
+    }
+
+    public boolean fail(Integer paymentId) {
+        Boolean failed = transaction().execute(status ->
+                paymentRepository.updatePaymentStatus(paymentId, REFUND_PENDING, REFUND_FAILED) > 0);
+        return Boolean.TRUE.equals(failed);
+    }
+
+    // 환불 대기로 오래 남은 건은 카카오페이에서 이미 취소됐는지 보고, 아니면 다시 보낸다
+    @Scheduled(fixedDelay = 60000)
+    public void retryPendingRefunds() {
+        List<Payment> refunds = paymentRepository.findByPaymentStatusAndPaybackDateBefore(
+                REFUND_PENDING, LocalDateTime.now().minusMinutes(RETRY_GRACE_MINUTES));
+        for (Payment refund : refunds) {
+            try {
+                Map<String, String> params = new HashMap<>();
+                params.put("cid", testId);
+                params.put("tid", refund.getTid());
+                KakaopayOrderResponseDTO order = kakaoPayGateway.await(kakaoPayGateway.order(params));
+
+                // 강습 하나에 환불은 한 번이므로 취소된 금액이 있으면 앞선 요청이 처리된 것
+                if ((KAKAOPAY_CANCELED.equals(order.getStatus()) || KAKAOPAY_PART_CANCELED.equals(order.getStatus()))
+                        && order.getCanceledAmount() != null
+                        && order.getCanceledAmount().getTotal() >= refund.getTotalAmount()) {
+                    log.info("환불 대기 확정 - paymentId: {}", refund.getPaymentId());
+                    complete(refund.getPaymentId());
+                } else {
+                    send(refund);
+                }
+            } catch (RuntimeException e) {
+                // 다음 주기에 다시 시도
+                log.warn("환불 대기 복구 실패 - paymentId: {}", refund.getPaymentId(), e);
+            }
+        }
+    }
+
+    private Map<String, String> params(Payment refund) {
+        Map<String, String> params = new HashMap<>();
+        params.put("cid", testId);
+        params.put("tid", refund.getTid());
+        params.put("cancel_amount", String.valueOf(refund.getTotalAmount()));
+        params.put("cancel_vat_amount", Integer.toString((int) Math.round(refund.getTotalAmount() / 11.0)));
+        params.put("cancel_tax_free_amount", "0");
+        return params;
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
@@ -0,0 +1,53 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.payment.core.repository.OwnerRevenueDailyRepository;
+import com.go.ski.payment.core.repository.TeamRevenueDailyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+// 결제 내역 조회/합계용 일별 집계를 결제 행이 생길 때 같이 더한다
+// 승인된 결제(0)는 결제일, 환불 행(2)은 환불일에 더하므로 payment 테이블을 다시 집계한 값과 같다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevenueRollup {
+    private final TeamRevenueDailyRepository teamRevenueDailyRepository;
+    private final OwnerRevenueDailyRepository ownerRevenueDailyRepository;
+
+    // 집계 테이블이 생기기 전에 쌓인 결제 내역을 시작할 때 한 번 옮긴다
+    // 집계 행이 이미 있는 팀/사장은 건너뛰므로 다시 돌려도 두 번 더하지 않는다
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRevenue() {
+        int teamRows = teamRevenueDailyRepository.backfill();
+        int ownerRows = ownerRevenueDailyRepository.backfill();
+        if (teamRows > 0 || ownerRows > 0) {
+            log.info("일별 매출 집계 backfill - 팀 {}행, 사장 {}행", teamRows, ownerRows);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addPayment(Integer teamId, Integer ownerId, LocalDate paymentDate, int amount) {
+        teamRevenueDailyRepository.add(teamId, paymentDate, 1, amount, 0, 0);
+        ownerRevenueDailyRepository.add(ownerId, paymentDate, 1, amount, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addRefund(Integer teamId, Integer ownerId, LocalDate paybackDate, int amount) {
+        addRefunds(teamId, ownerId, paybackDate, 1, amount);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addRefunds(Integer teamId, Integer ownerId, LocalDate paybackDate, int count, long amount) {
+        if (count == 0) return;
+        teamRevenueDailyRepository.add(teamId, paybackDate, 0, 0, count, amount);
+        ownerRevenueDailyRepository.add(ownerId, paybackDate, 0, 0, count, amount);
+    }
+}
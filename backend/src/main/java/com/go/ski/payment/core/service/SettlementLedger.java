@@ -0,0 +1,85 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.payment.core.model.Settlement;
+import com.go.ski.payment.core.repository.OwnerBalanceRepository;
+import com.go.ski.payment.core.repository.PaymentBatchRepository;
+import com.go.ski.payment.core.repository.SettlementRepository;
+import com.go.ski.user.core.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 정산 내역은 추가만 하고, 사장별 현재 잔액은 owner_balance 한 행에 더해서 관리한다
+// 잔액 행을 먼저 올리고 그 값을 정산 내역의 balance로 남기므로 같은 사장의 동시 정산도 순서대로 쌓인다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementLedger {
+    private final OwnerBalanceRepository ownerBalanceRepository;
+    private final SettlementRepository settlementRepository;
+    private final PaymentBatchRepository paymentBatchRepository;
+
+    // 호출한 쪽 트랜잭션 안에서 잔액을 올리고 정산 내역을 추가한다
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Settlement append(User owner, int amount, LocalDateTime settlementDate) {
+        ownerBalanceRepository.increase(owner.getUserId(), amount);
+        Integer balance = ownerBalanceRepository.findBalance(owner.getUserId());
+
+        Settlement settlement = Settlement.builder()
+                .settlementAmount(amount)
+                .balance(balance)
+                .depositStatus(0)
+                .settlementDate(settlementDate)
+                .user(owner)
+                .build();
+        return settlementRepository.save(settlement);
+    }
+
+    // 한 사장의 정산 여러 건을 잔액 한 번 갱신과 배치 insert로 추가한다
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(User owner, List<Integer> amounts, LocalDateTime settlementDate) {
+        if (amounts.isEmpty()) return;
+
+        int total = amounts.stream().mapToInt(Integer::intValue).sum();
+        ownerBalanceRepository.increase(owner.getUserId(), total);
+        int balance = ownerBalanceRepository.findBalance(owner.getUserId()) - total;
+
+        List<Settlement> settlements = new ArrayList<>(amounts.size());
+        for (Integer amount : amounts) {
+            balance += amount;
+            settlements.add(Settlement.builder()
+                    .settlementAmount(amount)
+                    .balance(balance)
+                    .depositStatus(0)
+                    .settlementDate(settlementDate)
+                    .user(owner)
+                    .build());
+        }
+        paymentBatchRepository.insertSettlements(settlements);
+    }
+
+    // 지금까지 정산 내역 합계 (정산 내역의 마지막 balance와 같다)
+    @Transactional(readOnly = true)
+    public int getBalance(Integer userId) {
+        Integer balance = ownerBalanceRepository.findBalance(userId);
+        return balance != null ? balance : 0;
+    }
+
+    // 잔액 행이 생기기 전에 쌓인 정산 내역을 시작할 때 한 번 옮긴다
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOwnerBalances() {
+        int backfilled = ownerBalanceRepository.backfill();
+        if (backfilled > 0) {
+            log.info("정산 잔액 backfill - {}명", backfilled);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.payment.support.config.AccountVerificationConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// CODEF 없이 설정된 계좌번호 -> 예금주로 응답하는 stub (codef.verification.stub=true)
+// 등록되지 않은 계좌는 빈 예금주를 돌려줘서 확인 실패가 된다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "codef.verification", name = "stub", havingValue = "true")
+public class StubAccountHolderClient implements AccountHolderClient {
+    private final AccountVerificationConfig accountVerificationConfig;
+
+    @Override
+    public CompletableFuture<String> requestHolderName(String bank, String account, String identity) {
+        Map<String, String> stubHolders = accountVerificationConfig.stubHolders();
+        String holderName = stubHolders != null ? stubHolders.getOrDefault(account, "") : "";
+        log.info("CODEF stub 예금주 조회 - bank: {}", bank);
+        return CompletableFuture.completedFuture(holderName);
+    }
+}
@@ -0,0 +1,19 @@
+package com.go.ski.payment.support.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+// 정산 계좌 예금주 확인(CODEF) 설정
+// stub이 true면 CODEF 대신 stubHolders(계좌번호 -> 예금주)로 응답한다 (테스트, 로컬용)
+// hashSecret은 확인된 계좌 캐시 키를 만드는 HMAC 키
+@ConfigurationProperties(prefix = "codef.verification")
+public record AccountVerificationConfig(
+        int poolSize,
+        long timeoutMillis,
+        long cacheTtlSeconds,
+        String hashSecret,
+        boolean stub,
+        Map<String, String> stubHolders
+) {
+}
@@ -0,0 +1,8 @@
+package com.go.ski.payment.support.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 일괄 취소 때 카카오페이 취소 요청을 동시에 concurrency개, 초당 ratePerSecond개까지 보낸다
+@ConfigurationProperties(prefix = "pay.bulk-cancel")
+public record BulkCancelConfig(int concurrency, int ratePerSecond) {
+}
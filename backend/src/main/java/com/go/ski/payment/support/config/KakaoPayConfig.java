@@ -0,0 +1,15 @@
+package com.go.ski.payment.support.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 카카오페이 API 호출용 커넥션 풀, 타임아웃 설정
+@ConfigurationProperties(prefix = "pay.gateway")
+public record KakaoPayConfig(
+        String host,
+        int maxConnections,
+        long connectTimeoutMillis,
+        long readTimeoutMillis,
+        long maxIdleMillis,
+        long pendingAcquireTimeoutMillis
+) {
+}
@@ -0,0 +1,18 @@
+package com.go.ski.payment.support.dto.request;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// teamId가 있으면 그 팀의 하루, 없으면 resortId에 있는 내 팀 전체의 하루를 취소
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCancelRequestDTO {
+
+	private Integer teamId;
+	private Integer resortId;
+	private LocalDate lessonDate;
+}
@@ -0,0 +1,20 @@
+package com.go.ski.payment.support.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 일괄 취소 진행 상황. total 중 succeeded + failed 건의 카카오페이 환불이 끝났다
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCancelResponseDTO {
+	private String jobId;
+	private Integer canceledLessons;
+	private Integer total;
+	private Integer succeeded;
+	private Integer failed;
+	private List<Integer> failedLessonIds;
+}
@@ -0,0 +1,19 @@
+package com.go.ski.payment.support.dto.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 다음 페이지는 마지막 revenueDate를 cursor로 넘겨서 조회
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyRevenueResponseDTO {
+	private LocalDate revenueDate;
+	private Integer paymentCount;
+	private Long paymentAmount;
+	private Integer refundCount;
+	private Long refundAmount;
+}
@@ -0,0 +1,17 @@
+package com.go.ski.payment.support.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.go.ski.payment.support.dto.util.Amount;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class KakaopayOrderResponseDTO {
+	private String tid;
+	private String cid;
+	private String status;
+	@JsonProperty("canceled_amount")
+	private Amount canceledAmount;
+}
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class OwnerPaymentHistoryResponseDTO {
+	private Integer paymentId; // 다음 페이지 cursor
 	private String teamName;
 	private String studentName;
 	// private String instructorName; // 굳이 필요한가?
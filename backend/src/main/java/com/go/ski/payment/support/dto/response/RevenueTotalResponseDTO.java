@@ -7,6 +7,9 @@ import lombok.NoArgsConstructor;
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
-public class RecentSettlementRecordResponseDTO {
-	private Integer balance;
+public class RevenueTotalResponseDTO {
+	private Long paymentCount;
+	private Long paymentAmount;
+	private Long refundCount;
+	private Long refundAmount;
 }
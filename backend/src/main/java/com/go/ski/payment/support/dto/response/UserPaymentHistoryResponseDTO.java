@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class UserPaymentHistoryResponseDTO {
+	private Integer paymentId; // 다음 페이지 cursor (paymentDate와 함께)
 	private String userName;//필요한가?
 	private String teamName;
 	private LocalDateTime paymentDate;
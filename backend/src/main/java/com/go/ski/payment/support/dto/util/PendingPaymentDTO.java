@@ -0,0 +1,33 @@
+package com.go.ski.payment.support.dto.util;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// PendingPayment.payload 형식. 필드를 지우거나 이름을 바꾸면 저장된 준비 건을 못 읽는다
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingPaymentDTO {
+	private Integer userId;
+	private Integer teamId;
+	private Integer instructorId;
+	private Integer isOwn;
+	private LocalDate lessonDate;
+	private String startTime;
+	private Integer duration;
+	private String lessonType;
+	private Integer studentCount;
+	private String requestComplain;
+	private Integer lessonStatus;
+	private Integer basicFee;
+	private Integer designatedFee;
+	private Integer peopleOptionFee;
+	private Integer levelOptionFee;
+	private List<StudentInfoDTO> studentInfos;
+}
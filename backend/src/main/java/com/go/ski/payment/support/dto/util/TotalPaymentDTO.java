@@ -1,13 +0,0 @@
-package com.go.ski.payment.support.dto.util;
-
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-
-@Getter
-@AllArgsConstructor
-@NoArgsConstructor
-public class TotalPaymentDTO {
-	private Integer totalAmount;
-	private Integer chargeRate;
-}
@@ -0,0 +1,24 @@
+package com.go.ski.payment.support.exception;
+
+import com.go.ski.common.exception.ExceptionEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+@AllArgsConstructor
+public enum PaymentExceptionEnum implements ExceptionEnum {
+    PENDING_PAYMENT_NOT_FOUND(HttpStatus.NOT_FOUND, 404, "결제 준비 정보가 없거나 만료되었습니다."),
+    PAYMENT_IN_PROGRESS(HttpStatus.CONFLICT, 409, "결제 승인을 처리 중입니다. 잠시 후 다시 시도해 주세요."),
+    PAYMENT_APPROVAL_FAILED(HttpStatus.CONFLICT, 409, "카카오페이가 결제 승인을 거절했습니다. 다시 결제해 주세요."),
+    LESSON_CANCELED_BEFORE_APPROVAL(HttpStatus.CONFLICT, 409, "결제 승인 중 강습이 취소되어 결제 금액이 전액 환불됩니다."),
+    PAYMENT_NOT_CANCELABLE(HttpStatus.CONFLICT, 409, "승인된 결제의 진행 전 강습만 취소할 수 있습니다."),
+    BULK_CANCEL_DATE_REQUIRED(HttpStatus.BAD_REQUEST, 400, "취소할 강습 날짜를 입력해 주세요."),
+    BULK_CANCEL_TARGET_REQUIRED(HttpStatus.BAD_REQUEST, 400, "취소할 팀이나 리조트를 입력해 주세요."),
+    NOT_TEAM_OWNER(HttpStatus.FORBIDDEN, 403, "팀 사장만 일괄 취소할 수 있습니다."),
+    BULK_CANCEL_NOT_FOUND(HttpStatus.NOT_FOUND, 404, "일괄 취소 내역이 없거나 만료되었습니다.");
+
+    private final HttpStatus status;
+    private final int code;
+    private final String message;
+}
@@ -0,0 +1,213 @@
+package com.go.ski.redis.codec;
+
+import com.go.ski.payment.support.dto.util.StudentInfoDTO;
+import com.go.ski.payment.support.vo.Age;
+import com.go.ski.payment.support.vo.Height;
+import com.go.ski.payment.support.vo.Weight;
+import com.go.ski.schedule.support.vo.ReserveScheduleVO;
+import com.go.ski.user.support.vo.Gender;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+// 스케줄 캐시를 버전이 붙은 바이너리로 인코딩
+// [버전][문자열 테이블][강습 목록] 순서이고, 숫자는 가변 길이, 문자열은 테이블 번호로 저장한다
+// 한 캐시는 한 팀의 하루치라서 팀 이름, 리조트 이름, 강습 종류 같은 문자열은 테이블에 한 번만 들어간다
+// enum은 ordinal로 저장하므로 enum 순서를 바꾸면 버전을 올려야 한다
+public final class ScheduleCacheCodec {
+    public static final byte VERSION_1 = 1;
+
+    private ScheduleCacheCodec() {
+    }
+
+    public static byte[] encode(List<ReserveScheduleVO> reserveScheduleVOs) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Output body = new Output();
+        body.writeVarLong(reserveScheduleVOs.size());
+        for (ReserveScheduleVO vo : reserveScheduleVOs) {
+            body.writeNullable(vo.getLessonId());
+            body.writeNullable(vo.getTeamId());
+            body.writeNullable(vo.getResortId());
+            body.writeNullable(vo.getStudentCount());
+            body.writeNullable(vo.getDuration());
+            body.writeNullable(vo.getInstructorId());
+            body.writeNullable(vo.getLessonDate() != null ? vo.getLessonDate().toEpochDay() : null);
+            body.writeVarLong(vo.getIsDesignated() == null ? 0 : vo.getIsDesignated() ? 2 : 1);
+            body.writeVarLong(ref(strings, vo.getLessonType()));
+            body.writeVarLong(ref(strings, vo.getStartTime()));
+            body.writeVarLong(ref(strings, vo.getTeamName()));
+            body.writeVarLong(ref(strings, vo.getResortName()));
+            body.writeVarLong(ref(strings, vo.getRepresentativeName()));
+            body.writeVarLong(ref(strings, vo.getRequestComplain()));
+
+            List<StudentInfoDTO> studentInfoDTOs = vo.getStudentInfoDTOs();
+            body.writeVarLong(studentInfoDTOs == null ? 0 : studentInfoDTOs.size() + 1);
+            if (studentInfoDTOs == null) continue;
+            for (StudentInfoDTO studentInfoDTO : studentInfoDTOs) {
+                body.writeVarLong(ordinal(studentInfoDTO.getHeight()));
+                body.writeVarLong(ordinal(studentInfoDTO.getWeight()));
+                body.writeVarLong(ordinal(studentInfoDTO.getAge()));
+                body.writeVarLong(ordinal(studentInfoDTO.getGender()));
+                body.writeNullable(studentInfoDTO.getFootSize());
+                body.writeVarLong(ref(strings, studentInfoDTO.getName()));
+            }
+        }
+
+        Output out = new Output();
+        out.write(VERSION_1);
+        out.writeVarLong(strings.size());
+        for (String string : strings.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeVarLong(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+        body.appendTo(out);
+        return out.toByteArray();
+    }
+
+    public static List<ReserveScheduleVO> decode(byte[] bytes) {
+        Input in = new Input(bytes);
+        byte version = in.readByte();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported schedule cache version: " + version);
+        }
+
+        String[] strings = new String[(int) in.readVarLong()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readString((int) in.readVarLong());
+        }
+
+        int lessonCount = (int) in.readVarLong();
+        List<ReserveScheduleVO> reserveScheduleVOs = new ArrayList<>(lessonCount);
+        for (int l = 0; l < lessonCount; l++) {
+            Integer lessonId = in.readNullableInt();
+            Integer teamId = in.readNullableInt();
+            Integer resortId = in.readNullableInt();
+            Integer studentCount = in.readNullableInt();
+            Integer duration = in.readNullableInt();
+            Integer instructorId = in.readNullableInt();
+            Long epochDay = in.readNullableLong();
+            long designated = in.readVarLong();
+            String lessonType = string(strings, in.readVarLong());
+            String startTime = string(strings, in.readVarLong());
+            String teamName = string(strings, in.readVarLong());
+            String resortName = string(strings, in.readVarLong());
+            String representativeName = string(strings, in.readVarLong());
+            String requestComplain = string(strings, in.readVarLong());
+
+            List<StudentInfoDTO> studentInfoDTOs = null;
+            long studentSize = in.readVarLong();
+            if (studentSize > 0) {
+                studentInfoDTOs = new ArrayList<>((int) studentSize - 1);
+                for (int s = 0; s < studentSize - 1; s++) {
+                    Height height = value(Height.values(), in.readVarLong());
+                    Weight weight = value(Weight.values(), in.readVarLong());
+                    Age age = value(Age.values(), in.readVarLong());
+                    Gender gender = value(Gender.values(), in.readVarLong());
+                    Integer footSize = in.readNullableInt();
+                    String name = string(strings, in.readVarLong());
+                    studentInfoDTOs.add(new StudentInfoDTO(height, weight, footSize, age, gender, name));
+                }
+            }
+
+            ReserveScheduleVO vo = new ReserveScheduleVO(lessonId, teamId, teamName, resortName, studentInfoDTOs,
+                    representativeName, requestComplain, designated == 0 ? null : designated == 2, instructorId);
+            vo.setResortId(resortId);
+            vo.setStudentCount(studentCount);
+            vo.setLessonDate(epochDay != null ? LocalDate.ofEpochDay(epochDay) : null);
+            vo.setStartTime(startTime);
+            vo.setDuration(duration);
+            vo.setLessonType(lessonType);
+            reserveScheduleVOs.add(vo);
+        }
+        return reserveScheduleVOs;
+    }
+
+    // 0은 null, 그 외에는 테이블 번호 + 1
+    private static int ref(Map<String, Integer> strings, String value) {
+        if (value == null) return 0;
+        return strings.computeIfAbsent(value, key -> strings.size()) + 1;
+    }
+
+    private static String string(String[] strings, long ref) {
+        return ref == 0 ? null : strings[(int) ref - 1];
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value == null ? 0 : value.ordinal() + 1;
+    }
+
+    private static <E extends Enum<E>> E value(E[] values, long ordinal) {
+        return ordinal == 0 ? null : values[(int) ordinal - 1];
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+        Output() {
+            super(256);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        // 0은 null, 그 외에는 zigzag + 1
+        void writeNullable(Number value) {
+            if (value == null) {
+                writeVarLong(0);
+            } else {
+                long v = value.longValue();
+                writeVarLong(((v << 1) ^ (v >> 63)) + 1);
+            }
+        }
+
+        void appendTo(Output out) {
+            out.write(buf, 0, count);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte readByte() {
+            return bytes[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+        }
+
+        Long readNullableLong() {
+            long v = readVarLong();
+            if (v == 0) return null;
+            v--;
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        Integer readNullableInt() {
+            Long v = readNullableLong();
+            return v != null ? v.intValue() : null;
+        }
+
+        String readString(int length) {
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -2,9 +2,6 @@ package com.go.ski.redis.dto;
 
 import java.util.List;
 
-import org.springframework.data.annotation.Id;
-import org.springframework.data.redis.core.RedisHash;
-
 import com.go.ski.payment.core.model.Lesson;
 import com.go.ski.payment.core.model.LessonInfo;
 import com.go.ski.payment.core.model.LessonPaymentInfo;
@@ -17,13 +14,12 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
 
+// 승인할 때 PendingPaymentStore가 다시 조립하는 예약 정보 (저장은 PendingPaymentDTO 형식)
 @Getter
-@RedisHash(value = "paymentCache", timeToLive = 900)
 @AllArgsConstructor
 @Builder
 public class PaymentCacheDto {
 
-	@Id
 	private String tid;//결제 아이디
 
 	private Lesson lesson;
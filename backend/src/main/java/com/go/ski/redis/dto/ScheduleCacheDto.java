@@ -15,14 +15,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+// 값은 ScheduleCacheCodec 바이너리로 저장하고, @RedisHash 매핑은 이전 형식 캐시를 읽을 때만 쓴다
 @Getter
 @RedisHash(value = "scheduleCache")
 @NoArgsConstructor
+@AllArgsConstructor
 @ToString
 public class ScheduleCacheDto {
 
     @Id
-    private String id; // lessonDate:teamId:instructorId
+    private String id; // instructorId:teamId:lessonDate
     private List<ReserveScheduleVO> reserveScheduleVOs;
 
     @TimeToLive(unit = TimeUnit.MILLISECONDS)
@@ -3,5 +3,5 @@ package com.go.ski.redis.repository;
 import com.go.ski.redis.dto.ScheduleCacheDto;
 import org.springframework.data.repository.CrudRepository;
 
-public interface ScheduleCacheRepository extends CrudRepository<ScheduleCacheDto, String> {
-}
\ No newline at end of file
+public interface ScheduleCacheRepository extends CrudRepository<ScheduleCacheDto, String>, ScheduleCacheRepositoryCustom {
+}
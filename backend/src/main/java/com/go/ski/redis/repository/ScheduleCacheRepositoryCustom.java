@@ -0,0 +1,29 @@
+package com.go.ski.redis.repository;
+
+import com.go.ski.redis.dto.ScheduleCacheDto;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface ScheduleCacheRepositoryCustom {
+
+    // 스케줄 캐시를 바이너리로 저장하고 강사별, 팀-날짜별, 날짜별 인덱스 셋에 등록
+    void cacheAll(Collection<ScheduleCacheDto> scheduleCacheDtos);
+
+    // 한 번의 MGET으로 캐시를 모두 읽는다. 만료된 id는 결과에서 빠진다
+    List<ScheduleCacheDto> findAllCached(Collection<String> ids);
+
+    Set<String> findIdsByInstructorId(Integer instructorId);
+
+    Set<String> findIdsByTeamIdAndLessonDate(Integer teamId, LocalDate lessonDate);
+
+    Set<String> findIdsByLessonDate(LocalDate lessonDate);
+
+    // 만료된 캐시 id를 강사 인덱스에서 제거
+    void removeFromInstructorIndex(Integer instructorId, Collection<String> ids);
+
+    // 인덱스가 없던 기존 캐시를 다시 인덱싱
+    void rebuildIndexes();
+}
@@ -0,0 +1,258 @@
+package com.go.ski.redis.repository;
+
+import com.go.ski.redis.codec.ScheduleCacheCodec;
+import com.go.ski.redis.dto.ScheduleCacheDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// 스케줄 캐시(scheduleCache:instructorId:teamId:date)의 보조 인덱스
+// 팀-날짜, 날짜 인덱스는 캐시와 같은 시각(강습일 다음날 자정)에 만료된다
+// 강사 인덱스는 가장 늦게 만료되는 캐시에 맞춰 만료되고, 그 전에 만료된 id는 조회할 때 정리한다
+// 캐시 값은 scheduleCacheData:id에 ScheduleCacheCodec 바이너리로 저장하고, 이전 @RedisHash 형식도 읽을 수 있다
+@Slf4j
+@RequiredArgsConstructor
+public class ScheduleCacheRepositoryCustomImpl implements ScheduleCacheRepositoryCustom {
+    private static final String KEYSPACE = "scheduleCache";
+    private static final String DATA = "scheduleCacheData:";
+    private static final String INSTRUCTOR_INDEX = "scheduleCacheIndex:instructor:";
+    private static final String TEAM_INDEX = "scheduleCacheIndex:team:";
+    private static final String DATE_INDEX = "scheduleCacheIndex:date:";
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisConverter redisConverter;
+
+    @Override
+    public void cacheAll(Collection<ScheduleCacheDto> scheduleCacheDtos) {
+        // 이미 지난 날짜는 저장하지 않는다
+        List<ScheduleCacheDto> alive = scheduleCacheDtos.stream()
+                .filter(scheduleCacheDto -> scheduleCacheDto.getExpiration() > 0)
+                .toList();
+        if (alive.isEmpty()) return;
+
+        List<String> legacyIds = new ArrayList<>();
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.openPipeline();
+            for (ScheduleCacheDto scheduleCacheDto : alive) {
+                byte[] value = ScheduleCacheCodec.encode(scheduleCacheDto.getReserveScheduleVOs());
+                connection.stringCommands().set(rawKey(DATA, scheduleCacheDto.getId()), value,
+                        Expiration.milliseconds(scheduleCacheDto.getExpiration()), RedisStringCommands.SetOption.UPSERT);
+                // 같은 id의 이전 형식 캐시는 지운다
+                connection.keyCommands().del(rawKey(KEYSPACE + ":", scheduleCacheDto.getId()));
+                legacyIds.add(scheduleCacheDto.getId());
+            }
+            connection.setCommands().sRem(KEYSPACE.getBytes(StandardCharsets.UTF_8), legacyIds.stream()
+                    .map(id -> id.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new));
+            return connection.closePipeline();
+        });
+
+        List<IndexEntry> entries = new ArrayList<>();
+        for (ScheduleCacheDto scheduleCacheDto : alive) {
+            entries.add(IndexEntry.of(scheduleCacheDto.getId(), scheduleCacheDto.getExpiration()));
+        }
+        index(entries);
+    }
+
+    @Override
+    public List<ScheduleCacheDto> findAllCached(Collection<String> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        List<String> idList = new ArrayList<>(ids);
+        List<byte[]> values = stringRedisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(idList.stream().map(id -> rawKey(DATA, id)).toArray(byte[][]::new)));
+
+        List<ScheduleCacheDto> scheduleCacheDtos = new ArrayList<>(idList.size());
+        List<String> missingIds = new ArrayList<>();
+        for (int i = 0; i < idList.size(); i++) {
+            byte[] value = values != null ? values.get(i) : null;
+            if (value == null) {
+                missingIds.add(idList.get(i));
+                continue;
+            }
+            try {
+                scheduleCacheDtos.add(new ScheduleCacheDto(idList.get(i), ScheduleCacheCodec.decode(value), 0));
+            } catch (RuntimeException e) {
+                // 알 수 없는 형식은 캐시가 없는 것으로 본다
+                log.warn("스케줄 캐시 디코딩 실패 - id: {}", idList.get(i), e);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            scheduleCacheDtos.addAll(findAllLegacy(missingIds));
+        }
+        return scheduleCacheDtos;
+    }
+
+    // 이전 @RedisHash 형식으로 저장된 캐시를 한 번의 파이프라인으로 읽는다
+    @SuppressWarnings("unchecked")
+    private List<ScheduleCacheDto> findAllLegacy(List<String> ids) {
+        List<Object> hashes = stringRedisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (String id : ids) {
+                connection.hashCommands().hGetAll(rawKey(KEYSPACE + ":", id));
+            }
+            return connection.closePipeline();
+        });
+
+        List<ScheduleCacheDto> scheduleCacheDtos = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Map<byte[], byte[]> hash = (Map<byte[], byte[]>) hashes.get(i);
+            if (hash == null || hash.isEmpty()) continue; // 만료된 캐시
+
+            RedisData redisData = new RedisData(hash);
+            redisData.setId(ids.get(i));
+            redisData.setKeyspace(KEYSPACE);
+            scheduleCacheDtos.add(redisConverter.read(ScheduleCacheDto.class, redisData));
+        }
+        return scheduleCacheDtos;
+    }
+
+    @Override
+    public Set<String> findIdsByInstructorId(Integer instructorId) {
+        return members(INSTRUCTOR_INDEX + instructorId);
+    }
+
+    @Override
+    public Set<String> findIdsByTeamIdAndLessonDate(Integer teamId, LocalDate lessonDate) {
+        return members(TEAM_INDEX + teamId + ":" + lessonDate);
+    }
+
+    @Override
+    public Set<String> findIdsByLessonDate(LocalDate lessonDate) {
+        return members(DATE_INDEX + lessonDate);
+    }
+
+    @Override
+    public void removeFromInstructorIndex(Integer instructorId, Collection<String> ids) {
+        if (ids.isEmpty()) return;
+        stringRedisTemplate.opsForSet().remove(INSTRUCTOR_INDEX + instructorId, ids.toArray());
+    }
+
+    @Override
+    public void rebuildIndexes() {
+        // KEYS 대신 repository가 관리하는 id 셋을 나눠서 훑는다 (이전 형식 캐시만 남아있다)
+        List<String> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet()
+                .scan(KEYSPACE, ScanOptions.scanOptions().count(REBUILD_BATCH_SIZE).build())) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    rebuildBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            rebuildBatch(batch);
+        }
+    }
+
+    private void rebuildBatch(List<String> ids) {
+        List<Object> ttls = executePipelined(operations -> {
+            for (String id : ids) {
+                operations.getExpire(KEYSPACE + ":" + id, TimeUnit.MILLISECONDS);
+            }
+        });
+
+        List<IndexEntry> entries = new ArrayList<>();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            long ttl = (Long) ttls.get(i);
+            if (ttl > 0) {
+                entries.add(IndexEntry.of(ids.get(i), ttl));
+            } else if (ttl == -2) {
+                expired.add(ids.get(i));
+            }
+        }
+        index(entries);
+        // 만료된 캐시는 repository id 셋에서도 정리
+        if (!expired.isEmpty()) {
+            stringRedisTemplate.opsForSet().remove(KEYSPACE, expired.toArray());
+        }
+    }
+
+    private void index(List<IndexEntry> entries) {
+        if (entries.isEmpty()) return;
+
+        // 인덱스 키마다 배치 안에서 가장 늦은 만료 시간을 구한다 (한 강사의 여러 날짜가 한 배치에 들어온다)
+        Map<String, Long> expirations = new LinkedHashMap<>();
+        for (IndexEntry entry : entries) {
+            for (String key : entry.indexKeys()) {
+                expirations.merge(key, entry.expiration(), Math::max);
+            }
+        }
+        // 더 늦게 만료되는 캐시가 이미 들어 있는 인덱스는 만료 시간을 줄이지 않는다
+        List<String> keys = new ArrayList<>(expirations.keySet());
+        List<Object> currentTtls = executePipelined(operations -> {
+            for (String key : keys) {
+                operations.getExpire(key, TimeUnit.MILLISECONDS);
+            }
+        });
+
+        executePipelined(operations -> {
+            for (IndexEntry entry : entries) {
+                for (String key : entry.indexKeys()) {
+                    operations.opsForSet().add(key, entry.id());
+                }
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                long expiration = expirations.get(keys.get(i));
+                if ((Long) currentTtls.get(i) < expiration) {
+                    operations.expire(keys.get(i), expiration, TimeUnit.MILLISECONDS);
+                }
+            }
+        });
+    }
+
+    private byte[] rawKey(String prefix, String id) {
+        return (prefix + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Set<String> members(String key) {
+        Set<String> members = stringRedisTemplate.opsForSet().members(key);
+        return members != null ? members : Set.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> executePipelined(PipelineCommands commands) {
+        return stringRedisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                commands.execute((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+
+    private interface PipelineCommands {
+        void execute(RedisOperations<String, String> operations);
+    }
+
+    // id 형식: instructorId:teamId:lessonDate
+    private record IndexEntry(String id, String instructorId, String teamId, String lessonDate, long expiration) {
+        static IndexEntry of(String id, long expiration) {
+            String[] parts = id.split(":");
+            return new IndexEntry(id, parts[0], parts[1], parts[2], expiration);
+        }
+
+        // 강사, 팀-날짜, 날짜 인덱스 키
+        List<String> indexKeys() {
+            return List.of(INSTRUCTOR_INDEX + instructorId, TEAM_INDEX + teamId + ":" + lessonDate, DATE_INDEX + lessonDate);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.go.ski.review.core.service;
 
 import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.common.service.ReferenceDataCache;
 import com.go.ski.lesson.support.exception.LessonExceptionEnum;
 import com.go.ski.payment.core.model.Lesson;
 import com.go.ski.payment.core.repository.LessonRepository;
@@ -9,7 +10,6 @@ import com.go.ski.review.core.model.TagOnReview;
 import com.go.ski.review.core.model.TagReview;
 import com.go.ski.review.core.repository.ReviewRepository;
 import com.go.ski.review.core.repository.TagOnReviewRepository;
-import com.go.ski.review.core.repository.TagReviewRepository;
 import com.go.ski.review.support.dto.InstructorReviewResponseDTO;
 import com.go.ski.review.support.dto.ReviewCreateRequestDTO;
 import com.go.ski.review.support.dto.ReviewResponseDTO;
@@ -38,13 +38,12 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final TagOnReviewRepository tagOnReviewRepository;
-    private final TagReviewRepository tagReviewRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final LessonRepository lessonRepository;
     private final InstructorRepository instructorRepository;
 
-    @Transactional(readOnly = true)
     public List<TagReviewResponseDTO> getTagReviews() {
-        return tagReviewRepository.findAll()
+        return referenceDataCache.getTagReviews()
                 .stream()
                 .map(TagReviewResponseDTO::toDTO)
                 .toList();
@@ -66,7 +65,7 @@ public class ReviewService {
 
         Review savedReview = reviewRepository.save(review);
 
-        List<TagReview> tagReviewList = tagReviewRepository.findAllById(request.getReviewTags());
+        List<TagReview> tagReviewList = referenceDataCache.getTagReviews(request.getReviewTags());
 
         List<TagOnReview> tagOnReviewList = tagReviewList.stream()
                 .map(tagReview -> TagOnReview.builder()
@@ -1,5 +1,6 @@
 package com.go.ski.schedule.core.service;
 
+import com.go.ski.lesson.core.service.LessonAvailabilityIndex;
 import com.go.ski.payment.core.model.Lesson;
 import com.go.ski.payment.core.model.LessonInfo;
 import com.go.ski.payment.core.repository.LessonInfoRepository;
@@ -19,6 +20,7 @@ public class ScheduleDeleteService {
     private final LessonInfoRepository lessonInfoRepository;
     private final PayService payService;
     private final ScheduleService scheduleService;
+    private final LessonAvailabilityIndex lessonAvailabilityIndex;
 
     @Transactional
     public void deleteSchedule(Integer lessonId) {
@@ -27,6 +29,7 @@ public class ScheduleDeleteService {
         if (lesson.getIsOwn() == 1) {
             lessonRepository.delete(lesson);
             scheduleService.scheduleCaching(lesson.getTeam(), lessonInfo.getLessonDate());
+            lessonAvailabilityIndex.invalidate(lesson.getTeam().getTeamId(), lessonInfo.getLessonDate());
         } else {
             payService.getCancelResponse(new CancelPaymentRequestDTO(lessonId));
         }
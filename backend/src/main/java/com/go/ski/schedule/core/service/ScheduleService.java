@@ -1,11 +1,16 @@
 package com.go.ski.schedule.core.service;
 
 import com.go.ski.common.exception.ApiExceptionFactory;
-import com.go.ski.lesson.support.vo.LessonScheduleVO;
+import com.go.ski.lesson.core.service.LessonAvailabilityIndex;
+import com.go.ski.lesson.core.service.TeamDayAdmission;
+import com.go.ski.lesson.support.assignment.AssignmentProblem;
+import com.go.ski.lesson.support.assignment.AssignmentResult;
+import com.go.ski.lesson.support.assignment.LessonAssignmentEngine;
 import com.go.ski.notification.support.EventPublisher;
 import com.go.ski.payment.core.model.Lesson;
 import com.go.ski.payment.core.model.LessonInfo;
 import com.go.ski.payment.core.model.LessonPaymentInfo;
+import com.go.ski.payment.core.model.StudentInfo;
 import com.go.ski.payment.core.repository.LessonInfoRepository;
 import com.go.ski.payment.core.repository.LessonPaymentInfoRepository;
 import com.go.ski.payment.core.repository.LessonRepository;
@@ -30,7 +35,8 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,15 +59,24 @@ public class ScheduleService {
     private final LessonPaymentInfoRepository lessonPaymentInfoRepository;
     private final PermissionRepository permissionRepository;
     private final ScheduleCacheRepository scheduleCacheRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
     private final EventPublisher eventPublisher;
+    private final LessonAssignmentEngine lessonAssignmentEngine;
+    private final LessonAvailabilityIndex lessonAvailabilityIndex;
+    private final TeamDayAdmission teamDayAdmission;
     @PersistenceContext
     private EntityManager entityManager;
 
     public List<ReserveScheduleVO> getMySchedule(User user) {
         // 소속 팀 + userId로 현재 이후의 스케줄 조회
-        Set<String> keys = redisTemplate.keys("scheduleCache:" + user.getUserId() + ":*");
-        return getReserveScheduleVOS(keys);
+        Set<String> ids = scheduleCacheRepository.findIdsByInstructorId(user.getUserId());
+        List<ScheduleCacheDto> scheduleCacheDtos = findScheduleCaches(ids);
+        if (scheduleCacheDtos.size() < ids.size()) {
+            // 만료된 캐시는 강사 인덱스에서 정리
+            Set<String> expiredIds = new HashSet<>(ids);
+            scheduleCacheDtos.forEach(scheduleCacheDto -> expiredIds.remove(scheduleCacheDto.getId()));
+            scheduleCacheRepository.removeFromInstructorIndex(user.getUserId(), expiredIds);
+        }
+        return getReserveScheduleVOS(scheduleCacheDtos);
     }
 
     public List<ReserveScheduleVO> getTeamSchedule(User user, int teamId, LocalDate lessonDate) {
@@ -70,28 +85,34 @@ public class ScheduleService {
             throw ApiExceptionFactory.fromExceptionEnum(ScheduleExceptionEnum.NOT_MEMBER_OF_TEAM);
         }
 
-        Set<String> keys = redisTemplate.keys("scheduleCache:*:" + teamId + ":" + lessonDate);
-        return getReserveScheduleVOS(keys);
+        Set<String> ids = scheduleCacheRepository.findIdsByTeamIdAndLessonDate(teamId, lessonDate);
+        return getReserveScheduleVOS(findScheduleCaches(ids));
     }
 
-    private List<ReserveScheduleVO> getReserveScheduleVOS(Set<String> keys) {
-        log.info("keys: {}", keys);
+    // 인덱스로 찾은 id의 캐시만 읽는다 (만료된 캐시는 빠진다)
+    private List<ScheduleCacheDto> findScheduleCaches(Set<String> ids) {
+        log.info("ids: {}", ids);
+
+        return scheduleCacheRepository.findAllCached(ids);
+    }
 
+    private List<ReserveScheduleVO> getReserveScheduleVOS(List<ScheduleCacheDto> scheduleCacheDtos) {
         List<ReserveScheduleVO> result = new ArrayList<>();
-        if (keys != null && !keys.isEmpty()) {
-            for (String key : keys) {
-                Optional<ScheduleCacheDto> scheduleCacheDto = scheduleCacheRepository.findById(key.substring(14));
-                if (scheduleCacheDto.isPresent()) {
-                    List<ReserveScheduleVO> reserveScheduleVOs = scheduleCacheDto.get().getReserveScheduleVOs();
-                    if (reserveScheduleVOs != null) {
-                        result.addAll(reserveScheduleVOs);
-                    }
-                }
+        for (ScheduleCacheDto scheduleCacheDto : scheduleCacheDtos) {
+            List<ReserveScheduleVO> reserveScheduleVOs = scheduleCacheDto.getReserveScheduleVOs();
+            if (reserveScheduleVOs != null) {
+                result.addAll(reserveScheduleVOs);
             }
         }
         return result;
     }
 
+    // 인덱스가 생기기 전에 저장된 캐시도 조회되도록 시작할 때 한 번 인덱싱
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildScheduleCacheIndexes() {
+        scheduleCacheRepository.rebuildIndexes();
+    }
+
     public boolean checkAddPermission(User user, Integer teamId) {
         if (user.getRole().equals(Role.OWNER)) {
             Team team = teamRepository.findById(teamId).orElseThrow();
@@ -118,14 +139,22 @@ public class ScheduleService {
 
     @Transactional
     public void createSchedule(ReserveScheduleVO reserveScheduleVO) {
+        // 같은 팀-날짜의 다른 예약과 배정 검사가 겹치지 않게 한다
+        teamDayAdmission.admit(reserveScheduleVO.getTeamId(), reserveScheduleVO.getLessonDate());
         User user = userRepository.findById(1).orElseThrow();
         Team team = teamRepository.findById(reserveScheduleVO.getTeamId()).orElseThrow();
         Instructor instructor = null;
         if (reserveScheduleVO.getInstructorId() != null) {
             instructor = instructorRepository.findById(reserveScheduleVO.getInstructorId()).orElseThrow();
         }
+        if (reserveScheduleVO.getLessonId() != null) {
+            // 수정이면 기존 날짜의 배정 상태도 바뀐다
+            lessonInfoRepository.findById(reserveScheduleVO.getLessonId()).ifPresent(lessonInfo ->
+                    lessonAvailabilityIndex.invalidate(team.getTeamId(), lessonInfo.getLessonDate()));
+        }
         Lesson lesson = lessonRepository.save(new Lesson(reserveScheduleVO.getLessonId(), user, team, instructor, reserveScheduleVO.getRepresentativeName()));
         lessonInfoRepository.save(new LessonInfo(lesson, reserveScheduleVO));
+        lessonAvailabilityIndex.invalidate(team.getTeamId(), reserveScheduleVO.getLessonDate());
 
         if (!scheduleCaching(team, reserveScheduleVO.getLessonDate())) {
             throw ApiExceptionFactory.fromExceptionEnum(ScheduleExceptionEnum.FAIL_ADD_SCHEDULE);
@@ -135,14 +164,26 @@ public class ScheduleService {
     public boolean scheduleCaching(Team team, LocalDate lessonDate) {
         // 해당 팀에 소속된 강사 리스트
         List<TeamInstructor> teamInstructors = teamInstructorRepository.findByTeamAndIsInviteAccepted(team, true);
-        // 강습 일자, 팀으로 이미 예약된 강습 리스트
-        List<LessonInfo> lessonInfos = lessonInfoRepository.findByLessonDateAndLessonTeamAndLessonStatus(lessonDate, team, 0);
+        // 강습 일자, 팀으로 이미 예약된 강습 리스트 (lesson, team, resort 포함)
+        List<LessonInfo> lessonInfos = lessonInfoRepository.findWithTeamByLessonDateAndTeamIdAndLessonStatus(lessonDate, team.getTeamId(), 0);
+        // 수강생, 결제 정보는 강습 id로 한 번에 조회
+        List<Integer> lessonIds = lessonInfos.stream().map(LessonInfo::getLessonId).toList();
+        Map<Integer, List<StudentInfoDTO>> studentInfoMap = new HashMap<>();
+        Map<Integer, LessonPaymentInfo> lessonPaymentInfoMap = new HashMap<>();
+        if (!lessonIds.isEmpty()) {
+            for (StudentInfo studentInfo : studentInfoRepository.findByLessonInfoLessonIdIn(lessonIds)) {
+                studentInfoMap.computeIfAbsent(studentInfo.getLessonInfo().getLessonId(), key -> new ArrayList<>())
+                        .add(new StudentInfoDTO(studentInfo));
+            }
+            for (LessonPaymentInfo lessonPaymentInfo : lessonPaymentInfoRepository.findAllWithLessonByLessonIdIn(lessonIds)) {
+                lessonPaymentInfoMap.put(lessonPaymentInfo.getLessonId(), lessonPaymentInfo);
+            }
+        }
         // lessonInfo를 ReserveScheduleVO로 변환
         List<ReserveScheduleVO> reserveScheduleVOs = new ArrayList<>();
         for (LessonInfo lessonInfo : lessonInfos) {
-            List<StudentInfoDTO> studentInfoDTOs = studentInfoRepository.findByLessonInfo(lessonInfo).stream()
-                    .map(StudentInfoDTO::new).toList();
-            LessonPaymentInfo lessonPaymentInfo = lessonPaymentInfoRepository.findById(lessonInfo.getLesson().getLessonId()).orElse(null);
+            List<StudentInfoDTO> studentInfoDTOs = studentInfoMap.getOrDefault(lessonInfo.getLessonId(), List.of());
+            LessonPaymentInfo lessonPaymentInfo = lessonPaymentInfoMap.get(lessonInfo.getLessonId());
             if (!studentInfoDTOs.isEmpty() && lessonPaymentInfo != null) {
                 reserveScheduleVOs.add(new ReserveScheduleVO(lessonInfo, studentInfoDTOs, lessonPaymentInfo));
             }
@@ -153,8 +194,10 @@ public class ScheduleService {
         if (reserveScheduleMap != null) {
             // 예약이 가능하면 기존에 저장되어 있던 것들을 지우고 새로 저장해야함
             String id = team.getTeamId() + ":" + lessonDate;
+            List<ScheduleCacheDto> scheduleCacheDtos = new ArrayList<>();
             reserveScheduleMap.forEach((instructorId, ReserveScheduleVOs) ->
-                    scheduleCacheRepository.save(new ScheduleCacheDto(instructorId + ":" + id, ReserveScheduleVOs, lessonDate)));
+                    scheduleCacheDtos.add(new ScheduleCacheDto(instructorId + ":" + id, ReserveScheduleVOs, lessonDate)));
+            scheduleCacheRepository.cacheAll(scheduleCacheDtos);
             return true;
         }
         return false;
@@ -162,97 +205,35 @@ public class ScheduleService {
 
     // 예약을 배정할 수 있는 지 판단하는 메서드
     private Map<Integer, List<ReserveScheduleVO>> assignLessons(List<ReserveScheduleVO> reserveScheduleVOs, List<TeamInstructor> teamInstructors) {
+        // 강의 끝나는 시간이 빠른 순으로
+        reserveScheduleVOs.sort(Comparator.comparingInt(o -> LessonAssignmentEngine.endKey(o.getStartTime(), o.getDuration())));
+
         // 팀에 소속된 강사들 스케줄 맵 만들기
-        Map<Integer, LessonScheduleVO> lessonInfoMap = new HashMap<>();
+        AssignmentProblem problem = new AssignmentProblem(teamInstructors.size(), reserveScheduleVOs.size());
         Map<Integer, List<ReserveScheduleVO>> reserveScheduleMap = new HashMap<>();
         for (TeamInstructor teamInstructor : teamInstructors) {
             Instructor getInstructor = teamInstructor.getInstructor();
-            lessonInfoMap.put(getInstructor.getInstructorId(), new LessonScheduleVO(getInstructor));
+            problem.addInstructor(getInstructor.getInstructorId(), getInstructor.getIsInstructAvailable());
             reserveScheduleMap.put(getInstructor.getInstructorId(), new ArrayList<>());
         }
-
-        for (ReserveScheduleVO reserveScheduleVO : reserveScheduleVOs) {
-            if (reserveScheduleVO.getIsDesignated() && reserveScheduleVO.getInstructorId() != null) {
-                if (!assignInstructorLessons(reserveScheduleVO.getInstructorId(), reserveScheduleVO, lessonInfoMap, reserveScheduleMap))
-                    return null;
-            }
-        }
-        if (assignTeamLessons(reserveScheduleVOs, lessonInfoMap, reserveScheduleMap)) {
-            return reserveScheduleMap;
-        }
-        return null;
-    }
-
-    // 강사 지정수업 배정하기
-    private boolean assignInstructorLessons(Integer instructorId, ReserveScheduleVO reserveScheduleVO,
-                                            Map<Integer, LessonScheduleVO> lessonInfoMap,
-                                            Map<Integer, List<ReserveScheduleVO>> reserveScheduleMap) {
-        LessonScheduleVO lessonScheduleVO = lessonInfoMap.get(instructorId);
-        if (lessonScheduleVO == null) return false; // 이 팀에 존재하지 않는 강사
-
-        return canAssignLesson(lessonScheduleVO, lessonInfoMap, reserveScheduleVO, reserveScheduleMap);
-    }
-
-    // 팀 수업 배정하기
-    private boolean assignTeamLessons(List<ReserveScheduleVO> reserveScheduleVOs,
-                                      Map<Integer, LessonScheduleVO> lessonInfoMap,
-                                      Map<Integer, List<ReserveScheduleVO>> reserveScheduleMap) {
-        // 시간이 제일 적은 사람 순, 강의 끝나는 시간이 빠른 긴 순으로
-        TreeSet<LessonScheduleVO> lessonInfoTreeSet = new TreeSet<>(
-                Comparator.comparingInt(LessonScheduleVO::getTotalTime)
-                        .thenComparing(LessonScheduleVO::getInstructorId)
-        );
-
-        lessonInfoTreeSet.addAll(lessonInfoMap.values());
-        reserveScheduleVOs.sort((Comparator.comparingInt(o -> Integer.parseInt(o.getStartTime()) + o.getDuration() * 100)));
-
-        teamLesson:
         for (ReserveScheduleVO reserveScheduleVO : reserveScheduleVOs) {
-            if (!reserveScheduleVO.getIsDesignated() || reserveScheduleVO.getInstructorId() == null) {
-                for (LessonScheduleVO lessonScheduleVO : lessonInfoTreeSet) {
-                    if (canAssignLesson(lessonScheduleVO, lessonInfoMap, reserveScheduleVO, reserveScheduleMap)) {
-                        continue teamLesson;
-                    }
-                }
-                return false; // 모든 강사가 수업이 불가능함
-            }
+            problem.addLesson(reserveScheduleVO.getLessonType(), reserveScheduleVO.getStartTime(), reserveScheduleVO.getDuration(),
+                    reserveScheduleVO.getIsDesignated() ? reserveScheduleVO.getInstructorId() : null);
         }
-        return true;
-    }
-
-    private boolean canAssignLesson(LessonScheduleVO lessonScheduleVO, Map<Integer, LessonScheduleVO> lessonInfoMap,
-                                    ReserveScheduleVO reserveScheduleVO, Map<Integer, List<ReserveScheduleVO>> reserveScheduleMap) {
-        // 기술 체크
-        if (!reserveScheduleVO.getLessonType().equals("1000000")
-                && !((Integer.parseInt(reserveScheduleVO.getLessonType(), 2)
-                & Integer.parseInt(lessonScheduleVO.getIsInstructAvailable(), 2))
-                == Integer.parseInt(reserveScheduleVO.getLessonType(), 2))
-        ) return false; // 강의가 불가능한 강사
-
-        // 시간 체크
-        long lessonTime = calculateLessonTime(Integer.parseInt(reserveScheduleVO.getStartTime()), reserveScheduleVO.getDuration());
-        if ((lessonScheduleVO.getTimeTable() & lessonTime) == 0) {
-            // 기존 타임테이블과 겹치지 않으면 추가한다
-            lessonScheduleVO.setTimeTable(lessonScheduleVO.getTimeTable() | lessonTime);
-            lessonScheduleVO.setTotalTime(lessonScheduleVO.getTotalTime() + reserveScheduleVO.getDuration());
-            reserveScheduleVO.setInstructorId(lessonScheduleVO.getInstructorId());
-            reserveScheduleMap.get(lessonScheduleVO.getInstructorId()).add(reserveScheduleVO);
 
-            lessonInfoMap.remove(lessonScheduleVO.getInstructorId());
-            lessonInfoMap.put(lessonScheduleVO.getInstructorId(), lessonScheduleVO);
-            return true;
+        AssignmentResult assignmentResult = lessonAssignmentEngine.solve(problem);
+        if (!assignmentResult.isAssigned()) {
+            log.info("강습 배정 불가 - 전략: {}, 사유: {}", assignmentResult.strategy(), assignmentResult.outcome());
+            return null;
         }
-        return false;
-    }
 
-    private long calculateLessonTime(int startTime, int duration) {
-        long lessonTime = 0;
-        startTime = startTime / 50 + startTime % 100 / 30;
-        for (int i = 0; i < duration * 2; i++) {
-            lessonTime = lessonTime << 1;
-            lessonTime++;
+        int[] assignment = assignmentResult.instructorIds();
+        for (int i = 0; i < assignment.length; i++) {
+            ReserveScheduleVO reserveScheduleVO = reserveScheduleVOs.get(i);
+            reserveScheduleVO.setInstructorId(assignment[i]);
+            reserveScheduleMap.get(assignment[i]).add(reserveScheduleVO);
         }
-        return lessonTime << startTime;
+        return reserveScheduleMap;
     }
 
     // 매일 자정에 실행되는 스케줄러
@@ -260,22 +241,18 @@ public class ScheduleService {
     @Transactional
     public void updateDatabase() {
         // instructorId가 null인 데이터에 대해 업데이트
-        log.info("팀 강습 강사 배정 - 날짜: {}", LocalDate.now().plusDays(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        Set<String> keys = redisTemplate.keys("scheduleCache:*:*:" + LocalDate.now().plusDays(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        if (keys != null && !keys.isEmpty()) {
-            for (String key : keys) {
-                Optional<ScheduleCacheDto> scheduleCacheDto = scheduleCacheRepository.findById(key.substring(14));
-                if (scheduleCacheDto.isPresent()) {
-                    List<ReserveScheduleVO> reserveScheduleVOs = scheduleCacheDto.get().getReserveScheduleVOs();
-                    if (reserveScheduleVOs != null && !reserveScheduleVOs.isEmpty()) {
-                        for (ReserveScheduleVO reserveScheduleVO : reserveScheduleVOs) {
-                            Optional<Lesson> lesson = lessonRepository.findById(reserveScheduleVO.getLessonId());
-                            if (lesson.isPresent() && lesson.get().getInstructor() == null) {
-                                log.info("{}번 강습 {}번 강사에게 배정", reserveScheduleVO.getLessonId(), reserveScheduleVO.getInstructorId());
-                                lessonRepository.updateInstructorId(reserveScheduleVO.getInstructorId(), reserveScheduleVO.getLessonId());
-                                eventPublisher.publishDesignatedEvent(reserveScheduleVO.getInstructorId(), reserveScheduleVO.getLessonId());
-                            }
-                        }
+        LocalDate lessonDate = LocalDate.now().plusDays(1);
+        log.info("팀 강습 강사 배정 - 날짜: {}", lessonDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        for (ScheduleCacheDto scheduleCacheDto : findScheduleCaches(scheduleCacheRepository.findIdsByLessonDate(lessonDate))) {
+            List<ReserveScheduleVO> reserveScheduleVOs = scheduleCacheDto.getReserveScheduleVOs();
+            if (reserveScheduleVOs != null && !reserveScheduleVOs.isEmpty()) {
+                for (ReserveScheduleVO reserveScheduleVO : reserveScheduleVOs) {
+                    Optional<Lesson> lesson = lessonRepository.findById(reserveScheduleVO.getLessonId());
+                    if (lesson.isPresent() && lesson.get().getInstructor() == null) {
+                        log.info("{}번 강습 {}번 강사에게 배정", reserveScheduleVO.getLessonId(), reserveScheduleVO.getInstructorId());
+                        lessonRepository.updateInstructorId(reserveScheduleVO.getInstructorId(), reserveScheduleVO.getLessonId());
+                        lessonAvailabilityIndex.invalidate(reserveScheduleVO.getTeamId(), reserveScheduleVO.getLessonDate());
+                        eventPublisher.publishDesignatedEvent(reserveScheduleVO.getInstructorId(), reserveScheduleVO.getLessonId());
                     }
                 }
             }
@@ -285,23 +262,21 @@ public class ScheduleService {
     @Scheduled(cron = "0 1 18 * * ?")
     public void updateSchedule() {
         // instructorId가 null인 데이터에 대해 업데이트
-        log.info("스케쥴 업데이트 - 날짜: {}", LocalDate.now().plusDays(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        Set<String> keys = redisTemplate.keys("scheduleCache:*:*:" + LocalDate.now().plusDays(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        if (keys != null && !keys.isEmpty()) {
-            for (String key : keys) {
-                Optional<ScheduleCacheDto> scheduleCacheDto = scheduleCacheRepository.findById(key.substring(14));
-                if (scheduleCacheDto.isPresent()) {
-                    List<ReserveScheduleVO> reserveScheduleVOs = scheduleCacheDto.get().getReserveScheduleVOs();
-                    if (reserveScheduleVOs != null && !reserveScheduleVOs.isEmpty()) {
-                        String[] parts = key.split(":");
-                        Integer teamId = Integer.parseInt(parts[2]);
-                        LocalDate lessonDate = LocalDate.parse(parts[3]);
-                        Team team = Team.builder().teamId(teamId).build();
-                        log.info("{}번 팀 스케쥴 캐싱하기", teamId);
-                        scheduleCaching(team, lessonDate);
-                    }
-                }
+        LocalDate lessonDate = LocalDate.now().plusDays(1);
+        log.info("스케쥴 업데이트 - 날짜: {}", lessonDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        // 같은 팀을 여러 번 캐싱하지 않도록 팀 단위로 모은다
+        Set<Integer> teamIds = new LinkedHashSet<>();
+        for (ScheduleCacheDto scheduleCacheDto : findScheduleCaches(scheduleCacheRepository.findIdsByLessonDate(lessonDate))) {
+            List<ReserveScheduleVO> reserveScheduleVOs = scheduleCacheDto.getReserveScheduleVOs();
+            if (reserveScheduleVOs != null && !reserveScheduleVOs.isEmpty()) {
+                // id 형식: instructorId:teamId:lessonDate
+                teamIds.add(Integer.parseInt(scheduleCacheDto.getId().split(":")[1]));
             }
         }
+        for (Integer teamId : teamIds) {
+            Team team = Team.builder().teamId(teamId).build();
+            log.info("{}번 팀 스케쥴 캐싱하기", teamId);
+            scheduleCaching(team, lessonDate);
+        }
     }
 }
@@ -9,7 +9,8 @@ import org.springframework.http.HttpStatus;
 @AllArgsConstructor
 public enum ScheduleExceptionEnum implements ExceptionEnum {
     NOT_MEMBER_OF_TEAM(HttpStatus.BAD_REQUEST, 400, "해당 팀의 멤버가 아닙니다."),
-    FAIL_ADD_SCHEDULE(HttpStatus.BAD_REQUEST, 400, "스케줄 등록에 실패했습니다.");
+    FAIL_ADD_SCHEDULE(HttpStatus.BAD_REQUEST, 400, "스케줄 등록에 실패했습니다."),
+    BUSY_SCHEDULE(HttpStatus.CONFLICT, 409, "같은 날짜의 다른 예약을 처리 중입니다. 잠시 후 다시 시도해 주세요.");
 
     private final HttpStatus status;
     private final int code;
@@ -47,6 +47,20 @@ public class ReserveScheduleVO extends ReserveInfoVO {
         requestComplain = lessonInfo.getRequestComplain();
     }
 
+    // 캐시에서 디코딩할 때 사용
+    public ReserveScheduleVO(Integer lessonId, Integer teamId, String teamName, String resortName, List<StudentInfoDTO> studentInfoDTOs,
+                             String representativeName, String requestComplain, Boolean isDesignated, Integer instructorId) {
+        this.lessonId = lessonId;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.resortName = resortName;
+        this.studentInfoDTOs = studentInfoDTOs;
+        this.representativeName = representativeName;
+        this.requestComplain = requestComplain;
+        this.isDesignated = isDesignated;
+        this.instructorId = instructorId;
+    }
+
     public ReserveScheduleVO(CreateScheduleRequestDTO createScheduleRequestDTO) {
         super(createScheduleRequestDTO);
         teamId = createScheduleRequestDTO.getTeamId();
@@ -1,5 +1,6 @@
 package com.go.ski.team.core.repository;
 
+import com.go.ski.lesson.support.pricing.InstructorPrice;
 import com.go.ski.team.core.model.Team;
 import com.go.ski.team.core.model.TeamInstructor;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -20,4 +21,10 @@ public interface PermissionRepository extends JpaRepository<Permission, Integer>
     void deleteAllByTeamInstructor(List<TeamInstructor> teamInstructors);
 
     Optional<Permission> findByTeamInstructorInstructorInstructorIdAndTeamInstructorTeamTeamId(Integer instructorId, Integer teamId);
+
+    @Query("SELECT new com.go.ski.lesson.support.pricing.InstructorPrice(ti.instructor.instructorId, p.position, p.designatedCost) " +
+            "FROM Permission p " +
+            "JOIN p.teamInstructor ti " +
+            "WHERE ti.team.teamId = :teamId")
+    List<InstructorPrice> findInstructorPrices(Integer teamId);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.go.ski.team.core.model.Team;
 import com.go.ski.team.core.model.TeamInstructor;
 import com.go.ski.team.support.dto.TeamInstructorResponseDTO;
 import com.go.ski.user.core.model.Instructor;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -25,6 +26,7 @@ public interface TeamInstructorRepository extends JpaRepository<TeamInstructor,
 
     Optional<TeamInstructor> findByTeamAndInstructor(Team team, Instructor instructor);
 
+    @EntityGraph(attributePaths = "instructor")
     List<TeamInstructor> findByTeamAndIsInviteAccepted(Team team, boolean isInviteAccepted);
 
     Optional<TeamInstructor> findByTeamTeamIdAndInstructorInstructorIdAndIsInviteAccepted(Integer teamId, Integer instructorId, boolean isInviteAccepted);
@@ -1,6 +1,7 @@
 package com.go.ski.team.core.service;
 
 import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.lesson.core.service.TeamPricingEngine;
 import com.go.ski.notification.support.EventPublisher;
 import com.go.ski.notification.support.dto.InviteAcceptRequestDTO;
 import com.go.ski.team.core.model.Permission;
@@ -38,6 +39,7 @@ public class TeamInstructorService {
     private final TeamInstructorRepository teamInstructorRepository;
     private final PermissionRepository permissionRepository;
     private final EventPublisher eventPublisher;
+    private final TeamPricingEngine teamPricingEngine;
 
     public List<TeamInstructorResponseDTO> getTeamInstructorList(Integer teamId) {
         return teamInstructorRepository.findByTeamId(teamId);
@@ -51,6 +53,7 @@ public class TeamInstructorService {
 
         Permission newPermission = Permission.createPermission(teamInstructor, request);
         permissionRepository.save(newPermission);
+        teamPricingEngine.invalidate(teamInstructor.getTeam().getTeamId());
     }
 
     @Transactional
@@ -78,6 +81,7 @@ public class TeamInstructorService {
                 .position(DEFAULT_POSITION)
                 .build();
         permissionRepository.save(permission);
+        teamPricingEngine.invalidate(team.getTeamId());
 
         eventPublisher.publish(inviteAcceptRequestDTO, team, instructor, deviceType);
     }
@@ -2,7 +2,9 @@ package com.go.ski.team.core.service;
 
 import com.go.ski.common.constant.FileUploadPath;
 import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.common.service.ReferenceDataCache;
 import com.go.ski.common.util.S3Uploader;
+import com.go.ski.lesson.core.service.TeamPricingEngine;
 import com.go.ski.notification.core.domain.Notification;
 import com.go.ski.team.core.model.*;
 import com.go.ski.team.core.repository.*;
@@ -35,10 +37,11 @@ public class TeamService {
 
     private final TeamRepository teamRepository;
     private final TeamInstructorRepository teamInstructorRepository;
-    private final SkiResortRepository skiResortRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final TeamImageRepository teamImageRepository;
     private final LevelOptionRepository levelOptionRepository;
     private final OneToNOptionRepository oneToNOptionRepository;
+    private final TeamPricingEngine teamPricingEngine;
     private final S3Uploader s3Uploader;
 
 
@@ -154,6 +157,9 @@ public class TeamService {
         oneToNOption.update(request);
         log.info("1:N 옵션 저장 성공");
 
+        // 바뀐 요금은 커밋 후 가격표에 반영
+        teamPricingEngine.invalidate(teamId);
+
     }
 
     @Transactional
@@ -188,6 +194,7 @@ public class TeamService {
 
         // 팀 삭제
         teamRepository.delete(team);
+        teamPricingEngine.invalidate(teamId);
     }
 
     private void saveTeamImages(List<MultipartFile> newTeamImages, Team savedTeam) {
@@ -212,7 +219,7 @@ public class TeamService {
     }
 
     public SkiResort getSkiResort(Integer resortId) {
-        return skiResortRepository.findById(resortId)
+        return referenceDataCache.getSkiResort(resortId)
                 .orElseThrow(() -> new RuntimeException("해당 리조트가 존재하지 않습니다!"));
     }
 
@@ -3,9 +3,20 @@ package com.go.ski.user.core.repository;
 import com.go.ski.auth.oauth.dto.Domain;
 import com.go.ski.user.core.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByDomain(Domain domain);
+
+    // FCM이 만료됐다고 응답한 토큰을 지운다. 그 사이 새로 등록한 토큰은 건드리지 않는다
+    @Modifying
+    @Query("UPDATE User u SET u.fcmWeb = NULL WHERE u.userId = :userId AND u.fcmWeb = :token")
+    int clearFcmWeb(Integer userId, String token);
+
+    @Modifying
+    @Query("UPDATE User u SET u.fcmMobile = NULL WHERE u.userId = :userId AND u.fcmMobile = :token")
+    int clearFcmMobile(Integer userId, String token);
 }
\ No newline at end of file
@@ -6,13 +6,13 @@ import com.go.ski.auth.oauth.client.OauthMemberClientComposite;
 import com.go.ski.auth.oauth.dto.Domain;
 import com.go.ski.auth.oauth.type.OauthServerType;
 import com.go.ski.common.exception.ApiExceptionFactory;
+import com.go.ski.common.service.ReferenceDataCache;
 import com.go.ski.common.util.S3Uploader;
 import com.go.ski.notification.support.generators.NotificationSettingGenerator;
 import com.go.ski.user.core.model.Certificate;
 import com.go.ski.user.core.model.Instructor;
 import com.go.ski.user.core.model.InstructorCert;
 import com.go.ski.user.core.model.User;
-import com.go.ski.user.core.repository.CertificateRepository;
 import com.go.ski.user.core.repository.InstructorCertRepository;
 import com.go.ski.user.core.repository.InstructorRepository;
 import com.go.ski.user.core.repository.UserRepository;
@@ -41,7 +41,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final InstructorRepository instructorRepository;
     private final InstructorCertRepository instructorCertRepository;
-    private final CertificateRepository certificateRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final JwtUtil jwtUtil;
     private final S3Uploader s3Uploader;
     private final NotificationSettingGenerator generator;
@@ -232,7 +232,7 @@ public class UserService {
         if (certificateIds != null && !certificateIds.isEmpty() && certificateImages != null && !certificateImages.isEmpty()) {
             for (int i = 0; i < certificateIds.size(); i++) {
                 int certificateId = Integer.parseInt(certificateIds.get(i));
-                Optional<Certificate> optionalCertificate = certificateRepository.findById(certificateId);
+                Optional<Certificate> optionalCertificate = referenceDataCache.getCertificate(certificateId);
                 if (optionalCertificate.isPresent()) {
                     String certificateImageUrl = s3Uploader.uploadFile("certificate/" + instructor.getInstructorId(), certificateImages.get(i));
                     log.info("certificateImageUrl: {}", certificateImageUrl);
@@ -0,0 +1,169 @@
+package com.go.ski.lesson.core.service;
+
+import com.go.ski.common.exception.ApiException;
+import com.go.ski.lesson.support.config.LessonAdmissionConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+// 팀-날짜 점유의 동시성 검사. MySQL 없이 서버 안의 락 스트라이프와 메모리 Map으로 흉내 낸 Redis 리스만 쓴다
+class TeamDayAdmissionTest {
+    private static final int TEAM_ID = 1;
+    private static final LocalDate LESSON_DATE = LocalDate.of(2025, 1, 10);
+    private static final int REQUESTS = 400;
+    private static final int CAPACITY = 10;
+
+    // Redis 리스 (key -> token)
+    private final Map<String, String> leases = new ConcurrentHashMap<>();
+    private StringRedisTemplate stringRedisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "setIfAbsent":
+                    return leases.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null;
+                case "get":
+                    return leases.get(invocation.getArgument(0));
+                default:
+                    return Answers.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+        stringRedisTemplate = mock(StringRedisTemplate.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "opsForValue":
+                    return valueOperations;
+                case "execute":
+                    List<String> keys = invocation.getArgument(1);
+                    RedisScript<Long> script = invocation.getArgument(0);
+                    if (script.getScriptAsString().contains("pexpire")) {
+                        // 연장 스크립트: 만료 시각은 흉내 내지 않고 소유 여부만 돌려준다
+                        return invocation.getArgument(2).equals(leases.get(keys.get(0))) ? 1L : 0L;
+                    }
+                    // 해제 스크립트: 토큰이 같을 때만 지운다
+                    return leases.remove(keys.get(0), invocation.getArgument(2)) ? 1L : 0L;
+                default:
+                    return Answers.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    @Test
+    void serializesConcurrentApprovalsForOneTeamDay() throws Exception {
+        // 같은 Redis를 쓰는 서버 두 대
+        List<TeamDayAdmission> servers = List.of(admission(30000), admission(30000));
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        // 커밋된 강습 수 (DB 대신)
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                TeamDayAdmission admission = servers.get(i % servers.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    inTransaction(() -> {
+                        admission.admit(TEAM_ID, LESSON_DATE);
+                        maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                        // 배정 가능 검사와 저장 사이에 다른 요청이 끼어들면 정원을 넘긴다
+                        int current = booked.get();
+                        Thread.yield();
+                        if (current < CAPACITY) {
+                            booked.set(current + 1);
+                        } else {
+                            rejected.incrementAndGet();
+                        }
+                        inside.decrementAndGet();
+                    });
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxInside.get()).isEqualTo(1);
+        assertThat(booked.get()).isEqualTo(CAPACITY);
+        assertThat(rejected.get()).isEqualTo(REQUESTS - CAPACITY);
+        assertThat(leases).isEmpty();
+    }
+
+    @Test
+    void rejectsWhenAnotherServerHoldsTheLease() {
+        leases.put("lessonAdmission:" + TEAM_ID + ":" + LESSON_DATE, "other-server");
+        TeamDayAdmission admission = admission(50);
+
+        assertThatThrownBy(() -> inTransaction(() -> admission.admit(TEAM_ID, LESSON_DATE)))
+                .isInstanceOf(ApiException.class);
+        assertThat(leases).containsValue("other-server");
+    }
+
+    @Test
+    void rollsBackWhenLeaseWasLostBeforeCommit() {
+        TeamDayAdmission admission = admission(50);
+        String key = "lessonAdmission:" + TEAM_ID + ":" + LESSON_DATE;
+
+        assertThatThrownBy(() -> inTransaction(() -> {
+            admission.admit(TEAM_ID, LESSON_DATE);
+            // 리스가 만료되고 다른 서버가 새로 잡은 상황
+            leases.put(key, "other-server");
+        })).isInstanceOf(ApiException.class);
+        assertThat(leases).containsEntry(key, "other-server");
+    }
+
+    @Test
+    void requiresActiveTransaction() {
+        assertThatThrownBy(() -> admission(50).admit(TEAM_ID, LESSON_DATE))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private TeamDayAdmission admission(long waitMillis) {
+        return new TeamDayAdmission(stringRedisTemplate, new LessonAdmissionConfig(16, 10000, waitMillis));
+    }
+
+    // 트랜잭션 동기화만 흉내 낸다. 커밋 전에 beforeCommit을, 끝나면 afterCompletion을 부른다
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        int status = TransactionSynchronization.STATUS_COMMITTED;
+        try {
+            work.run();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.beforeCommit(false);
+            }
+        } catch (RuntimeException e) {
+            status = TransactionSynchronization.STATUS_ROLLED_BACK;
+            throw e;
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            for (TransactionSynchronization synchronization : synchronizations) {
+                synchronization.afterCompletion(status);
+            }
+        }
+    }
+}
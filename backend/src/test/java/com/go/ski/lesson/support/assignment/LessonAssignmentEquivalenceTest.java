@@ -0,0 +1,391 @@
+package com.go.ski.lesson.support.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.go.ski.lesson.support.assignment.LessonAssignmentEngine.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 팀-날짜 입력에 대해 이전 배정 알고리즘, 그리디, 백트래킹, 엔진, 국소 수정(TeamDaySchedule)의 결과를 비교한다
+// 이전 알고리즘은 ScheduleService.assignLessons(LessonScheduleVO + TreeSet)를 그대로 옮겨둔 LegacyAssignment로 돌린다
+class LessonAssignmentEquivalenceTest {
+    private static final String[] INSTRUCTOR_SKILLS = {"1110000", "1010000", "1100000", "1111111", "1011011"};
+    private static final String[] LESSON_TYPES = {"1010000", "1010010", "1010011", "1100000", "1101000", "1101100", "1000000"};
+    private static final String[] START_TIMES = {"0800", "0830", "0900", "1000", "1030", "1200", "1330", "1500", "1700", "2300", "2330"};
+    private static final int UNKNOWN_INSTRUCTOR_ID = 999;
+    private static final int DAYS = 3000;
+
+    private final LessonAssignmentEngine greedy = new LessonAssignmentEngine(List.of(new GreedyAssignmentStrategy()));
+    private final LessonAssignmentEngine exact = new LessonAssignmentEngine(List.of(new ExactAssignmentStrategy()));
+    private final LessonAssignmentEngine engine = new LessonAssignmentEngine(
+            List.of(new GreedyAssignmentStrategy(), new ExactAssignmentStrategy()));
+
+    @Test
+    void greedyMatchesLegacyAssignment() {
+        Random random = new Random(20240101L);
+        int assignedDays = 0;
+        for (int day = 0; day < DAYS; day++) {
+            TeamDay teamDay = TeamDay.random(random);
+
+            int[] legacy = LegacyAssignment.assign(teamDay);
+            AssignmentResult result = greedy.solve(teamDay.toProblem());
+
+            assertThat(result.isAssigned()).as("day %d: %s", day, teamDay).isEqualTo(legacy != null);
+            if (legacy != null) {
+                assertThat(result.instructorIds()).as("day %d: %s", day, teamDay).containsExactly(legacy);
+                assignedDays++;
+            }
+        }
+        // 성공하는 날과 실패하는 날이 모두 섞여 있어야 의미가 있다
+        assertThat(assignedDays).isPositive().isLessThan(DAYS);
+    }
+
+    @Test
+    void engineKeepsLegacyAssignmentAndOnlyAddsExactSolutions() {
+        Random random = new Random(20240102L);
+        int exactOnlyDays = 0;
+        for (int day = 0; day < DAYS; day++) {
+            TeamDay teamDay = TeamDay.random(random);
+
+            int[] legacy = LegacyAssignment.assign(teamDay);
+            AssignmentResult result = engine.solve(teamDay.toProblem());
+
+            if (legacy != null) {
+                // 그리디가 되는 날은 이전과 같은 배정
+                assertThat(result.strategy()).isEqualTo("GREEDY");
+                assertThat(result.instructorIds()).as("day %d: %s", day, teamDay).containsExactly(legacy);
+            } else if (result.isAssigned()) {
+                assertThat(result.strategy()).isEqualTo("EXACT");
+                assertValid(teamDay, result.instructorIds());
+                exactOnlyDays++;
+            }
+        }
+        assertThat(exactOnlyDays).isPositive();
+    }
+
+    @Test
+    void exactMatchesBruteForce() {
+        Random random = new Random(20240103L);
+        for (int day = 0; day < DAYS; day++) {
+            TeamDay teamDay = TeamDay.random(random);
+
+            AssignmentResult result = exact.solve(teamDay.toProblem());
+
+            assertThat(result.isAssigned()).as("day %d: %s", day, teamDay).isEqualTo(BruteForce.isFeasible(teamDay));
+            if (result.isAssigned()) {
+                assertValid(teamDay, result.instructorIds());
+            }
+            // 그리디가 되는 날은 백트래킹도 된다
+            if (greedy.isFeasible(teamDay.toProblem())) {
+                assertThat(result.isAssigned()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void exactSolvesDayThatGreedyRejects() {
+        // 1번은 스키, 보드 모두 가능, 2번은 스키만 가능. 같은 시간 스키 수업을 1번이 먼저 가져가면 보드 수업을 받을 강사가 없다
+        TeamDay teamDay = new TeamDay(new int[]{1, 2}, new String[]{"1110000", "1010000"}, List.of(
+                new Lesson("1010000", "0900", 2, null),
+                new Lesson("1100000", "0900", 2, null)));
+
+        assertThat(LegacyAssignment.assign(teamDay)).isNull();
+        assertThat(greedy.solve(teamDay.toProblem()).isAssigned()).isFalse();
+        AssignmentResult result = engine.solve(teamDay.toProblem());
+        assertThat(result.strategy()).isEqualTo("EXACT");
+        assertThat(result.instructorIds()).containsExactly(2, 1);
+    }
+
+    @Test
+    void distinguishesInfeasibleFromBudgetExhausted() {
+        // 강사 한 명에 같은 시간 수업 두 개: 백트래킹이 불가능을 확인한다
+        TeamDay conflict = new TeamDay(new int[]{1}, new String[]{"1110000"}, List.of(
+                new Lesson("1010000", "0900", 2, null),
+                new Lesson("1010000", "0900", 2, null)));
+        assertThat(greedy.solve(conflict.toProblem()).outcome()).isEqualTo(AssignmentOutcome.NOT_FOUND);
+        AssignmentResult infeasible = engine.solve(conflict.toProblem());
+        assertThat(infeasible.strategy()).isEqualTo("EXACT");
+        assertThat(infeasible.outcome()).isEqualTo(AssignmentOutcome.INFEASIBLE);
+
+        // 기술이 모두 다른 강사 12명에 같은 시간 수업 13개: 중복 제거가 안 되어 탐색 한도를 넘긴다
+        int instructorCount = 12;
+        int[] instructorIds = new int[instructorCount];
+        String[] skills = new String[instructorCount];
+        for (int i = 0; i < instructorCount; i++) {
+            instructorIds[i] = i + 1;
+            String extra = String.format("%5s", Integer.toBinaryString(i)).replace(' ', '0');
+            skills[i] = "1" + extra.charAt(0) + "1" + extra.substring(1);
+        }
+        List<Lesson> lessons = new ArrayList<>();
+        for (int l = 0; l <= instructorCount; l++) {
+            lessons.add(new Lesson("1010000", "0900", 1, null));
+        }
+        AssignmentResult exhausted = engine.solve(new TeamDay(instructorIds, skills, lessons).toProblem());
+        assertThat(exhausted.isAssigned()).isFalse();
+        assertThat(exhausted.outcome()).isEqualTo(AssignmentOutcome.BUDGET_EXHAUSTED);
+    }
+
+    @Test
+    void incrementalCheckMatchesFullResolve() {
+        Random random = new Random(20240104L);
+        for (int day = 0; day < DAYS / 3; day++) {
+            TeamDay teamDay = TeamDay.random(random);
+            Lesson newLesson = Lesson.random(random, null);
+
+            AssignmentProblem problem = teamDay.toProblem();
+            TeamDaySchedule schedule = engine.prepare(problem);
+            TeamDayAvailability availability = new TeamDayAvailability(schedule, 0);
+            int start = Integer.parseInt(newLesson.startTime());
+            int skill = skillMask(newLesson.lessonType());
+            long time = timeMask(start, newLesson.duration());
+            int end = endKey(start, newLesson.duration());
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < teamDay.instructorIds.length; i++) {
+                int instructorId = teamDay.instructorIds[i];
+                TeamDay withLesson = teamDay.with(new Lesson(newLesson.lessonType(), newLesson.startTime(),
+                        newLesson.duration(), instructorId));
+                boolean resolved = engine.isFeasible(withLesson.toProblem());
+
+                assertThat(schedule.canTakeLesson(problem.indexOfInstructor(instructorId), skill, time,
+                        newLesson.duration(), end)).as("day %d, instructor %d: %s", day, instructorId, withLesson)
+                        .isEqualTo(resolved);
+                // 이전 알고리즘이 받아주던 강사는 지금도 받아준다
+                if (LegacyAssignment.assign(withLesson) != null) {
+                    assertThat(resolved).isTrue();
+                }
+                if (resolved) expected.add(instructorId);
+            }
+            assertThat(availability.findAvailableInstructors(skill, time, newLesson.duration(), end))
+                    .as("day %d: %s + %s", day, teamDay, newLesson)
+                    .containsExactlyElementsOf(expected);
+            // 검사 후에도 원래 강습 목록은 그대로
+            assertThat(problem.getLessonCount()).isEqualTo(teamDay.lessons.size());
+        }
+    }
+
+    // 기술, 시간 겹침, 지정 강사를 모두 만족하는 배정인지 확인
+    private static void assertValid(TeamDay teamDay, int[] assigned) {
+        assertThat(assigned).hasSize(teamDay.lessons.size());
+        Map<Integer, Long> timeTables = new HashMap<>();
+        for (int l = 0; l < assigned.length; l++) {
+            Lesson lesson = teamDay.lessons.get(l);
+            int instructor = indexOf(teamDay.instructorIds, assigned[l]);
+            assertThat(instructor).isNotNegative();
+            if (lesson.instructorId() != null) {
+                assertThat(assigned[l]).isEqualTo(lesson.instructorId());
+            }
+            int skill = skillMask(lesson.lessonType());
+            assertThat(skill & instructorSkillMask(teamDay.skills[instructor])).isEqualTo(skill);
+
+            long time = timeMask(Integer.parseInt(lesson.startTime()), lesson.duration());
+            long timeTable = timeTables.getOrDefault(assigned[l], DAY_BOUNDARY);
+            assertThat(timeTable & time).isZero();
+            timeTables.put(assigned[l], timeTable | time);
+        }
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) return i;
+        }
+        return -1;
+    }
+
+    record Lesson(String lessonType, String startTime, int duration, Integer instructorId) {
+        static Lesson random(Random random, Integer instructorId) {
+            return new Lesson(LESSON_TYPES[random.nextInt(LESSON_TYPES.length)],
+                    START_TIMES[random.nextInt(START_TIMES.length)], 1 + random.nextInt(3), instructorId);
+        }
+    }
+
+    static final class TeamDay {
+        final int[] instructorIds;
+        final String[] skills;
+        final List<Lesson> lessons;
+
+        TeamDay(int[] instructorIds, String[] skills, List<Lesson> lessons) {
+            this.instructorIds = instructorIds;
+            this.skills = skills;
+            this.lessons = lessons;
+        }
+
+        // 강사 1~5명, 강습 0~8개. 약 30%는 지정 수업이고, 가끔 팀에 없는 강사를 지정한다
+        static TeamDay random(Random random) {
+            int instructorCount = 1 + random.nextInt(5);
+            int[] instructorIds = new int[instructorCount];
+            String[] skills = new String[instructorCount];
+            Set<Integer> used = new HashSet<>();
+            for (int i = 0; i < instructorCount; i++) {
+                int instructorId;
+                do {
+                    instructorId = 1 + random.nextInt(50);
+                } while (!used.add(instructorId));
+                instructorIds[i] = instructorId;
+                skills[i] = INSTRUCTOR_SKILLS[random.nextInt(INSTRUCTOR_SKILLS.length)];
+            }
+
+            int lessonCount = random.nextInt(9);
+            List<Lesson> lessons = new ArrayList<>();
+            for (int l = 0; l < lessonCount; l++) {
+                Integer instructorId = null;
+                int designated = random.nextInt(100);
+                if (designated < 2) {
+                    instructorId = UNKNOWN_INSTRUCTOR_ID;
+                } else if (designated < 30) {
+                    instructorId = instructorIds[random.nextInt(instructorCount)];
+                }
+                lessons.add(Lesson.random(random, instructorId));
+            }
+            return new TeamDay(instructorIds, skills, lessons);
+        }
+
+        TeamDay with(Lesson lesson) {
+            List<Lesson> added = new ArrayList<>(lessons);
+            added.add(lesson);
+            return new TeamDay(instructorIds, skills, added);
+        }
+
+        AssignmentProblem toProblem() {
+            AssignmentProblem problem = new AssignmentProblem(instructorIds.length, lessons.size());
+            for (int i = 0; i < instructorIds.length; i++) {
+                problem.addInstructor(instructorIds[i], skills[i]);
+            }
+            for (Lesson lesson : lessons) {
+                problem.addLesson(lesson.lessonType(), lesson.startTime(), lesson.duration(), lesson.instructorId());
+            }
+            return problem;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(instructorIds) + Arrays.toString(skills) + lessons;
+        }
+    }
+
+    // 엔진 이전 ScheduleService.assignLessons의 배정 과정. 강습 순서대로 배정된 instructorId, 불가능하면 null
+    static final class LegacyAssignment {
+        static int[] assign(TeamDay teamDay) {
+            Map<Integer, Schedule> scheduleMap = new HashMap<>();
+            for (int i = 0; i < teamDay.instructorIds.length; i++) {
+                scheduleMap.put(teamDay.instructorIds[i], new Schedule(teamDay.instructorIds[i], teamDay.skills[i]));
+            }
+            int[] assigned = new int[teamDay.lessons.size()];
+
+            // 강사 지정수업 배정하기
+            for (int l = 0; l < teamDay.lessons.size(); l++) {
+                Lesson lesson = teamDay.lessons.get(l);
+                if (lesson.instructorId() != null) {
+                    Schedule schedule = scheduleMap.get(lesson.instructorId());
+                    if (schedule == null || !canAssignLesson(schedule, lesson)) return null;
+                    assigned[l] = schedule.instructorId;
+                }
+            }
+
+            // 시간이 제일 적은 사람 순, 강의 끝나는 시간이 빠른 순으로
+            TreeSet<Schedule> schedules = new TreeSet<>(Comparator.comparingInt((Schedule s) -> s.totalTime)
+                    .thenComparing(s -> s.instructorId));
+            schedules.addAll(scheduleMap.values());
+            List<Integer> order = new ArrayList<>();
+            for (int l = 0; l < teamDay.lessons.size(); l++) order.add(l);
+            order.sort(Comparator.comparingInt(l -> Integer.parseInt(teamDay.lessons.get(l).startTime())
+                    + teamDay.lessons.get(l).duration() * 100));
+
+            teamLesson:
+            for (int l : order) {
+                Lesson lesson = teamDay.lessons.get(l);
+                if (lesson.instructorId() != null) continue;
+                for (Schedule schedule : schedules) {
+                    if (canAssignLesson(schedule, lesson)) {
+                        assigned[l] = schedule.instructorId;
+                        continue teamLesson;
+                    }
+                }
+                return null; // 모든 강사가 수업이 불가능함
+            }
+            return assigned;
+        }
+
+        private static boolean canAssignLesson(Schedule schedule, Lesson lesson) {
+            // 기술 체크
+            if (!lesson.lessonType().equals("1000000")
+                    && !((Integer.parseInt(lesson.lessonType(), 2) & Integer.parseInt(schedule.isInstructAvailable, 2))
+                    == Integer.parseInt(lesson.lessonType(), 2))
+            ) return false;
+
+            // 시간 체크
+            long lessonTime = calculateLessonTime(Integer.parseInt(lesson.startTime()), lesson.duration());
+            if ((schedule.timeTable & lessonTime) == 0) {
+                schedule.timeTable |= lessonTime;
+                schedule.totalTime += lesson.duration();
+                return true;
+            }
+            return false;
+        }
+
+        private static long calculateLessonTime(int startTime, int duration) {
+            long lessonTime = 0;
+            startTime = startTime / 50 + startTime % 100 / 30;
+            for (int i = 0; i < duration * 2; i++) {
+                lessonTime = lessonTime << 1;
+                lessonTime++;
+            }
+            return lessonTime << startTime;
+        }
+
+        private static final class Schedule {
+            final int instructorId;
+            final String isInstructAvailable;
+            long timeTable = 281474976710656L;
+            int totalTime;
+
+            Schedule(int instructorId, String isInstructAvailable) {
+                this.instructorId = instructorId;
+                this.isInstructAvailable = isInstructAvailable;
+            }
+        }
+    }
+
+    // 팀 수업마다 모든 강사를 다 넣어보는 완전 탐색
+    static final class BruteForce {
+        static boolean isFeasible(TeamDay teamDay) {
+            long[] timeTables = new long[teamDay.instructorIds.length];
+            Arrays.fill(timeTables, DAY_BOUNDARY);
+            List<Lesson> teamLessons = new ArrayList<>();
+            for (Lesson lesson : teamDay.lessons) {
+                if (lesson.instructorId() == null) {
+                    teamLessons.add(lesson);
+                    continue;
+                }
+                int instructor = indexOf(teamDay.instructorIds, lesson.instructorId());
+                if (instructor < 0 || !fits(teamDay, timeTables, instructor, lesson)) return false;
+                timeTables[instructor] |= time(lesson);
+            }
+            return search(teamDay, timeTables, teamLessons, 0);
+        }
+
+        private static boolean search(TeamDay teamDay, long[] timeTables, List<Lesson> teamLessons, int k) {
+            if (k == teamLessons.size()) return true;
+            Lesson lesson = teamLessons.get(k);
+            for (int i = 0; i < timeTables.length; i++) {
+                if (!fits(teamDay, timeTables, i, lesson)) continue;
+                timeTables[i] |= time(lesson);
+                boolean found = search(teamDay, timeTables, teamLessons, k + 1);
+                timeTables[i] &= ~time(lesson);
+                if (found) return true;
+            }
+            return false;
+        }
+
+        private static boolean fits(TeamDay teamDay, long[] timeTables, int instructor, Lesson lesson) {
+            int skill = skillMask(lesson.lessonType());
+            return (skill & instructorSkillMask(teamDay.skills[instructor])) == skill
+                    && (timeTables[instructor] & time(lesson)) == 0;
+        }
+
+        private static long time(Lesson lesson) {
+            return timeMask(Integer.parseInt(lesson.startTime()), lesson.duration());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.go.ski.lesson.support.pricing;
+
+import com.go.ski.team.core.model.LevelOption;
+import com.go.ski.team.core.model.OneToNOption;
+import com.go.ski.team.support.dto.TeamCreateRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 가격표 견적이 이전 LessonService 계산(calculateTeamCost, getOneToNOption, calculateLevelCost)과 같은지 비교한다
+class TeamPriceTableTest {
+    private static final int TEAM_COST = 50000;
+    private static final String[] LEVELS = {"BEGINNER", "INTERMEDIATE", "ADVANCED"};
+
+    private final OneToNOption oneToNOption;
+    private final LevelOption levelOption;
+
+    TeamPriceTableTest() {
+        TeamCreateRequestDTO requestDTO = new TeamCreateRequestDTO();
+        requestDTO.setOneTwoFee(10000);
+        requestDTO.setOneThreeFee(15000);
+        requestDTO.setOneFourFee(18000);
+        requestDTO.setOneNFee(20000);
+        requestDTO.setIntermediateFee(7000);
+        requestDTO.setAdvancedFee(12000);
+        oneToNOption = OneToNOption.of(null, requestDTO);
+        levelOption = LevelOption.of(null, requestDTO);
+    }
+
+    @Test
+    void quotesTeamLessonsLikeBefore() {
+        for (OneToNOption option : new OneToNOption[]{oneToNOption, null}) {
+            TeamPriceTable table = new TeamPriceTable(TEAM_COST, option, levelOption, List.of(), 0);
+            for (int studentCount = 1; studentCount <= 7; studentCount++) {
+                for (int duration = 1; duration <= 4; duration++) {
+                    int peopleOptionFee = legacyOneToNFee(option, studentCount);
+                    int basicFee = peopleOptionFee + TEAM_COST;
+
+                    assertThat(table.quoteTeam(studentCount, duration)).as("%d명 %d시간", studentCount, duration)
+                            .isEqualTo(new PriceQuote(basicFee, peopleOptionFee, 0, 0, (basicFee + peopleOptionFee) * duration));
+                }
+            }
+        }
+    }
+
+    @Test
+    void quotesDesignatedLessonsLikeBefore() {
+        int designatedCost = 30000;
+        for (OneToNOption option : new OneToNOption[]{oneToNOption, null}) {
+            for (LevelOption level : new LevelOption[]{levelOption, null}) {
+                TeamPriceTable table = new TeamPriceTable(TEAM_COST, option, level,
+                        List.of(new InstructorPrice(7, 1, designatedCost)), 0);
+                for (String lessonLevel : LEVELS) {
+                    for (int studentCount = 1; studentCount <= 7; studentCount++) {
+                        for (int duration = 1; duration <= 4; duration++) {
+                            int basicFee = legacyTeamCost(option, studentCount);
+                            int peopleOptionFee = legacyOneToNFee(option, studentCount);
+                            int levelOptionFee = legacyLevelFee(level, lessonLevel);
+                            int cost = (basicFee + peopleOptionFee + levelOptionFee) * duration + designatedCost;
+
+                            assertThat(table.quoteInstructor(7, studentCount, lessonLevel, duration))
+                                    .as("%s %d명 %d시간", lessonLevel, studentCount, duration)
+                                    .isEqualTo(new PriceQuote(basicFee, peopleOptionFee, levelOptionFee, designatedCost, cost));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void quotesInstructorWithoutDesignatedCost() {
+        TeamPriceTable table = new TeamPriceTable(TEAM_COST, oneToNOption, levelOption,
+                List.of(new InstructorPrice(7, 2, null)), 0);
+
+        // 지정 요금이 없는 강사와 가격표에 없는 강사는 지정 요금 0
+        assertThat(table.quoteInstructor(7, 2, "ADVANCED", 2))
+                .isEqualTo(new PriceQuote(60000, 10000, 12000, 0, (60000 + 10000 + 12000) * 2));
+        assertThat(table.quoteInstructor(8, 1, "INTERMEDIATE", 1))
+                .isEqualTo(new PriceQuote(50000, 0, 7000, 0, 57000));
+    }
+
+    @Test
+    void knowsTeamInstructors() {
+        TeamPriceTable table = new TeamPriceTable(TEAM_COST, null, null,
+                List.of(new InstructorPrice(7, 2, 30000), new InstructorPrice(9, null, null)), 1234);
+
+        assertThat(table.hasInstructor(7)).isTrue();
+        assertThat(table.hasInstructor(8)).isFalse();
+        assertThat(table.position(7)).isEqualTo(2);
+        assertThat(table.position(9)).isNull();
+        assertThat(table.position(8)).isNull();
+        assertThat(table.getLoadedAt()).isEqualTo(1234);
+    }
+
+    private static int legacyTeamCost(OneToNOption option, int studentCount) {
+        if (option == null) return TEAM_COST;
+        return switch (studentCount) {
+            case 1 -> TEAM_COST;
+            case 2 -> TEAM_COST + option.getOneTwoFee();
+            case 3 -> TEAM_COST + option.getOneThreeFee();
+            case 4 -> TEAM_COST + option.getOneFourFee();
+            default -> TEAM_COST + option.getOneNFee();
+        };
+    }
+
+    private static int legacyOneToNFee(OneToNOption option, int studentCount) {
+        if (option == null) return 0;
+        return switch (studentCount) {
+            case 1 -> 0;
+            case 2 -> option.getOneTwoFee();
+            case 3 -> option.getOneThreeFee();
+            case 4 -> option.getOneFourFee();
+            default -> option.getOneNFee();
+        };
+    }
+
+    private static int legacyLevelFee(LevelOption option, String level) {
+        if (option == null) return 0;
+        return switch (level) {
+            case "INTERMEDIATE" -> option.getIntermediateFee();
+            case "ADVANCED" -> option.getAdvancedFee();
+            default -> 0;
+        };
+    }
+}
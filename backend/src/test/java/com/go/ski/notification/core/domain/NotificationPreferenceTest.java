@@ -0,0 +1,52 @@
+package com.go.ski.notification.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationPreferenceTest {
+
+    @Test
+    void mapsNotificationTypeToBit() {
+        assertThat(NotificationPreference.bitOf(0)).isEqualTo(1);
+        assertThat(NotificationPreference.bitOf(1)).isEqualTo(0b10);
+        assertThat(NotificationPreference.bitOf(7)).isEqualTo(0b1000_0000);
+        // 부호 비트는 쓰지 않는다
+        assertThat(NotificationPreference.bitOf(30)).isEqualTo(1 << 30).isPositive();
+    }
+
+    @Test
+    void rejectsTypesOutsideMask() {
+        assertThatThrownBy(() -> NotificationPreference.bitOf(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> NotificationPreference.bitOf(31)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> NotificationPreference.bitOf(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void foldsTypesIntoMask() {
+        assertThat(NotificationPreference.maskOf(List.of())).isZero();
+        assertThat(NotificationPreference.maskOf(List.of(1, 2, 5))).isEqualTo(0b10_0110);
+        // 같은 종류가 여러 번 와도 한 비트
+        assertThat(NotificationPreference.maskOf(List.of(3, 3, 3))).isEqualTo(0b1000);
+    }
+
+    @Test
+    void enablesEveryRoleTypeOnSignup() {
+        NotificationPreference preference = NotificationPreference.of(42, Set.of(1, 2, 3, 6));
+
+        assertThat(preference.getUserId()).isEqualTo(42);
+        assertThat(preference.getSettingMask()).isEqualTo(0b100_1110);
+        assertThat(preference.getEnabledMask()).isEqualTo(preference.getSettingMask());
+        assertThat(preference.getUpdatedAt()).isNotNull();
+        for (int notificationType = 0; notificationType <= 30; notificationType++) {
+            int bit = NotificationPreference.bitOf(notificationType);
+            assertThat((preference.getEnabledMask() & bit) != 0)
+                    .as("type %d", notificationType)
+                    .isEqualTo(Set.of(1, 2, 3, 6).contains(notificationType));
+        }
+    }
+}
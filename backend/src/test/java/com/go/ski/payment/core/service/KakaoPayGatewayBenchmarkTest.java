@@ -0,0 +1,128 @@
+package com.go.ski.payment.core.service;
+
+import com.go.ski.config.KakaoPayClientConfig;
+import com.go.ski.payment.support.config.KakaoPayConfig;
+import com.go.ski.payment.support.dto.response.KakaopayPrepareResponseDTO;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 카카오페이 스텁 서버로 이전 클라이언트(요청마다 RestTemplate.postForEntity)와 KakaoPayGateway를 비교한다
+// 톰캣 요청 스레드처럼 CONCURRENCY개의 스레드가 응답을 기다리며 /ready를 보내고, 처리량과 새로 맺은 커넥션 수를 남긴다
+// 스텁은 평문 HTTP라서 실제 카카오페이의 TLS 핸드셰이크 비용은 들어가지 않는다
+class KakaoPayGatewayBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(KakaoPayGatewayBenchmarkTest.class);
+    private static final int CONCURRENCY = 32;
+    private static final int REQUESTS = 2000;
+    private static final long LATENCY_MILLIS = 20;
+    private static final String READY_RESPONSE = "{\"tid\":\"T1234567890\","
+            + "\"next_redirect_pc_url\":\"https://example.com/pc\","
+            + "\"next_redirect_mobile_url\":\"https://example.com/mobile\"}";
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .setBody(READY_RESPONSE)
+                        .setHeadersDelay(LATENCY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    void comparesOldClientWithPooledGateway() throws Exception {
+        String host = server.url("/online/v1/payment").toString();
+        Map<String, String> params = Map.of("cid", "TC0ONETIME", "partner_order_id", "1", "partner_user_id", "1");
+
+        // 이전 KakaoPayService와 같은 방식
+        RestTemplate restTemplate = new RestTemplate();
+        Supplier<KakaopayPrepareResponseDTO> oldClient = () -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.add("Authorization", "SECRET_KEY test");
+            return restTemplate.postForEntity(host + "/ready", new HttpEntity<>(params, headers),
+                    KakaopayPrepareResponseDTO.class).getBody();
+        };
+
+        KakaoPayConfig kakaoPayConfig = new KakaoPayConfig(host, 50, 3000, 10000, 30000, 5000);
+        KakaoPayGateway kakaoPayGateway = new KakaoPayGateway(
+                new KakaoPayClientConfig().kakaoPayWebClient(WebClient.builder(), kakaoPayConfig));
+        Supplier<KakaopayPrepareResponseDTO> gateway = () -> kakaoPayGateway.await(kakaoPayGateway.ready(params));
+
+        // 워밍업
+        run(oldClient, CONCURRENCY * 4);
+        run(gateway, CONCURRENCY * 4);
+        drainConnections();
+
+        double oldThroughput = run(oldClient, REQUESTS);
+        int oldConnections = drainConnections();
+        double gatewayThroughput = run(gateway, REQUESTS);
+        int gatewayConnections = drainConnections();
+
+        log.info("카카오페이 /ready {}건, 동시 {}, 응답 지연 {}ms - 이전 {}/s (새 커넥션 {}) / 게이트웨이 {}/s (새 커넥션 {})",
+                REQUESTS, CONCURRENCY, LATENCY_MILLIS, Math.round(oldThroughput), oldConnections,
+                Math.round(gatewayThroughput), gatewayConnections);
+        // 풀이 커넥션을 재사용한다
+        assertThat(gatewayConnections).isLessThanOrEqualTo(CONCURRENCY);
+    }
+
+    // 초당 처리 건수
+    private double run(Supplier<KakaopayPrepareResponseDTO> client, int requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            long start = System.nanoTime();
+            List<Future<KakaopayPrepareResponseDTO>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(client::get));
+            }
+            for (Future<KakaopayPrepareResponseDTO> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS).getTid()).isEqualTo("T1234567890");
+            }
+            return requests * 1_000_000_000.0 / (System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 지금까지 받은 요청을 비우고, 그중 새 커넥션의 첫 요청 수를 센다
+    private int drainConnections() throws InterruptedException {
+        int connections = 0;
+        RecordedRequest request;
+        while ((request = server.takeRequest(10, TimeUnit.MILLISECONDS)) != null) {
+            if (request.getSequenceNumber() == 0) {
+                connections++;
+            }
+        }
+        return connections;
+    }
+}
@@ -0,0 +1,92 @@
+package com.go.ski.redis.codec;
+
+import com.go.ski.payment.support.dto.util.StudentInfoDTO;
+import com.go.ski.payment.support.vo.Age;
+import com.go.ski.payment.support.vo.Height;
+import com.go.ski.payment.support.vo.Weight;
+import com.go.ski.schedule.support.vo.ReserveScheduleVO;
+import com.go.ski.user.support.vo.Gender;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleCacheCodecTest {
+
+    @Test
+    void roundTripsEveryField() {
+        List<ReserveScheduleVO> reserveScheduleVOs = List.of(
+                lesson(101, 7, "0900", true, List.of(
+                        new StudentInfoDTO(Height.HEIGHT_ABOVE_180CM, Weight.WEIGHT_ABOVE_100KG, 285, Age.SIXTIES_OVER, Gender.FEMALE, "김철수"),
+                        new StudentInfoDTO(Height.HEIGHT_UNDER_140CM, Weight.WEIGHT_UNDER_40KG, 180, Age.PRESCHOOL_CHILD, Gender.MALE, "김영희"))),
+                lesson(Integer.MAX_VALUE, -3, "1330", false, List.of()));
+
+        List<ReserveScheduleVO> decoded = ScheduleCacheCodec.decode(ScheduleCacheCodec.encode(reserveScheduleVOs));
+
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(reserveScheduleVOs);
+    }
+
+    @Test
+    void keepsNulls() {
+        // 지정 여부, 강사, 날짜, 요청사항, 수강생 목록이 비어있는 강습
+        ReserveScheduleVO vo = new ReserveScheduleVO(1, 2, "고스키", "하이원", null, "대표", null, null, null);
+        List<StudentInfoDTO> studentInfoDTOs = new ArrayList<>();
+        studentInfoDTOs.add(new StudentInfoDTO(null, null, null, null, null, null));
+        ReserveScheduleVO student = new ReserveScheduleVO(3, 2, null, null, studentInfoDTOs, null, null, false, null);
+
+        List<ReserveScheduleVO> decoded = ScheduleCacheCodec.decode(ScheduleCacheCodec.encode(List.of(vo, student)));
+
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparator().containsExactly(vo, student);
+        assertThat(decoded.get(0).getStudentInfoDTOs()).isNull();
+        assertThat(decoded.get(0).getIsDesignated()).isNull();
+        assertThat(decoded.get(1).getIsDesignated()).isFalse();
+    }
+
+    @Test
+    void storesRepeatedStringsOnce() {
+        List<ReserveScheduleVO> reserveScheduleVOs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            reserveScheduleVOs.add(lesson(i, 7, "0900", false, List.of()));
+        }
+
+        String encoded = new String(ScheduleCacheCodec.encode(reserveScheduleVOs), StandardCharsets.ISO_8859_1);
+        String teamName = new String("고스키 스키스쿨".getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+
+        assertThat(encoded.indexOf(teamName)).isNotNegative();
+        assertThat(encoded.indexOf(teamName)).isEqualTo(encoded.lastIndexOf(teamName));
+    }
+
+    @Test
+    void encodesEmptyDay() {
+        byte[] encoded = ScheduleCacheCodec.encode(List.of());
+
+        assertThat(encoded[0]).isEqualTo(ScheduleCacheCodec.VERSION_1);
+        assertThat(ScheduleCacheCodec.decode(encoded)).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] encoded = ScheduleCacheCodec.encode(List.of(lesson(1, 7, "0900", false, List.of())));
+        encoded[0] = 2;
+
+        assertThatThrownBy(() -> ScheduleCacheCodec.decode(encoded)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ReserveScheduleVO lesson(int lessonId, Integer instructorId, String startTime, boolean designated,
+                                            List<StudentInfoDTO> studentInfoDTOs) {
+        ReserveScheduleVO vo = new ReserveScheduleVO(lessonId, 12, "고스키 스키스쿨", "하이원", studentInfoDTOs,
+                "대표자", "초보입니다", designated, instructorId);
+        vo.setResortId(3);
+        vo.setStudentCount(studentInfoDTOs.size());
+        vo.setLessonDate(LocalDate.of(2025, 1, 10));
+        vo.setStartTime(startTime);
+        vo.setDuration(2);
+        vo.setLessonType("1010000");
+        return vo;
+    }
+}
@@ -0,0 +1,163 @@
+package com.go.ski.redis.repository;
+
+import com.go.ski.payment.support.dto.util.StudentInfoDTO;
+import com.go.ski.payment.support.vo.Age;
+import com.go.ski.payment.support.vo.Height;
+import com.go.ski.payment.support.vo.Weight;
+import com.go.ski.redis.codec.ScheduleCacheCodec;
+import com.go.ski.redis.dto.ScheduleCacheDto;
+import com.go.ski.schedule.support.vo.ReserveScheduleVO;
+import com.go.ski.user.support.vo.Gender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 스케줄 캐시 읽기: 바이너리 형식은 MGET으로, 바이너리가 없는 id는 이전 @RedisHash 형식으로 읽는다
+// Redis는 메모리 Map으로 흉내 낸다
+class ScheduleCacheRepositoryCustomImplTest {
+    private static final LocalDate LESSON_DATE = LocalDate.now().plusDays(3);
+
+    // key -> 바이너리 값
+    private final Map<String, byte[]> values = new HashMap<>();
+    // key -> 이전 형식 해시
+    private final Map<String, Map<byte[], byte[]>> hashes = new HashMap<>();
+    private final List<Object> pipelined = new ArrayList<>();
+
+    private MappingRedisConverter redisConverter;
+    private ScheduleCacheRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        redisConverter = new MappingRedisConverter(new RedisMappingContext());
+        redisConverter.afterPropertiesSet();
+
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class, invocation -> {
+            if ("mGet".equals(invocation.getMethod().getName())) {
+                List<byte[]> result = new ArrayList<>();
+                for (byte[] key : keys(invocation.getArguments())) {
+                    result.add(values.get(new String(key, StandardCharsets.UTF_8)));
+                }
+                return result;
+            }
+            return Answers.RETURNS_DEFAULTS.answer(invocation);
+        });
+        RedisHashCommands hashCommands = mock(RedisHashCommands.class, invocation -> {
+            if ("hGetAll".equals(invocation.getMethod().getName())) {
+                // 파이프라인 안에서는 null을 돌려주고 결과는 closePipeline에서 받는다
+                byte[] key = invocation.getArgument(0);
+                pipelined.add(hashes.getOrDefault(new String(key, StandardCharsets.UTF_8), Map.of()));
+                return null;
+            }
+            return Answers.RETURNS_DEFAULTS.answer(invocation);
+        });
+        RedisConnection connection = mock(RedisConnection.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "stringCommands" -> stringCommands;
+            case "hashCommands" -> hashCommands;
+            case "closePipeline" -> {
+                List<Object> result = new ArrayList<>(pipelined);
+                pipelined.clear();
+                yield result;
+            }
+            default -> Answers.RETURNS_DEFAULTS.answer(invocation);
+        });
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class, invocation -> {
+            if ("execute".equals(invocation.getMethod().getName())
+                    && invocation.getArgument(0) instanceof RedisCallback<?> callback) {
+                return callback.doInRedis(connection);
+            }
+            return Answers.RETURNS_DEFAULTS.answer(invocation);
+        });
+
+        repository = new ScheduleCacheRepositoryCustomImpl(stringRedisTemplate, redisConverter);
+    }
+
+    @Test
+    void readsBinaryEntries() {
+        String id = "7:12:" + LESSON_DATE;
+        List<ReserveScheduleVO> reserveScheduleVOs = reserveScheduleVOs(7);
+        values.put("scheduleCacheData:" + id, ScheduleCacheCodec.encode(reserveScheduleVOs));
+
+        List<ScheduleCacheDto> scheduleCacheDtos = repository.findAllCached(List.of(id));
+
+        assertThat(scheduleCacheDtos).hasSize(1);
+        assertThat(scheduleCacheDtos.get(0).getId()).isEqualTo(id);
+        assertThat(scheduleCacheDtos.get(0).getReserveScheduleVOs())
+                .usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(reserveScheduleVOs);
+    }
+
+    @Test
+    void fallsBackToLegacyHashEntries() {
+        String binaryId = "7:12:" + LESSON_DATE;
+        String legacyId = "8:12:" + LESSON_DATE;
+        values.put("scheduleCacheData:" + binaryId, ScheduleCacheCodec.encode(reserveScheduleVOs(7)));
+        // 배포 전에 CrudRepository로 저장된 형식
+        List<ReserveScheduleVO> legacyVOs = reserveScheduleVOs(8);
+        hashes.put("scheduleCache:" + legacyId, legacyHash(new ScheduleCacheDto(legacyId, legacyVOs, LESSON_DATE)));
+
+        List<ScheduleCacheDto> scheduleCacheDtos = repository.findAllCached(List.of(binaryId, legacyId, "9:12:" + LESSON_DATE));
+
+        assertThat(scheduleCacheDtos).extracting(ScheduleCacheDto::getId).containsExactly(binaryId, legacyId);
+        assertThat(scheduleCacheDtos.get(1).getReserveScheduleVOs())
+                .usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(legacyVOs);
+    }
+
+    @Test
+    void skipsUndecodableEntries() {
+        String id = "7:12:" + LESSON_DATE;
+        values.put("scheduleCacheData:" + id, new byte[]{99, 0});
+
+        assertThat(repository.findAllCached(List.of(id))).isEmpty();
+    }
+
+    private Map<byte[], byte[]> legacyHash(ScheduleCacheDto scheduleCacheDto) {
+        RedisData redisData = new RedisData();
+        redisConverter.write(scheduleCacheDto, redisData);
+        return redisData.getBucket().rawMap();
+    }
+
+    // mGet(byte[]...) 인자는 펼쳐져서 오거나 배열 하나로 온다
+    private static List<byte[]> keys(Object[] arguments) {
+        List<byte[]> keys = new ArrayList<>();
+        for (Object argument : arguments) {
+            if (argument instanceof byte[][] array) {
+                keys.addAll(Arrays.asList(array));
+            } else {
+                keys.add((byte[]) argument);
+            }
+        }
+        return keys;
+    }
+
+    private static List<ReserveScheduleVO> reserveScheduleVOs(int instructorId) {
+        List<ReserveScheduleVO> reserveScheduleVOs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            List<StudentInfoDTO> studentInfoDTOs = List.of(new StudentInfoDTO(Height.HEIGHT_160CM_TO_169CM,
+                    Weight.WEIGHT_60KG_TO_69KG, 255, Age.TWENTIES, Gender.MALE, "수강생" + i));
+            ReserveScheduleVO vo = new ReserveScheduleVO(instructorId * 10 + i, 12, "고스키", "하이원", studentInfoDTOs,
+                    "수강생" + i, "요청사항", i == 0, instructorId);
+            vo.setResortId(3);
+            vo.setStudentCount(1);
+            vo.setLessonDate(LESSON_DATE);
+            vo.setStartTime(i == 0 ? "0900" : "1300");
+            vo.setDuration(2);
+            vo.setLessonType("1010000");
+            reserveScheduleVOs.add(vo);
+        }
+        return reserveScheduleVOs;
+    }
+}
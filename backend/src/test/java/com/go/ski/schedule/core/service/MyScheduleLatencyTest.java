@@ -0,0 +1,179 @@
+package com.go.ski.schedule.core.service;
+
+import com.go.ski.lesson.core.service.LessonAvailabilityIndex;
+import com.go.ski.lesson.core.service.TeamDayAdmission;
+import com.go.ski.lesson.support.assignment.LessonAssignmentEngine;
+import com.go.ski.notification.support.EventPublisher;
+import com.go.ski.payment.core.repository.LessonInfoRepository;
+import com.go.ski.payment.core.repository.LessonPaymentInfoRepository;
+import com.go.ski.payment.core.repository.LessonRepository;
+import com.go.ski.payment.core.repository.StudentInfoRepository;
+import com.go.ski.payment.support.dto.util.StudentInfoDTO;
+import com.go.ski.payment.support.vo.Age;
+import com.go.ski.payment.support.vo.Height;
+import com.go.ski.payment.support.vo.Weight;
+import com.go.ski.redis.dto.ScheduleCacheDto;
+import com.go.ski.redis.repository.ScheduleCacheRepository;
+import com.go.ski.redis.repository.ScheduleCacheRepositoryCustomImpl;
+import com.go.ski.schedule.support.vo.ReserveScheduleVO;
+import com.go.ski.team.core.repository.PermissionRepository;
+import com.go.ski.team.core.repository.TeamInstructorRepository;
+import com.go.ski.team.core.repository.TeamRepository;
+import com.go.ski.user.core.model.User;
+import com.go.ski.user.core.repository.InstructorRepository;
+import com.go.ski.user.core.repository.UserRepository;
+import com.go.ski.user.support.vo.Gender;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisKeyValueTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.repository.support.RedisRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 강사 본인 스케줄 조회(/api/v1/schedule/mine)의 Redis 구간 지연 측정
+// 60일치 캐시를 두고, 지금 경로(인덱스 + MGET + 코덱)와 이전 경로(@RedisHash 형식을 id마다 HGETALL)의 p50, p99를 비교한다
+// 컨트롤러와 인증 필터는 Redis를 쓰지 않으므로 ScheduleService.getMySchedule부터 잰다. Docker가 없으면 건너뛴다
+@Testcontainers(disabledWithoutDocker = true)
+class MyScheduleLatencyTest {
+    private static final Logger log = LoggerFactory.getLogger(MyScheduleLatencyTest.class);
+    private static final int DAYS = 60;
+    private static final int LESSONS_PER_DAY = 3;
+    private static final int WARMUP = 200;
+    private static final int SAMPLES = 2000;
+    private static final int INSTRUCTOR_ID = 1;
+    private static final int LEGACY_INSTRUCTOR_ID = 2;
+    private static final int TEAM_ID = 1;
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisKeyValueAdapter keyValueAdapter;
+    private static ScheduleCacheRepository scheduleCacheRepository;
+    private static ScheduleService scheduleService;
+
+    @BeforeAll
+    static void setUp() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        RedisTemplate<byte[], byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        // 애플리케이션과 같은 방식으로 repository와 커스텀 구현을 묶는다
+        RedisMappingContext mappingContext = new RedisMappingContext();
+        MappingRedisConverter redisConverter = new MappingRedisConverter(mappingContext);
+        redisConverter.afterPropertiesSet();
+        keyValueAdapter = new RedisKeyValueAdapter(redisTemplate, redisConverter);
+        keyValueAdapter.afterPropertiesSet();
+        scheduleCacheRepository = new RedisRepositoryFactory(new RedisKeyValueTemplate(keyValueAdapter, mappingContext))
+                .getRepository(ScheduleCacheRepository.class,
+                        RepositoryFragments.just(new ScheduleCacheRepositoryCustomImpl(stringRedisTemplate, redisConverter)));
+
+        scheduleService = new ScheduleService(mock(LessonRepository.class), mock(LessonInfoRepository.class),
+                mock(UserRepository.class), mock(TeamRepository.class), mock(InstructorRepository.class),
+                mock(TeamInstructorRepository.class), mock(StudentInfoRepository.class),
+                mock(LessonPaymentInfoRepository.class), mock(PermissionRepository.class), scheduleCacheRepository,
+                mock(EventPublisher.class), mock(LessonAssignmentEngine.class), mock(LessonAvailabilityIndex.class),
+                mock(TeamDayAdmission.class));
+
+        List<ScheduleCacheDto> current = new ArrayList<>();
+        List<ScheduleCacheDto> legacy = new ArrayList<>();
+        for (int day = 1; day <= DAYS; day++) {
+            LocalDate lessonDate = LocalDate.now().plusDays(day);
+            current.add(scheduleCache(INSTRUCTOR_ID, lessonDate));
+            legacy.add(scheduleCache(LEGACY_INSTRUCTOR_ID, lessonDate));
+        }
+        scheduleCacheRepository.cacheAll(current);
+        // 이전 형식은 CrudRepository로 저장한다
+        scheduleCacheRepository.saveAll(legacy);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        keyValueAdapter.destroy();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void measuresMyScheduleReadLatency() {
+        User instructor = User.builder().userId(INSTRUCTOR_ID).build();
+        assertThat(scheduleService.getMySchedule(instructor)).hasSize(DAYS * LESSONS_PER_DAY);
+
+        Set<String> legacyIds = new HashSet<>();
+        for (ScheduleCacheDto scheduleCacheDto : scheduleCacheRepository.findAll()) {
+            legacyIds.add(scheduleCacheDto.getId());
+        }
+        assertThat(legacyIds).hasSize(DAYS);
+
+        long[] current = sample(() -> scheduleService.getMySchedule(instructor));
+        long[] legacy = sample(() -> scheduleCacheRepository.findAllById(legacyIds));
+
+        log.info("/schedule/mine {}일 - 현재 p50 {}us, p99 {}us / 이전(id별 HGETALL) p50 {}us, p99 {}us",
+                DAYS, percentile(current, 50), percentile(current, 99), percentile(legacy, 50), percentile(legacy, 99));
+        assertThat(percentile(current, 99)).isPositive();
+    }
+
+    private static long[] sample(Supplier<?> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        long[] micros = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            read.get();
+            micros[i] = (System.nanoTime() - start) / 1000;
+        }
+        Arrays.sort(micros);
+        return micros;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * percentile / 100.0) - 1)];
+    }
+
+    // 하루치 팀 캐시 (수강생 2명짜리 강습 LESSONS_PER_DAY개)
+    private static ScheduleCacheDto scheduleCache(int instructorId, LocalDate lessonDate) {
+        List<ReserveScheduleVO> reserveScheduleVOs = new ArrayList<>();
+        for (int i = 0; i < LESSONS_PER_DAY; i++) {
+            List<StudentInfoDTO> studentInfoDTOs = List.of(
+                    new StudentInfoDTO(Height.values()[0], Weight.values()[0], 250, Age.values()[0], Gender.values()[0], "수강생1"),
+                    new StudentInfoDTO(Height.values()[0], Weight.values()[0], 260, Age.values()[0], Gender.values()[0], "수강생2"));
+            ReserveScheduleVO vo = new ReserveScheduleVO(lessonDate.getDayOfYear() * 10 + i, TEAM_ID, "고스키", "하이원",
+                    studentInfoDTOs, "수강생1", "", true, instructorId);
+            vo.setResortId(1);
+            vo.setStudentCount(studentInfoDTOs.size());
+            vo.setLessonDate(lessonDate);
+            vo.setStartTime(String.format("%02d00", 9 + i * 2));
+            vo.setDuration(2);
+            vo.setLessonType("1010000");
+            reserveScheduleVOs.add(vo);
+        }
+        return new ScheduleCacheDto(instructorId + ":" + TEAM_ID + ":" + lessonDate, reserveScheduleVOs, lessonDate);
+    }
+}
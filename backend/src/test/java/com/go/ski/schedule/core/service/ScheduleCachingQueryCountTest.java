@@ -0,0 +1,199 @@
+package com.go.ski.schedule.core.service;
+
+import com.go.ski.auth.oauth.dto.Domain;
+import com.go.ski.auth.oauth.type.OauthServerType;
+import com.go.ski.lesson.core.service.LessonAvailabilityIndex;
+import com.go.ski.lesson.core.service.TeamDayAdmission;
+import com.go.ski.lesson.support.assignment.ExactAssignmentStrategy;
+import com.go.ski.lesson.support.assignment.GreedyAssignmentStrategy;
+import com.go.ski.lesson.support.assignment.LessonAssignmentEngine;
+import com.go.ski.config.QueryDSLConfig;
+import com.go.ski.notification.support.EventPublisher;
+import com.go.ski.payment.core.model.Lesson;
+import com.go.ski.payment.core.model.LessonInfo;
+import com.go.ski.payment.core.model.LessonPaymentInfo;
+import com.go.ski.payment.core.model.StudentInfo;
+import com.go.ski.payment.core.repository.LessonInfoRepository;
+import com.go.ski.payment.core.repository.LessonPaymentInfoRepository;
+import com.go.ski.payment.core.repository.LessonRepository;
+import com.go.ski.payment.core.repository.StudentInfoRepository;
+import com.go.ski.redis.repository.ScheduleCacheRepository;
+import com.go.ski.team.core.model.SkiResort;
+import com.go.ski.team.core.model.Team;
+import com.go.ski.team.core.model.TeamInstructor;
+import com.go.ski.team.core.repository.PermissionRepository;
+import com.go.ski.team.core.repository.TeamInstructorRepository;
+import com.go.ski.team.core.repository.TeamRepository;
+import com.go.ski.user.core.model.Instructor;
+import com.go.ski.user.core.model.User;
+import com.go.ski.user.core.repository.InstructorRepository;
+import com.go.ski.user.core.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 팀-날짜 스케줄 캐시를 만들 때 강습 수와 상관없이 쿼리 수가 일정한지 Hibernate 통계로 센다
+// H2(MySQL 모드)에 엔티티로 스키마를 만들고, Redis 쪽 의존성은 목으로 바꾼다
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:goski;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryDSLConfig.class)
+class ScheduleCachingQueryCountTest {
+    private static final int INSTRUCTORS = 12;
+    // 강사(엔티티 그래프) 1, 강습(lesson, team, resort fetch join) 1, 수강생 IN 1, 결제 정보 IN 1
+    private static final long EXPECTED_QUERIES = 4;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private LessonRepository lessonRepository;
+    @Autowired
+    private LessonInfoRepository lessonInfoRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private InstructorRepository instructorRepository;
+    @Autowired
+    private TeamInstructorRepository teamInstructorRepository;
+    @Autowired
+    private StudentInfoRepository studentInfoRepository;
+    @Autowired
+    private LessonPaymentInfoRepository lessonPaymentInfoRepository;
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    private ScheduleService scheduleService;
+    private Statistics statistics;
+    private int userKey;
+
+    @BeforeEach
+    void setUp() {
+        scheduleService = new ScheduleService(lessonRepository, lessonInfoRepository, userRepository, teamRepository,
+                instructorRepository, teamInstructorRepository, studentInfoRepository, lessonPaymentInfoRepository,
+                permissionRepository, mock(ScheduleCacheRepository.class), mock(EventPublisher.class),
+                new LessonAssignmentEngine(List.of(new GreedyAssignmentStrategy(), new ExactAssignmentStrategy())),
+                mock(LessonAvailabilityIndex.class), mock(TeamDayAdmission.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void buildsTeamDayInConstantQueries() {
+        LocalDate quietDay = LocalDate.of(2025, 1, 10);
+        LocalDate busyDay = LocalDate.of(2025, 1, 11);
+        Integer teamId = createTeam();
+        createLessons(teamId, quietDay, 2);
+        createLessons(teamId, busyDay, INSTRUCTORS);
+        testEntityManager.flush();
+
+        long quietQueries = countQueries(teamId, quietDay);
+        long busyQueries = countQueries(teamId, busyDay);
+
+        assertThat(busyQueries).isEqualTo(quietQueries);
+        assertThat(busyQueries).isEqualTo(EXPECTED_QUERIES);
+    }
+
+    // 영속성 컨텍스트를 비운 상태에서 scheduleCaching이 보낸 쿼리 수
+    private long countQueries(Integer teamId, LocalDate lessonDate) {
+        testEntityManager.clear();
+        Team team = teamRepository.findById(teamId).orElseThrow();
+        statistics.clear();
+
+        assertThat(scheduleService.scheduleCaching(team, lessonDate)).isTrue();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Integer createTeam() {
+        SkiResort resort = testEntityManager.persist(SkiResort.builder()
+                .resortName("하이원")
+                .resortLocation("강원 정선")
+                .latitude(37.2)
+                .longitude(128.8)
+                .build());
+        Team team = testEntityManager.persist(Team.builder()
+                .user(createUser("사장"))
+                .skiResort(resort)
+                .teamName("고스키")
+                .teamProfileUrl("https://example.com/team.png")
+                .teamCost(50000)
+                .dayoff(0)
+                .build());
+        for (int i = 0; i < INSTRUCTORS; i++) {
+            Instructor instructor = testEntityManager.persist(new Instructor(createUser("강사" + i), "ALL"));
+            testEntityManager.persist(TeamInstructor.builder()
+                    .instructor(instructor)
+                    .team(team)
+                    .isInviteAccepted(true)
+                    .build());
+        }
+        return team.getTeamId();
+    }
+
+    // 같은 시간대의 팀 수업 count개 (강사 한 명당 하나씩 배정된다)
+    private void createLessons(Integer teamId, LocalDate lessonDate, int count) {
+        Team team = testEntityManager.find(Team.class, teamId);
+        User student = createUser("수강생");
+        for (int i = 0; i < count; i++) {
+            Lesson lesson = testEntityManager.persist(Lesson.builder()
+                    .user(student)
+                    .team(team)
+                    .isOwn(0)
+                    .representativeName("수강생")
+                    .build());
+            LessonInfo lessonInfo = testEntityManager.persist(LessonInfo.builder()
+                    .lesson(lesson)
+                    .lessonDate(lessonDate)
+                    .startTime("0900")
+                    .duration(2)
+                    .lessonType("0010000")
+                    .studentCount(2)
+                    .lessonStatus(0)
+                    .build());
+            testEntityManager.persist(LessonPaymentInfo.builder()
+                    .lesson(lesson)
+                    .basicFee(100000)
+                    .designatedFee(0)
+                    .peopleOptionFee(0)
+                    .levelOptionFee(0)
+                    .build());
+            for (int s = 0; s < 2; s++) {
+                testEntityManager.persist(StudentInfo.builder()
+                        .lessonInfo(lessonInfo)
+                        .footSize(250)
+                        .name("수강생" + s)
+                        .build());
+            }
+        }
+    }
+
+    private User createUser(String userName) {
+        return testEntityManager.persist(User.builder()
+                .domain(new Domain("key-" + userKey++, OauthServerType.kakao))
+                .userName(userName)
+                .build());
+    }
+}
@@ -120,6 +120,16 @@ CREATE TABLE if not exists `payment` (
 	`payback_date` datetime(6) DEFAULT NULL
 );
 
+-- 결제 준비 후 승인 전까지의 예약 정보 (payload는 JSON)
+CREATE TABLE if not exists `pending_payment` (
+	`tid` varchar(25) NOT NULL PRIMARY KEY,
+	`user_id` int(11) NOT NULL,
+	`payload` text NOT NULL,
+	`device_type` varchar(10) NULL,
+	`created_at` datetime(6) NOT NULL,
+	KEY `idx_pending_payment_created_at` (`created_at`)
+);
+
 CREATE TABLE if not exists `lesson_info` (
 	`lesson_id` int(11) NOT NULL,
 	`lesson_date` datetime(6) NOT NULL,
@@ -150,6 +160,35 @@ CREATE TABLE if not exists `settlement` (
   	`deposit_status` tinyint(1) NOT NULL
 );
 
+-- 사장별 현재 정산 잔액 (settlement 합계)
+CREATE TABLE if not exists `owner_balance` (
+	`user_id` int(11) NOT NULL PRIMARY KEY,
+	`balance` int(11) NOT NULL DEFAULT 0,
+	`updated_at` datetime(6) NOT NULL
+);
+
+-- 팀별 일별 결제/환불 합계
+CREATE TABLE if not exists `team_revenue_daily` (
+	`team_id` int(11) NOT NULL,
+	`revenue_date` date NOT NULL,
+	`payment_count` int(11) NOT NULL DEFAULT 0,
+	`payment_amount` bigint(20) NOT NULL DEFAULT 0,
+	`refund_count` int(11) NOT NULL DEFAULT 0,
+	`refund_amount` bigint(20) NOT NULL DEFAULT 0,
+	PRIMARY KEY (`team_id`, `revenue_date`)
+);
+
+-- 사장별 일별 결제/환불 합계
+CREATE TABLE if not exists `owner_revenue_daily` (
+	`user_id` int(11) NOT NULL,
+	`revenue_date` date NOT NULL,
+	`payment_count` int(11) NOT NULL DEFAULT 0,
+	`payment_amount` bigint(20) NOT NULL DEFAULT 0,
+	`refund_count` int(11) NOT NULL DEFAULT 0,
+	`refund_amount` bigint(20) NOT NULL DEFAULT 0,
+	PRIMARY KEY (`user_id`, `revenue_date`)
+);
+
 CREATE TABLE if not exists `charge` (
 	`charge_id`	INT(11)	NOT NULL PRIMARY KEY AUTO_INCREMENT,
 	`charge_name`	VARCHAR(30)	NOT NULL,
@@ -226,6 +265,27 @@ CREATE TABLE if not exists `notification_type` (
   `notification_type_name` varchar(50) NOT NULL
 );
 
+-- 사용자별 알림 설정 비트마스크 (비트 n = notification_type_id n)
+-- setting_mask: 역할에 있는 알림 종류, enabled_mask: 켜져 있는 알림 종류
+CREATE TABLE if not exists `notification_preference` (
+	`user_id` int(11) NOT NULL PRIMARY KEY,
+	`setting_mask` int(11) NOT NULL DEFAULT 0,
+	`enabled_mask` int(11) NOT NULL DEFAULT 0,
+	`updated_at` datetime(6) DEFAULT NULL
+);
+
+-- 푸시 발송 대기열 (알림과 같은 트랜잭션에서 저장, 발송 후 삭제)
+-- status 0: 대기, 1: 처리 중, 2: 실패 / available_at: 다음 시도 또는 점유 만료 시각
+CREATE TABLE if not exists `notification_outbox` (
+	`outbox_id` bigint(20) NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	`notification_id` int(11) NOT NULL,
+	`status` tinyint(1) NOT NULL DEFAULT 0,
+	`attempts` int(11) NOT NULL DEFAULT 0,
+	`available_at` datetime(6) NOT NULL,
+	`created_at` datetime(6) NOT NULL,
+	KEY `idx_notification_outbox_status_available_at` (`status`, `available_at`)
+);
+
 
 ALTER TABLE `instructor`
 ADD CONSTRAINT `pk_instructor_user_id` PRIMARY KEY (`instructor_id`),
@@ -281,10 +341,34 @@ ALTER TABLE `payment`
 ADD CONSTRAINT `fk_payment_lesson_id` FOREIGN KEY (`lesson_id`) REFERENCES `lesson_payment_info` (lesson_id)
 ;
 
+ALTER TABLE `payment`
+ADD KEY `idx_payment_tid` (`tid`);
+
 -- 정산
 ALTER TABLE `settlement`
 ADD CONSTRAINT `fk_settlement_user_id` FOREIGN KEY (`user_id`) REFERENCES `user` (user_id);
 
+-- 정산 잔액
+ALTER TABLE `owner_balance`
+ADD CONSTRAINT `fk_owner_balance_user_id` FOREIGN KEY (`user_id`) REFERENCES `user` (user_id);
+
+-- 기존 정산 내역은 애플리케이션 시작 시 잔액으로 옮긴다 (SettlementLedger.backfillOwnerBalances)
+
+-- 일별 결제/환불 합계
+ALTER TABLE `team_revenue_daily`
+ADD CONSTRAINT `fk_team_revenue_daily_team_id` FOREIGN KEY (`team_id`) REFERENCES `team` (`team_id`) ON DELETE CASCADE;
+
+ALTER TABLE `owner_revenue_daily`
+ADD CONSTRAINT `fk_owner_revenue_daily_user_id` FOREIGN KEY (`user_id`) REFERENCES `user` (`user_id`) ON DELETE CASCADE;
+
+-- 기존 결제 내역은 애플리케이션 시작 시 일별 합계로 옮긴다 (RevenueRollup.backfillRevenue)
+
+-- 알림 설정 비트마스크
+ALTER TABLE `notification_preference`
+ADD CONSTRAINT `fk_notification_preference_user_id` FOREIGN KEY (`user_id`) REFERENCES `user` (`user_id`) ON DELETE CASCADE;
+
+-- 기존 알림 종류별 설정 행은 애플리케이션 시작 시 비트마스크로 옮긴다 (NotificationService.backfillNotificationPreferences)
+
 -- 강습 팀
 ALTER TABLE `team`
 ADD CONSTRAINT `fk_team_user_id` FOREIGN KEY (`user_id`) REFERENCES `user` (`user_id`),